@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Arranca el binario nativo (o el jar, para comparar), mide el arranque y la memoria,
+# y ejecuta las pruebas de humo (InventorySmokeIT) contra él.
+#
+# Uso:
+#   ./mvnw -Pnative native:compile -DskipTests
+#   scripts/native-smoke.sh [native|jvm]
+#
+# Requiere PostgreSQL accesible con la configuración de application.properties.
+set -euo pipefail
+
+MODE="${1:-native}"
+PORT="${PORT:-8080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BASE_URL="http://localhost:${PORT}"
+
+case "$MODE" in
+  native) CMD=("$ROOT/target/inventory" "--server.port=$PORT") ;;
+  jvm)    CMD=(java -jar "$(ls "$ROOT"/target/Inventory-*.jar | head -n 1)" "--server.port=$PORT") ;;
+  *)      echo "Modo desconocido: $MODE (use native o jvm)" >&2; exit 1 ;;
+esac
+
+start=$(date +%s%N)
+"${CMD[@]}" > "$ROOT/target/smoke-$MODE.log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2> /dev/null || true' EXIT
+
+until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/api/users" || true)" = "200" ]; do
+  kill -0 "$pid" 2> /dev/null || { echo "La aplicación terminó; ver target/smoke-$MODE.log" >&2; exit 1; }
+  sleep 0.01
+done
+ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+rss_idle=$(awk '/VmRSS/ {print $2}' /proc/$pid/status)
+
+(cd "$ROOT" && ./mvnw -q -B test-compile failsafe:integration-test failsafe:verify -Dsmoke.base-url="$BASE_URL")
+
+rss_after=$(awk '/VmRSS/ {print $2}' /proc/$pid/status)
+echo "Modo $MODE: listo en ${ready_ms} ms, RSS en reposo ${rss_idle} kB, RSS tras las pruebas ${rss_after} kB"
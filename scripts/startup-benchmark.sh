@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera respuesta 200 de GET /api/products/{id}.
+#
+# Uso:
+#   ./mvnw -Pfast-startup package -DskipTests
+#   scripts/startup-benchmark.sh [jvm|fast] [productId] [repeticiones]
+#
+#   jvm  -> jar extraído, sin AOT ni CDS, perfil por defecto
+#   fast -> jar extraído con AOT, archivo CDS y perfil de Spring "fast-startup"
+#
+# Requiere PostgreSQL accesible con la configuración de application.properties
+# y un producto existente con el ID indicado.
+set -euo pipefail
+
+MODE="${1:-fast}"
+PRODUCT_ID="${2:-1}"
+RUNS="${3:-5}"
+PORT="${PORT:-8080}"
+APP_DIR="$(cd "$(dirname "$0")/.." && pwd)/target/app"
+JAR="$(ls "$APP_DIR"/*.jar | head -n 1)"
+URL="http://localhost:${PORT}/api/products/${PRODUCT_ID}"
+
+case "$MODE" in
+  jvm)
+    JAVA_OPTS=()
+    ;;
+  fast)
+    JAVA_OPTS=(-XX:SharedArchiveFile="$APP_DIR/application.jsa" -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup)
+    ;;
+  *)
+    echo "Modo desconocido: $MODE (use jvm o fast)" >&2
+    exit 1
+    ;;
+esac
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  java "${JAVA_OPTS[@]}" -Dserver.port="$PORT" -jar "$JAR" > /dev/null 2>&1 &
+  pid=$!
+
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)" = "200" ]; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "La aplicación terminó antes de responder (ejecución $run)" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  total=$(( total + elapsed ))
+  echo "Ejecución $run: ${elapsed} ms hasta la primera respuesta 200"
+
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+done
+
+echo "Modo $MODE: media de $(( total / RUNS )) ms en $RUNS ejecuciones"
@@ -0,0 +1,197 @@
+package com.tulio.inventory.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tulio.inventory.dto.ProductField;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.UserDTO;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializadores escritos a mano para los DTOs de los listados (productos y usuarios).
+ * <p>
+ * Sustituyen al serializador de Jackson basado en reflexión: los nombres de propiedad van precodificados
+ * y las fechas se escriben carácter a carácter en un búfer en lugar de pasar por {@link DateTimeFormatter}.
+ * La salida es idéntica byte a byte a la de Jackson con la configuración por defecto de Spring Boot
+ * (fechas ISO-8601, todas las propiedades en orden de declaración, nulos incluidos); si se añade un campo
+ * al DTO hay que añadirlo también aquí (lo comprueba DtoJsonSerializersTest). Los productos leídos con
+ * {@code fields=} solo escriben los campos pedidos, en el mismo orden.
+ */
+@JsonComponent
+public class DtoJsonSerializers {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString PRODUCT_NAME = new SerializedString("productName");
+    private static final SerializedString QUANTITY = new SerializedString("quantity");
+    private static final SerializedString ENTRY_DATE = new SerializedString("entryDate");
+    private static final SerializedString REGISTERED_BY_NAME = new SerializedString("registeredByName");
+    private static final SerializedString LAST_MODIFIED_BY_NAME = new SerializedString("lastModifiedByName");
+    private static final SerializedString LAST_MODIFICATION_DATE = new SerializedString("lastModificationDate");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString AGE = new SerializedString("age");
+    private static final SerializedString POSITION = new SerializedString("position");
+    private static final SerializedString HIRE_DATE = new SerializedString("hireDate");
+
+    // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn"
+    private static final int MAX_DATE_TIME_LENGTH = 29;
+
+    // Un búfer por hilo para formatear fechas sin crear Strings intermedios
+    private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[MAX_DATE_TIME_LENGTH]);
+
+    public static class ProductResponseSerializer extends StdSerializer<ProductResponseDTO> {
+
+        public ProductResponseSerializer() {
+            super(ProductResponseDTO.class);
+        }
+
+        @Override
+        public void serialize(ProductResponseDTO product, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(product);
+            // Con fields= solo se escriben los campos pedidos (ProductResponseDTO.includes)
+            if (product.includes(ProductField.ID)) {
+                gen.writeFieldName(ID);
+                writeNumber(gen, product.getId());
+            }
+            if (product.includes(ProductField.PRODUCT_NAME)) {
+                gen.writeFieldName(PRODUCT_NAME);
+                gen.writeString(product.getProductName());
+            }
+            if (product.includes(ProductField.QUANTITY)) {
+                gen.writeFieldName(QUANTITY);
+                writeNumber(gen, product.getQuantity());
+            }
+            if (product.includes(ProductField.ENTRY_DATE)) {
+                gen.writeFieldName(ENTRY_DATE);
+                writeDate(gen, product.getEntryDate());
+            }
+            if (product.includes(ProductField.REGISTERED_BY_NAME)) {
+                gen.writeFieldName(REGISTERED_BY_NAME);
+                gen.writeString(product.getRegisteredByName());
+            }
+            if (product.includes(ProductField.LAST_MODIFIED_BY_NAME)) {
+                gen.writeFieldName(LAST_MODIFIED_BY_NAME);
+                gen.writeString(product.getLastModifiedByName());
+            }
+            if (product.includes(ProductField.LAST_MODIFICATION_DATE)) {
+                gen.writeFieldName(LAST_MODIFICATION_DATE);
+                writeDateTime(gen, product.getLastModificationDate());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static class UserSerializer extends StdSerializer<UserDTO> {
+
+        public UserSerializer() {
+            super(UserDTO.class);
+        }
+
+        @Override
+        public void serialize(UserDTO user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(user);
+            gen.writeFieldName(ID);
+            writeNumber(gen, user.getId());
+            gen.writeFieldName(NAME);
+            gen.writeString(user.getName());
+            gen.writeFieldName(AGE);
+            writeNumber(gen, user.getAge());
+            gen.writeFieldName(POSITION);
+            gen.writeString(user.getPosition());
+            gen.writeFieldName(HIRE_DATE);
+            writeDate(gen, user.getHireDate());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    static void writeDate(JsonGenerator gen, LocalDate date) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+        } else if (date.getYear() < 0 || date.getYear() > 9999) {
+            // Años con signo o de más de cuatro cifras: se delega en el formato ISO estándar
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+        } else {
+            char[] buffer = DATE_BUFFER.get();
+            gen.writeString(buffer, 0, formatDate(date, buffer));
+        }
+    }
+
+    static void writeDateTime(JsonGenerator gen, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            gen.writeNull();
+        } else if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+        } else {
+            char[] buffer = DATE_BUFFER.get();
+            gen.writeString(buffer, 0, formatDateTime(dateTime, buffer));
+        }
+    }
+
+    // Mismo resultado que DateTimeFormatter.ISO_LOCAL_DATE para años entre 0 y 9999
+    static int formatDate(LocalDate date, char[] buffer) {
+        int year = date.getYear();
+        buffer[0] = digit(year / 1000);
+        buffer[1] = digit(year / 100 % 10);
+        buffer[2] = digit(year / 10 % 10);
+        buffer[3] = digit(year % 10);
+        buffer[4] = '-';
+        writeTwoDigits(buffer, 5, date.getMonthValue());
+        buffer[7] = '-';
+        writeTwoDigits(buffer, 8, date.getDayOfMonth());
+        return 10;
+    }
+
+    // Mismo resultado que DateTimeFormatter.ISO_LOCAL_DATE_TIME: segundos siempre y fracción sin ceros finales
+    static int formatDateTime(LocalDateTime dateTime, char[] buffer) {
+        int length = formatDate(dateTime.toLocalDate(), buffer);
+        buffer[length++] = 'T';
+        writeTwoDigits(buffer, length, dateTime.getHour());
+        buffer[length + 2] = ':';
+        writeTwoDigits(buffer, length + 3, dateTime.getMinute());
+        buffer[length + 5] = ':';
+        writeTwoDigits(buffer, length + 6, dateTime.getSecond());
+        length += 8;
+        int nanos = dateTime.getNano();
+        if (nanos != 0) {
+            buffer[length++] = '.';
+            int divisor = 100_000_000;
+            while (nanos != 0) {
+                buffer[length++] = digit(nanos / divisor);
+                nanos %= divisor;
+                divisor /= 10;
+            }
+        }
+        return length;
+    }
+
+    private static void writeTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = digit(value / 10);
+        buffer[offset + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
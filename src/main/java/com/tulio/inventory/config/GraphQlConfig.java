@@ -0,0 +1,33 @@
+package com.tulio.inventory.config;
+
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Límites de las consultas GraphQL, comprobados antes de ejecutar nada contra la base de datos.
+// Una consulta que los supera se rechaza entera con un error.
+@Configuration
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(@Value("${inventory.graphql.max-depth:5}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${inventory.graphql.max-complexity:10000}") int maxComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, GraphQlConfig::fieldComplexity);
+    }
+
+    // Cada campo cuesta 1 más sus subcampos; en las listas paginadas se multiplica por el tamaño de página,
+    // así que 500 productos con 10 campos cuestan lo mismo que 5000 campos sueltos
+    static int fieldComplexity(FieldComplexityEnvironment environment, int childComplexity) {
+        Object first = environment.getArguments().get("first");
+        int items = first instanceof Integer pageSize ? Math.max(pageSize, 1) : 1;
+        return items * (1 + childComplexity);
+    }
+}
@@ -0,0 +1,82 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.controller.InventoryGrpcController;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+// Servidor gRPC (HTTP/2) en su propio puerto, junto al servidor HTTP de los controladores REST.
+// Se detiene antes que el pool de conexiones: deja terminar las llamadas en curso durante shutdown-timeout-ms.
+@Component
+@ConditionalOnProperty(name = "inventory.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final InventoryGrpcController inventoryGrpcController;
+    private final int port;
+    private final long shutdownTimeoutMs;
+    private volatile Server server;
+
+    public GrpcServerLifecycle(InventoryGrpcController inventoryGrpcController,
+                               @Value("${inventory.grpc.port:9090}") int port,
+                               @Value("${inventory.grpc.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.inventoryGrpcController = inventoryGrpcController;
+        this.port = port;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    @Override
+    public void start() {
+        Server newServer = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                .addService(inventoryGrpcController)
+                .build();
+        try {
+            newServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo iniciar el servidor gRPC en el puerto " + port, e);
+        }
+        server = newServer;
+        log.info("Servidor gRPC escuchando en el puerto {}", newServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Llamadas gRPC en curso tras {} ms; se cancelan", shutdownTimeoutMs);
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // Puerto real (útil con inventory.grpc.port=0, que elige uno libre)
+    public int getPort() {
+        Server current = server;
+        return current != null ? current.getPort() : -1;
+    }
+}
@@ -0,0 +1,59 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.exception.GlobalExceptionHandler;
+import com.tulio.inventory.repository.ProductAuditRepository;
+import com.tulio.inventory.repository.ProductRepository;
+import com.tulio.inventory.repository.UserRepository;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+// Pistas para la imagen nativa de GraalVM (perfil Maven "native").
+// Se evalúan durante el procesamiento AOT, en la JVM, por lo que el escaneo de paquetes no tiene coste en ejecución.
+public class InventoryRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String ENTITY_PACKAGE = "com.tulio.inventory.entity";
+    static final String DTO_PACKAGE = "com.tulio.inventory.dto";
+
+    private static final MemberCategory[] BEAN_MEMBERS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS,
+            MemberCategory.DECLARED_FIELDS
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Entidades (Hibernate) y DTOs (Jackson): constructores, getters/setters y campos
+        registerPackage(hints, classLoader, ENTITY_PACKAGE);
+        registerPackage(hints, classLoader, DTO_PACKAGE);
+
+        // Proxies JDK de los repositorios de Spring Data
+        for (Class<?> repository : new Class<?>[]{ProductRepository.class, UserRepository.class, ProductAuditRepository.class}) {
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(repository, Repository.class, TransactionalProxy.class));
+            hints.reflection().registerType(repository, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        hints.reflection().registerType(GlobalExceptionHandler.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // PgStatement.setQueryTimeoutMs, que TimeBudgetConfig busca por reflexión
+        hints.reflection().registerType(TypeReference.of("org.postgresql.jdbc.PgStatement"), MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Migraciones de Flyway
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+
+    private void registerPackage(RuntimeHints hints, ClassLoader classLoader, String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        scanner.findCandidateComponents(basePackage).forEach(candidate ->
+                hints.reflection().registerType(TypeReference.of(candidate.getBeanClassName()), BEAN_MEMBERS));
+    }
+}
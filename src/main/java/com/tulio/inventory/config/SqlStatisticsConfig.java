@@ -0,0 +1,172 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.service.SqlStatisticsService;
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.List;
+
+// Instrumentación de sentencias SQL mediante datasource-proxy. Desactivable con inventory.sql.statistics.enabled=false.
+@Configuration
+@ConditionalOnProperty(name = "inventory.sql.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    // Orden de los BeanPostProcessor que envuelven el DataSource: este crea el proxy y los posteriores
+    // (TimeBudgetConfig) añaden sus listeners al mismo proxy
+    static final int DATA_SOURCE_PROXY_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourceWrapper(ObjectProvider<SqlStatisticsService> sqlStatisticsService) {
+        return new DataSourceWrapper(sqlStatisticsService);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(SqlStatisticsService sqlStatisticsService) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(new SqlStatisticsFilter(sqlStatisticsService));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static final class DataSourceWrapper implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<SqlStatisticsService> sqlStatisticsService;
+
+        private DataSourceWrapper(ObjectProvider<SqlStatisticsService> sqlStatisticsService) {
+            this.sqlStatisticsService = sqlStatisticsService;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new StatementListener(sqlStatisticsService))
+                    .proxyResultSet(new RowCountingResultSetLogicFactory(sqlStatisticsService))
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return DATA_SOURCE_PROXY_ORDER;
+        }
+    }
+
+    private static final class StatementListener implements QueryExecutionListener {
+        private final ObjectProvider<SqlStatisticsService> sqlStatisticsService;
+
+        private StatementListener(ObjectProvider<SqlStatisticsService> sqlStatisticsService) {
+            this.sqlStatisticsService = sqlStatisticsService;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatisticsService service = sqlStatisticsService.getIfAvailable();
+            if (service == null) {
+                return;
+            }
+            long affectedRows = affectedRows(execInfo.getResult());
+            for (QueryInfo queryInfo : queryInfoList) {
+                service.recordStatement(queryInfo.getQuery(), execInfo.getElapsedTime(), affectedRows);
+                affectedRows = 0; // En lotes con varias sentencias el recuento se atribuye a la primera
+            }
+        }
+
+        private long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return 0;
+        }
+    }
+
+    // Cuenta las filas leídas sin listeners de método: un MethodExecutionListener se invocaría en cada llamada JDBC
+    // (cada getXxx de cada fila). Aquí solo next() hace trabajo extra; el resto de métodos se delegan directamente.
+    private static final class RowCountingResultSetLogicFactory implements ResultSetProxyLogicFactory {
+        private final ObjectProvider<SqlStatisticsService> sqlStatisticsService;
+
+        private RowCountingResultSetLogicFactory(ObjectProvider<SqlStatisticsService> sqlStatisticsService) {
+            this.sqlStatisticsService = sqlStatisticsService;
+        }
+
+        @Override
+        public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+            return new RowCountingResultSetLogic(resultSet, sqlStatisticsService.getIfAvailable());
+        }
+    }
+
+    private static final class RowCountingResultSetLogic implements ResultSetProxyLogic {
+        private final ResultSet resultSet;
+        private final SqlStatisticsService sqlStatisticsService;
+
+        private RowCountingResultSetLogic(ResultSet resultSet, SqlStatisticsService sqlStatisticsService) {
+            this.resultSet = resultSet;
+            this.sqlStatisticsService = sqlStatisticsService;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "getTarget":
+                    return resultSet;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(resultSet)) {
+                        return resultSet;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(resultSet)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (sqlStatisticsService != null && Boolean.TRUE.equals(result) && "next".equals(name)) {
+                sqlStatisticsService.recordRowRead();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.service.SqlStatisticsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Cuenta las sentencias SQL ejecutadas por cada petición HTTP y las agrupa por endpoint
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    public SqlStatisticsFilter(SqlStatisticsService sqlStatisticsService) {
+        this.sqlStatisticsService = sqlStatisticsService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatisticsService.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Se agrupa por patrón de ruta (/api/products/{id}) para no crear una entrada por ID
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlStatisticsService.endRequest(pattern != null ? request.getMethod() + " " + pattern : null);
+        }
+    }
+}
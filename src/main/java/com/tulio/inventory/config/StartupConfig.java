@@ -0,0 +1,21 @@
+package com.tulio.inventory.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Profile("fast-startup")
+public class StartupConfig {
+
+    // Con inicialización perezosa, Hibernate y el pool se crearían en la primera petición.
+    // Se inicializan en el arranque para que la primera petición no pague ese coste.
+    @Bean
+    public static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class, DataSource.class);
+    }
+}
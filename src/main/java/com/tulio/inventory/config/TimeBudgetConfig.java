@@ -0,0 +1,126 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.service.TimeBudgetService;
+import com.tulio.inventory.util.TimeBudget;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Statement;
+import java.util.List;
+
+// Tiempo máximo por endpoint en ProductController y UserController (ver TimeBudgetService).
+// El tiempo restante de la petición se aplica como tiempo límite a cada sentencia SQL, de modo que el driver
+// cancela la consulta en la base de datos al agotarse; con el presupuesto ya agotado no se lanzan más sentencias.
+// Desactivable con inventory.time-budget.enabled=false.
+@Configuration
+@ConditionalOnProperty(name = "inventory.time-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class TimeBudgetConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeBudgetConfig.class);
+
+    @Bean
+    public WebMvcConfigurer timeBudgetConfigurer(TimeBudgetService timeBudgetService) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new TimeBudgetInterceptor(timeBudgetService))
+                        .addPathPatterns("/api/products", "/api/products/**", "/api/users", "/api/users/**");
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor timeBudgetDataSourceWrapper() {
+        return new DataSourceWrapper();
+    }
+
+    // Se ejecuta después de SqlStatisticsConfig: si ya hay proxy se añade el listener; si no, se crea uno
+    private static final class DataSourceWrapper implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ProxyDataSource proxyDataSource) {
+                proxyDataSource.getProxyConfig().getQueryListener().addListener(new StatementTimeoutListener());
+                return bean;
+            }
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new StatementTimeoutListener())
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return SqlStatisticsConfig.DATA_SOURCE_PROXY_ORDER + 1;
+        }
+    }
+
+    static final class StatementTimeoutListener implements QueryExecutionListener {
+
+        // PgStatement.setQueryTimeoutMs permite milisegundos; con otros drivers se redondea a segundos
+        private static final MethodHandle PG_SET_QUERY_TIMEOUT_MS;
+        private static final Class<?> PG_STATEMENT;
+
+        static {
+            Class<?> pgStatement = null;
+            MethodHandle setQueryTimeoutMs = null;
+            try {
+                pgStatement = Class.forName("org.postgresql.jdbc.PgStatement", false, StatementTimeoutListener.class.getClassLoader());
+                setQueryTimeoutMs = MethodHandles.publicLookup()
+                        .findVirtual(pgStatement, "setQueryTimeoutMs", MethodType.methodType(void.class, long.class));
+            } catch (ReflectiveOperationException e) {
+                pgStatement = null;
+            }
+            PG_STATEMENT = pgStatement;
+            PG_SET_QUERY_TIMEOUT_MS = setQueryTimeoutMs;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (!TimeBudget.isActive()) {
+                return;
+            }
+            TimeBudget.checkRemaining();
+            long remainingMs = Math.max(1, TimeBudget.remainingMillis());
+            try {
+                applyTimeout(execInfo.getStatement(), remainingMs);
+            } catch (Throwable e) {
+                log.debug("No se pudo aplicar el tiempo límite a la sentencia", e);
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (execInfo.getThrowable() != null && TimeBudget.isExhausted()) {
+                TimeBudget.recordCancelledStatement();
+            }
+        }
+
+        static void applyTimeout(Statement statement, long timeoutMs) throws Throwable {
+            if (PG_SET_QUERY_TIMEOUT_MS != null && statement.isWrapperFor(PG_STATEMENT)) {
+                PG_SET_QUERY_TIMEOUT_MS.invoke(statement.unwrap(PG_STATEMENT), timeoutMs);
+            } else {
+                statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, (timeoutMs + 999) / 1000));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.service.TimeBudgetService;
+import com.tulio.inventory.util.TimeBudget;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Abre el presupuesto de tiempo de la petición con el máximo configurado para el método del controlador
+// y registra el resultado al terminar. Un máximo de 0 desactiva el presupuesto para ese endpoint.
+public class TimeBudgetInterceptor implements HandlerInterceptor {
+
+    private final TimeBudgetService timeBudgetService;
+
+    public TimeBudgetInterceptor(TimeBudgetService timeBudgetService) {
+        this.timeBudgetService = timeBudgetService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            long budgetMs = timeBudgetService.getBudgetMillis(
+                    handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+            if (budgetMs > 0) {
+                // Se agrupa por patrón de ruta (/api/products/{id}) para no crear una entrada por ID
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                TimeBudget.begin(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()), budgetMs);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        timeBudgetService.record(TimeBudget.end());
+    }
+}
@@ -0,0 +1,77 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.service.TraceService;
+import com.tulio.inventory.util.TraceContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Trazas ligeras por petición: span raíz HTTP (TracingFilter) y spans por controlador, servicio y repositorio.
+// Desactivable con inventory.tracing.enabled=false.
+@Configuration
+@ConditionalOnProperty(name = "inventory.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(TraceService traceService) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(traceService));
+        registration.addUrlPatterns("/api/*");
+        // Antes que SqlStatisticsFilter para que el ID de traza esté disponible en todo el procesamiento
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    @Aspect
+    public static class TracingAspect {
+
+        // Los servicios gRPC quedan fuera: bindService() es final y no se puede envolver con un proxy CGLIB
+        @Around("execution(public * com.tulio.inventory.controller.*Controller.*(..))"
+                + " && !within(com.tulio.inventory.controller.TraceController)"
+                + " && !within(io.grpc.BindableService+)")
+        public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+            return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), TraceContext.LAYER_CONTROLLER);
+        }
+
+        @Around("execution(public * com.tulio.inventory.service.*Service.*(..))"
+                + " && !within(com.tulio.inventory.service.TraceService)"
+                + " && !within(com.tulio.inventory.service.SqlStatisticsService)")
+        public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+            return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), TraceContext.LAYER_SERVICE);
+        }
+
+        @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+        public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+            // findById y similares se declaran en CrudRepository; se usa la interfaz propia (ProductRepository, ...)
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getTarget());
+            String type = interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringType().getSimpleName();
+            return trace(joinPoint, type, TraceContext.LAYER_REPOSITORY);
+        }
+
+        private Object trace(ProceedingJoinPoint joinPoint, String type, String layer) throws Throwable {
+            if (!TraceContext.isActive()) {
+                return joinPoint.proceed();
+            }
+            TraceContext.Span span = TraceContext.startSpan(type + "." + joinPoint.getSignature().getName(), layer);
+            Throwable failure = null;
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                TraceContext.endSpan(span, failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.dto.TraceDTO;
+import com.tulio.inventory.service.TraceService;
+import com.tulio.inventory.util.TraceContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Abre una traza por petición. Reutiliza el ID recibido en X-Trace-Id (si es válido) y lo devuelve en la respuesta.
+// El span raíz incluye la serialización de la respuesta, por lo que la diferencia con el span del controlador
+// corresponde a Jackson y al resto del procesamiento de Spring MVC.
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final TraceService traceService;
+
+    public TracingFilter(TraceService traceService) {
+        this.traceService = traceService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String incomingTraceId = request.getHeader(TRACE_ID_HEADER);
+        String traceId = incomingTraceId != null && VALID_TRACE_ID.matcher(incomingTraceId).matches()
+                ? incomingTraceId
+                : newTraceId();
+
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        MDC.put(TRACE_ID_MDC_KEY, traceId);
+        TraceContext.begin(traceId, request.getMethod() + " " + request.getRequestURI());
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            TraceDTO trace = TraceContext.end(failure);
+            MDC.remove(TRACE_ID_MDC_KEY);
+            if (trace != null) {
+                traceService.record(trace);
+            }
+        }
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,37 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.ProbeStatusDTO;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Sondas de vida y de disponibilidad para el orquestador. Fuera de /api para no pasar por las trazas
+// ni por las estadísticas de SQL.
+@RestController
+@RequestMapping("/health")
+public class HealthController {
+
+    private final ApplicationAvailability applicationAvailability;
+
+    public HealthController(ApplicationAvailability applicationAvailability) {
+        this.applicationAvailability = applicationAvailability;
+    }
+
+    @GetMapping("/liveness")
+    public ResponseEntity<ProbeStatusDTO> getLiveness() {
+        LivenessState state = applicationAvailability.getLivenessState();
+        return ResponseEntity.status(state == LivenessState.CORRECT ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ProbeStatusDTO(state.name()));
+    }
+
+    // 503 hasta que termina el arranque, incluido el calentamiento (WarmUpService)
+    @GetMapping("/readiness")
+    public ResponseEntity<ProbeStatusDTO> getReadiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        return ResponseEntity.status(state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ProbeStatusDTO(state.name()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.ProductNodeDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.service.GraphQlQueryService;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Resolutores de src/main/resources/graphql/schema.graphqls.
+// registeredBy y lastModifiedBy comparten un DataLoader de usuarios por petición: los IDs pedidos por todos los
+// productos de un mismo nivel se agrupan en una sola consulta y cada usuario se lee una vez por petición.
+@Controller
+public class InventoryGraphQlController {
+
+    private final GraphQlQueryService graphQlQueryService;
+
+    public InventoryGraphQlController(GraphQlQueryService graphQlQueryService, BatchLoaderRegistry batchLoaderRegistry) {
+        this.graphQlQueryService = graphQlQueryService;
+        batchLoaderRegistry.forTypePair(Long.class, UserDTO.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromSupplier(() -> graphQlQueryService.findUsersByIds(ids)));
+    }
+
+    @QueryMapping
+    public List<ProductNodeDTO> products(@Argument ProductSearchCriteria filter, @Argument int first, @Argument Long after) {
+        return graphQlQueryService.findProducts(filter, first, after);
+    }
+
+    @QueryMapping
+    public ProductNodeDTO product(@Argument long id) {
+        return graphQlQueryService.findProduct(id);
+    }
+
+    @QueryMapping
+    public List<UserDTO> users(@Argument int first, @Argument Long after) {
+        return graphQlQueryService.findUsers(first, after);
+    }
+
+    @QueryMapping
+    public UserDTO user(@Argument long id) {
+        return graphQlQueryService.findUser(id);
+    }
+
+    @SchemaMapping(typeName = "Product")
+    public CompletableFuture<UserDTO> registeredBy(ProductNodeDTO product, DataLoader<Long, UserDTO> users) {
+        return users.load(product.getRegisteredByUserId());
+    }
+
+    @SchemaMapping(typeName = "Product")
+    public CompletableFuture<UserDTO> lastModifiedBy(ProductNodeDTO product, DataLoader<Long, UserDTO> users) {
+        Long userId = product.getLastModifiedByUserId();
+        return userId == null ? CompletableFuture.completedFuture(null) : users.load(userId);
+    }
+}
@@ -0,0 +1,290 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.BulkOperationResultDTO;
+import com.tulio.inventory.dto.BulkQuantityUpdateDTO;
+import com.tulio.inventory.dto.ProductCreationDTO;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductUpdateDTO;
+import com.tulio.inventory.dto.QuantityUpdateDTO;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.exception.GrpcExceptionMapper;
+import com.tulio.inventory.grpc.AdjustQuantitiesSummary;
+import com.tulio.inventory.grpc.CreateProductRequest;
+import com.tulio.inventory.grpc.GetProductRequest;
+import com.tulio.inventory.grpc.GetUserRequest;
+import com.tulio.inventory.grpc.InventoryServiceGrpc;
+import com.tulio.inventory.grpc.ListProductsRequest;
+import com.tulio.inventory.grpc.Product;
+import com.tulio.inventory.grpc.QuantityAdjustment;
+import com.tulio.inventory.grpc.UpdateProductRequest;
+import com.tulio.inventory.grpc.User;
+import com.tulio.inventory.service.ProductBulkService;
+import com.tulio.inventory.service.ProductService;
+import com.tulio.inventory.service.UserService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * API gRPC (src/main/proto/inventory.proto) sobre los mismos servicios que los controladores REST.
+ * <p>
+ * Los dos métodos de streaming respetan el control de flujo de HTTP/2 en lugar de acumular en memoria:
+ * <ul>
+ *     <li>ListProducts lee una página de productos solo cuando el cliente puede recibir más mensajes
+ *     ({@code isReady}) y continúa desde el manejador {@code onReady}: un cliente lento frena la lectura.</li>
+ *     <li>AdjustQuantities pide al cliente como máximo un lote de mensajes ({@code request(n)}) y no pide el
+ *     siguiente hasta guardar el anterior con {@link ProductBulkService#updateQuantities}.</li>
+ * </ul>
+ */
+@Component
+public class InventoryGrpcController extends InventoryServiceGrpc.InventoryServiceImplBase {
+
+    private final ProductService productService;
+    private final UserService userService;
+    private final ProductBulkService productBulkService;
+    private final int listPageSize;
+    private final int adjustmentBatchSize;
+
+    public InventoryGrpcController(ProductService productService, UserService userService, ProductBulkService productBulkService,
+                                   @Value("${inventory.grpc.list-page-size:500}") int listPageSize,
+                                   @Value("${inventory.grpc.adjustment-batch-size:500}") int adjustmentBatchSize) {
+        this.productService = productService;
+        this.userService = userService;
+        this.productBulkService = productBulkService;
+        this.listPageSize = listPageSize;
+        this.adjustmentBatchSize = adjustmentBatchSize;
+    }
+
+    @Override
+    public void getProduct(GetProductRequest request, StreamObserver<Product> responseObserver) {
+        unary(responseObserver, () -> toMessage(productService.getProductById(request.getId())));
+    }
+
+    @Override
+    public void createProduct(CreateProductRequest request, StreamObserver<Product> responseObserver) {
+        unary(responseObserver, () -> {
+            ProductCreationDTO creation = new ProductCreationDTO();
+            creation.setProductName(request.getProductName());
+            creation.setQuantity(request.getQuantity());
+            creation.setEntryDate(parseDate(request.getEntryDate()));
+            creation.setRegisteredByUserId(idOrNull(request.getRegisteredByUserId()));
+            return toMessage(productService.createProduct(creation));
+        });
+    }
+
+    @Override
+    public void updateProduct(UpdateProductRequest request, StreamObserver<Product> responseObserver) {
+        unary(responseObserver, () -> {
+            ProductUpdateDTO update = new ProductUpdateDTO();
+            update.setProductName(request.getProductName());
+            update.setQuantity(request.getQuantity());
+            update.setEntryDate(parseDate(request.getEntryDate()));
+            update.setLastModifiedByUserId(idOrNull(request.getLastModifiedByUserId()));
+            return toMessage(productService.updateProduct(request.getId(), update));
+        });
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        unary(responseObserver, () -> toMessage(userService.getUserById(request.getId())));
+    }
+
+    @Override
+    public void listProducts(ListProductsRequest request, StreamObserver<Product> responseObserver) {
+        ServerCallStreamObserver<Product> call = (ServerCallStreamObserver<Product>) responseObserver;
+        ProductStream stream = new ProductStream(call, request.getAfterId());
+        call.setOnCancelHandler(() -> stream.cancelled = true);
+        // gRPC llama a onReady al empezar y cada vez que el cliente vuelve a aceptar mensajes
+        call.setOnReadyHandler(stream::drain);
+    }
+
+    @Override
+    public StreamObserver<QuantityAdjustment> adjustQuantities(StreamObserver<AdjustQuantitiesSummary> responseObserver) {
+        ServerCallStreamObserver<AdjustQuantitiesSummary> call = (ServerCallStreamObserver<AdjustQuantitiesSummary>) responseObserver;
+        call.disableAutoRequest();
+        call.request(adjustmentBatchSize);
+        return new AdjustmentStream(call);
+    }
+
+    // Envía productos mientras el cliente los acepte; la página siguiente se lee solo cuando se ha vaciado la anterior
+    private class ProductStream {
+
+        private final ServerCallStreamObserver<Product> call;
+        private final Deque<ProductResponseDTO> buffer = new ArrayDeque<>();
+        private long afterId;
+        private boolean lastPageRead;
+        private boolean finished;
+        private volatile boolean cancelled;
+
+        ProductStream(ServerCallStreamObserver<Product> call, long afterId) {
+            this.call = call;
+            this.afterId = afterId;
+        }
+
+        void drain() {
+            try {
+                while (!finished && !cancelled && call.isReady()) {
+                    if (buffer.isEmpty() && !lastPageRead) {
+                        List<ProductResponseDTO> page = productService.getProductsPage(afterId, listPageSize);
+                        // Una página incompleta es la última: no hace falta otra consulta para comprobarlo
+                        lastPageRead = page.size() < listPageSize;
+                        buffer.addAll(page);
+                        if (!page.isEmpty()) {
+                            afterId = page.get(page.size() - 1).getId();
+                        }
+                    }
+                    if (buffer.isEmpty()) {
+                        finished = true;
+                        call.onCompleted();
+                        return;
+                    }
+                    call.onNext(toMessage(buffer.poll()));
+                }
+            } catch (RuntimeException e) {
+                finished = true;
+                call.onError(GrpcExceptionMapper.toStatusException(e));
+            }
+        }
+    }
+
+    // Acumula ajustes hasta completar un lote (o hasta que cambia el usuario que modifica), lo guarda en una
+    // transacción y solo entonces pide al cliente tantos mensajes como ha consumido
+    private class AdjustmentStream implements StreamObserver<QuantityAdjustment> {
+
+        private final ServerCallStreamObserver<AdjustQuantitiesSummary> call;
+        // Un producto repetido dentro del lote se queda con la última cantidad recibida
+        private final Map<Long, Integer> pending = new LinkedHashMap<>();
+        private final List<Long> notFoundIds = new ArrayList<>();
+        private Long pendingUserId;
+        private int pendingMessages;
+        private int received;
+        private int updated;
+        private int batches;
+        private boolean failed;
+
+        AdjustmentStream(ServerCallStreamObserver<AdjustQuantitiesSummary> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onNext(QuantityAdjustment adjustment) {
+            if (failed) {
+                return;
+            }
+            received++;
+            Long userId = idOrNull(adjustment.getLastModifiedByUserId());
+            if (pendingMessages > 0 && !Objects.equals(userId, pendingUserId) && !flush()) {
+                return;
+            }
+            pendingUserId = userId;
+            pending.put(adjustment.getProductId(), adjustment.getQuantity());
+            pendingMessages++;
+            if (pendingMessages >= adjustmentBatchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // El cliente canceló o la conexión se cortó: los lotes ya guardados se mantienen
+            failed = true;
+        }
+
+        @Override
+        public void onCompleted() {
+            if (failed || (pendingMessages > 0 && !flush())) {
+                return;
+            }
+            call.onNext(AdjustQuantitiesSummary.newBuilder()
+                    .setReceived(received)
+                    .setUpdated(updated)
+                    .addAllNotFoundIds(notFoundIds)
+                    .setBatches(batches)
+                    .build());
+            call.onCompleted();
+        }
+
+        private boolean flush() {
+            List<QuantityUpdateDTO> items = new ArrayList<>(pending.size());
+            pending.forEach((productId, quantity) -> items.add(new QuantityUpdateDTO(productId, quantity)));
+            try {
+                BulkOperationResultDTO result = productBulkService.updateQuantities(new BulkQuantityUpdateDTO(pendingUserId, items));
+                updated += result.getAffected();
+                notFoundIds.addAll(result.getNotFoundIds());
+                batches++;
+            } catch (RuntimeException e) {
+                failed = true;
+                call.onError(GrpcExceptionMapper.toStatusException(e,
+                        "Lote rechazado tras " + updated + " productos actualizados: "));
+                return false;
+            }
+            int consumed = pendingMessages;
+            pending.clear();
+            pendingMessages = 0;
+            call.request(consumed);
+            return true;
+        }
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> handler) {
+        T response;
+        try {
+            response = handler.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(GrpcExceptionMapper.toStatusException(e));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    // En proto3 los campos no informados llegan con su valor por defecto (0 o "")
+    private static Long idOrNull(long id) {
+        return id == 0 ? null : id;
+    }
+
+    private static LocalDate parseDate(String date) {
+        return date.isEmpty() ? null : LocalDate.parse(date);
+    }
+
+    private static Product toMessage(ProductResponseDTO product) {
+        Product.Builder builder = Product.newBuilder()
+                .setId(product.getId())
+                .setProductName(product.getProductName())
+                .setQuantity(product.getQuantity())
+                .setEntryDate(product.getEntryDate().toString());
+        if (product.getRegisteredByName() != null) {
+            builder.setRegisteredByName(product.getRegisteredByName());
+        }
+        if (product.getLastModifiedByName() != null) {
+            builder.setLastModifiedByName(product.getLastModifiedByName());
+        }
+        if (product.getLastModificationDate() != null) {
+            // Mismo formato que la API REST: con segundos aunque sean cero
+            builder.setLastModificationDate(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(product.getLastModificationDate()));
+        }
+        return builder.build();
+    }
+
+    private static User toMessage(UserDTO user) {
+        return User.newBuilder()
+                .setId(user.getId())
+                .setName(user.getName())
+                .setAge(user.getAge())
+                .setPosition(user.getPosition())
+                .setHireDate(user.getHireDate().toString())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.OutboxStatusDTO;
+import com.tulio.inventory.service.ProductOutboxService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class OutboxController {
+
+    private final ProductOutboxService productOutboxService;
+
+    public OutboxController(ProductOutboxService productOutboxService) {
+        this.productOutboxService = productOutboxService;
+    }
+
+    // Eventos pendientes de publicar y contadores del relé
+    @GetMapping
+    public ResponseEntity<OutboxStatusDTO> getStatus() {
+        return ResponseEntity.ok(productOutboxService.getStatus());
+    }
+}
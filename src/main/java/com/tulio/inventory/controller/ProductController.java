@@ -1,9 +1,19 @@
 package com.tulio.inventory.controller;
 
+import com.tulio.inventory.dto.BulkOperationResultDTO;
+import com.tulio.inventory.dto.BulkQuantityUpdateDTO;
+import com.tulio.inventory.dto.FacetedSearchResultDTO;
+import com.tulio.inventory.dto.InventoryStatisticsDTO;
+import com.tulio.inventory.dto.ProductAuditDTO;
+import com.tulio.inventory.dto.ProductBatchItemDTO;
 import com.tulio.inventory.dto.ProductCreationDTO;
 import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
 import com.tulio.inventory.dto.ProductUpdateDTO;
+import com.tulio.inventory.service.ProductBulkService;
+import com.tulio.inventory.service.ProductFacetService;
 import com.tulio.inventory.service.ProductService;
+import com.tulio.inventory.service.ProductStatisticsService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +27,16 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
+    private final ProductStatisticsService productStatisticsService;
+    private final ProductFacetService productFacetService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductBulkService productBulkService,
+                             ProductStatisticsService productStatisticsService, ProductFacetService productFacetService) {
         this.productService = productService;
+        this.productBulkService = productBulkService;
+        this.productStatisticsService = productStatisticsService;
+        this.productFacetService = productFacetService;
     }
 
     @PostMapping
@@ -34,30 +51,83 @@ public class ProductController {
         return ResponseEntity.ok(updatedProduct);
     }
 
+    // Actualización parcial: solo se aplican los campos informados
+    @PatchMapping("/{productId}")
+    public ResponseEntity<ProductResponseDTO> patchProduct(@PathVariable Long productId, @RequestBody ProductUpdateDTO productPatchDTO) {
+        ProductResponseDTO updatedProduct = productService.patchProduct(productId, productPatchDTO);
+        return ResponseEntity.ok(updatedProduct);
+    }
+
     @DeleteMapping("/{productId}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long productId, @RequestParam Long requestingUserId) {
         productService.deleteProduct(productId, requestingUserId);
         return ResponseEntity.noContent().build();
     }
 
+    // Elimina los productos del usuario solicitante con fecha de ingreso dentro del rango
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkOperationResultDTO> deleteProducts(
+            @RequestParam Long requestingUserId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entryDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entryDateTo) {
+        BulkOperationResultDTO result = productBulkService.deleteProducts(requestingUserId, entryDateFrom, entryDateTo);
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/quantities")
+    public ResponseEntity<BulkOperationResultDTO> updateQuantities(@RequestBody BulkQuantityUpdateDTO bulkQuantityUpdateDTO) {
+        BulkOperationResultDTO result = productBulkService.updateQuantities(bulkQuantityUpdateDTO);
+        return ResponseEntity.ok(result);
+    }
+
+    // Filtros: entryDate, entryDateFrom, entryDateTo, userId, productName; orden: sort y direction; top-N: limit;
+    // campos de la respuesta: fields (también en /faceted, /batch, /{id} y /all)
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> searchProducts(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entryDate,
-            @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) String productName) {
-        List<ProductResponseDTO> products = productService.searchProducts(entryDate, userId, productName);
+    public ResponseEntity<List<ProductResponseDTO>> searchProducts(ProductSearchCriteria criteria) {
+        List<ProductResponseDTO> products = productService.searchProducts(criteria);
+        return ResponseEntity.ok(products);
+    }
+
+    // Mismos filtros que la búsqueda; añade recuentos por usuario, mes de ingreso y rango de cantidad
+    @GetMapping("/faceted")
+    public ResponseEntity<FacetedSearchResultDTO> searchProductsWithFacets(ProductSearchCriteria criteria) {
+        FacetedSearchResultDTO result = productFacetService.search(criteria);
+        return ResponseEntity.ok(result);
+    }
+
+    // Ejemplo: GET /api/products/batch?ids=5,8,13
+    @GetMapping("/batch")
+    public ResponseEntity<List<ProductBatchItemDTO>> getProductsByIds(@RequestParam List<Long> ids,
+                                                                      @RequestParam(required = false) String fields) {
+        List<ProductBatchItemDTO> products = productService.getProductsByIds(ids, fields);
         return ResponseEntity.ok(products);
     }
 
+    // Totales, grupos por usuario y por periodo de ingreso (bucket: day, week o month)
+    @GetMapping("/statistics")
+    public ResponseEntity<InventoryStatisticsDTO> getStatistics(
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entryDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate entryDateTo) {
+        InventoryStatisticsDTO statistics = productStatisticsService.getStatistics(bucket, entryDateFrom, entryDateTo);
+        return ResponseEntity.ok(statistics);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id) {
-        ProductResponseDTO product = productService.getProductById(id);
+    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        ProductResponseDTO product = productService.getProductById(id, fields);
         return ResponseEntity.ok(product);
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<ProductAuditDTO>> getProductHistory(@PathVariable Long id) {
+        List<ProductAuditDTO> history = productService.getProductHistory(id);
+        return ResponseEntity.ok(history);
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        List<ProductResponseDTO> products = productService.getAllProducts();
+    public ResponseEntity<List<ProductResponseDTO>> getAllProducts(@RequestParam(required = false) String fields) {
+        List<ProductResponseDTO> products = productService.getAllProducts(fields);
         return ResponseEntity.ok(products);
     }
 }
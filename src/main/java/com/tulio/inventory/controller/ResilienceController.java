@@ -0,0 +1,23 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.ResilienceStatusDTO;
+import com.tulio.inventory.service.ResilientReadService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/resilience")
+public class ResilienceController {
+
+    private final ResilientReadService resilientReadService;
+
+    public ResilienceController(ResilientReadService resilientReadService) {
+        this.resilientReadService = resilientReadService;
+    }
+
+    // Estado del cortocircuito de lecturas y contadores de respuestas obsoletas o no disponibles
+    @GetMapping
+    public ResponseEntity<ResilienceStatusDTO> getStatus() {
+        return ResponseEntity.ok(resilientReadService.getStatus());
+    }
+}
@@ -0,0 +1,28 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.SqlStatisticsDTO;
+import com.tulio.inventory.service.SqlStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/sql-statistics")
+public class SqlStatisticsController {
+
+    private final SqlStatisticsService sqlStatisticsService;
+
+    public SqlStatisticsController(SqlStatisticsService sqlStatisticsService) {
+        this.sqlStatisticsService = sqlStatisticsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SqlStatisticsDTO> getStatistics() {
+        return ResponseEntity.ok(sqlStatisticsService.getStatistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> resetStatistics() {
+        sqlStatisticsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
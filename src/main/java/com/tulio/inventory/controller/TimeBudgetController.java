@@ -0,0 +1,30 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.TimeBudgetStatsDTO;
+import com.tulio.inventory.service.TimeBudgetService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/time-budgets")
+public class TimeBudgetController {
+
+    private final TimeBudgetService timeBudgetService;
+
+    public TimeBudgetController(TimeBudgetService timeBudgetService) {
+        this.timeBudgetService = timeBudgetService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TimeBudgetStatsDTO>> getStatistics() {
+        return ResponseEntity.ok(timeBudgetService.getStatistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> resetStatistics() {
+        timeBudgetService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.TraceDTO;
+import com.tulio.inventory.service.TraceService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+public class TraceController {
+
+    private final TraceService traceService;
+
+    public TraceController(TraceService traceService) {
+        this.traceService = traceService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TraceDTO>> getTraces(
+            @RequestParam(defaultValue = "0") long minDurationMs,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(traceService.getTraces(minDurationMs, limit));
+    }
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<TraceDTO> getTrace(@PathVariable String traceId) {
+        return ResponseEntity.ok(traceService.getTrace(traceId));
+    }
+}
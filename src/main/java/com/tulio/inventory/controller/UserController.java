@@ -1,11 +1,16 @@
 package com.tulio.inventory.controller;
 
+import com.tulio.inventory.dto.OffboardingJobDTO;
 import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.dto.UserPageDTO;
+import com.tulio.inventory.service.UserOffboardingService;
 import com.tulio.inventory.service.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,9 +18,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserOffboardingService userOffboardingService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserOffboardingService userOffboardingService) {
         this.userService = userService;
+        this.userOffboardingService = userOffboardingService;
     }
 
     @GetMapping
@@ -24,6 +31,19 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    // Listado paginado con filtros opcionales; afterId es el nextCursor de la página anterior
+    @GetMapping("/search")
+    public ResponseEntity<UserPageDTO> searchUsers(
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hireDateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hireDateTo,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        UserPageDTO page = userService.searchUsers(namePrefix, position, hireDateFrom, hireDateTo, afterId, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         UserDTO user = userService.getUserById(id);
@@ -42,9 +62,34 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    // updateUser ya trata todos los campos como opcionales
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserDTO> patchUser(@PathVariable Long id, @RequestBody UserDTO userDTO) {
+        UserDTO updatedUser = userService.updateUser(id, userDTO);
+        return ResponseEntity.ok(updatedUser);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Baja por bloques en segundo plano; sin reassignToUserId los productos del usuario se eliminan
+    @PostMapping("/{id}/offboarding")
+    public ResponseEntity<OffboardingJobDTO> startOffboarding(@PathVariable Long id,
+                                                              @RequestParam(required = false) Long reassignToUserId) {
+        OffboardingJobDTO job = userOffboardingService.startOffboarding(id, reassignToUserId);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/offboarding")
+    public ResponseEntity<List<OffboardingJobDTO>> getOffboardingJobs() {
+        return ResponseEntity.ok(userOffboardingService.getJobs());
+    }
+
+    @GetMapping("/offboarding/{jobId}")
+    public ResponseEntity<OffboardingJobDTO> getOffboardingJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(userOffboardingService.getJob(jobId));
+    }
 }
@@ -0,0 +1,22 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.WarmUpStatusDTO;
+import com.tulio.inventory.service.WarmUpService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/warm-up")
+public class WarmUpController {
+
+    private final WarmUpService warmUpService;
+
+    public WarmUpController(WarmUpService warmUpService) {
+        this.warmUpService = warmUpService;
+    }
+
+    @GetMapping
+    public ResponseEntity<WarmUpStatusDTO> getStatus() {
+        return ResponseEntity.ok(warmUpService.getStatus());
+    }
+}
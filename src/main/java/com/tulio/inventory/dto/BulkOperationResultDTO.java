@@ -0,0 +1,27 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class BulkOperationResultDTO {
+    private final int requested; // Productos afectados por el filtro o incluidos en la petición
+    private final int affected;
+    private final List<Long> notFoundIds; // Solo en actualizaciones por lista de IDs
+
+    public BulkOperationResultDTO(int requested, int affected, List<Long> notFoundIds) {
+        this.requested = requested;
+        this.affected = affected;
+        this.notFoundIds = notFoundIds;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public List<Long> getNotFoundIds() {
+        return notFoundIds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class BulkQuantityUpdateDTO {
+    private Long lastModifiedByUserId; // ID del usuario que modifica
+    private List<QuantityUpdateDTO> items;
+
+    public BulkQuantityUpdateDTO() {
+    }
+
+    public BulkQuantityUpdateDTO(Long lastModifiedByUserId, List<QuantityUpdateDTO> items) {
+        this.lastModifiedByUserId = lastModifiedByUserId;
+        this.items = items;
+    }
+
+    public Long getLastModifiedByUserId() {
+        return lastModifiedByUserId;
+    }
+
+    public void setLastModifiedByUserId(Long lastModifiedByUserId) {
+        this.lastModifiedByUserId = lastModifiedByUserId;
+    }
+
+    public List<QuantityUpdateDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<QuantityUpdateDTO> items) {
+        this.items = items;
+    }
+}
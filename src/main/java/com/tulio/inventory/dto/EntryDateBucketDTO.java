@@ -0,0 +1,27 @@
+package com.tulio.inventory.dto;
+
+import java.time.LocalDate;
+
+public class EntryDateBucketDTO {
+    private final LocalDate bucketStart; // Primer día del día, semana (lunes) o mes
+    private final long productCount;
+    private final long totalQuantity;
+
+    public EntryDateBucketDTO(LocalDate bucketStart, long productCount, long totalQuantity) {
+        this.bucketStart = bucketStart;
+        this.productCount = productCount;
+        this.totalQuantity = totalQuantity;
+    }
+
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tulio.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"timestamp", "message", "details", "path", "traceId", "errorCode"})
+public class ErrorResponseDTO {
+    private final LocalDateTime timestamp;
+    private final String message;
+    private final String details; // Solo en errores inesperados
+    private final String path;
+    private final String traceId; // ID de la traza de la petición (cabecera X-Trace-Id)
+    private final String errorCode; // Solo en errores que el cliente debe distinguir (p. ej. TIME_BUDGET_EXCEEDED)
+
+    public ErrorResponseDTO(LocalDateTime timestamp, String message, String details, String path, String traceId) {
+        this(timestamp, message, details, path, traceId, null);
+    }
+
+    public ErrorResponseDTO(LocalDateTime timestamp, String message, String details, String path, String traceId, String errorCode) {
+        this.timestamp = timestamp;
+        this.message = message;
+        this.details = details;
+        this.path = path;
+        this.traceId = traceId;
+        this.errorCode = errorCode;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tulio.inventory.dto;
+
+public class FacetValueDTO {
+    private final String value; // Valor a usar como filtro (ID de usuario, primer día del mes o rango de cantidad)
+    private final String label;
+    private final long count;
+
+    public FacetValueDTO(String value, String label, long count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
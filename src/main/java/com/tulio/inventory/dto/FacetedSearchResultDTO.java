@@ -0,0 +1,21 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class FacetedSearchResultDTO {
+    private final List<ProductResponseDTO> results;
+    private final ProductFacetsDTO facets;
+
+    public FacetedSearchResultDTO(List<ProductResponseDTO> results, ProductFacetsDTO facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+
+    public List<ProductResponseDTO> getResults() {
+        return results;
+    }
+
+    public ProductFacetsDTO getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class InventoryStatisticsDTO {
+    private final long productCount;
+    private final long totalQuantity;
+    private final String bucket; // day, week o month
+    private final List<UserStatisticsDTO> byUser;
+    private final List<EntryDateBucketDTO> byEntryDate;
+
+    public InventoryStatisticsDTO(long productCount, long totalQuantity, String bucket,
+                                  List<UserStatisticsDTO> byUser, List<EntryDateBucketDTO> byEntryDate) {
+        this.productCount = productCount;
+        this.totalQuantity = totalQuantity;
+        this.bucket = bucket;
+        this.byUser = byUser;
+        this.byEntryDate = byEntryDate;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public List<UserStatisticsDTO> getByUser() {
+        return byUser;
+    }
+
+    public List<EntryDateBucketDTO> getByEntryDate() {
+        return byEntryDate;
+    }
+}
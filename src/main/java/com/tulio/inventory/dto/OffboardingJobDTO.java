@@ -0,0 +1,77 @@
+package com.tulio.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class OffboardingJobDTO {
+    private final String jobId;
+    private final Long userId;
+    private final Long reassignToUserId; // null: los productos del usuario se eliminan
+    private final String status; // PENDING, RUNNING, COMPLETED o FAILED
+    private final long productsReassigned;
+    private final long productsDeleted;
+    private final long modificationsReassigned; // Productos cuyo lastModifiedBy se reasignó o se dejó vacío
+    private final int chunksCompleted;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final String error;
+
+    public OffboardingJobDTO(String jobId, Long userId, Long reassignToUserId, String status, long productsReassigned,
+                             long productsDeleted, long modificationsReassigned, int chunksCompleted,
+                             LocalDateTime startDate, LocalDateTime endDate, String error) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.reassignToUserId = reassignToUserId;
+        this.status = status;
+        this.productsReassigned = productsReassigned;
+        this.productsDeleted = productsDeleted;
+        this.modificationsReassigned = modificationsReassigned;
+        this.chunksCompleted = chunksCompleted;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.error = error;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getReassignToUserId() {
+        return reassignToUserId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getProductsReassigned() {
+        return productsReassigned;
+    }
+
+    public long getProductsDeleted() {
+        return productsDeleted;
+    }
+
+    public long getModificationsReassigned() {
+        return modificationsReassigned;
+    }
+
+    public int getChunksCompleted() {
+        return chunksCompleted;
+    }
+
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
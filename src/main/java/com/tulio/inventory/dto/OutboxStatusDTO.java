@@ -0,0 +1,37 @@
+package com.tulio.inventory.dto;
+
+public class OutboxStatusDTO {
+    private final String publisher;
+    private final long pendingEvents;
+    private final long publishedEvents;
+    private final long failedAttempts;
+    private final String lastError;
+
+    public OutboxStatusDTO(String publisher, long pendingEvents, long publishedEvents, long failedAttempts, String lastError) {
+        this.publisher = publisher;
+        this.pendingEvents = pendingEvents;
+        this.publishedEvents = publishedEvents;
+        this.failedAttempts = failedAttempts;
+        this.lastError = lastError;
+    }
+
+    public String getPublisher() {
+        return publisher;
+    }
+
+    public long getPendingEvents() {
+        return pendingEvents;
+    }
+
+    public long getPublishedEvents() {
+        return publishedEvents;
+    }
+
+    public long getFailedAttempts() {
+        return failedAttempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tulio.inventory.dto;
+
+public class ProbeStatusDTO {
+    private final String status; // Estado de Spring Boot: CORRECT/BROKEN o ACCEPTING_TRAFFIC/REFUSING_TRAFFIC
+
+    public ProbeStatusDTO(String status) {
+        this.status = status;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
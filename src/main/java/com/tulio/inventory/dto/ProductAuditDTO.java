@@ -0,0 +1,125 @@
+package com.tulio.inventory.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ProductAuditDTO {
+    private Long id;
+    private Long productId;
+    private String action; // CREATE, UPDATE o DELETE
+    private Long userId; // ID del usuario que realizó el cambio
+    private LocalDateTime changeDate;
+    private String previousProductName;
+    private Integer previousQuantity;
+    private LocalDate previousEntryDate;
+    private String newProductName;
+    private Integer newQuantity;
+    private LocalDate newEntryDate;
+
+    public ProductAuditDTO() {
+    }
+
+    public ProductAuditDTO(Long id, Long productId, String action, Long userId, LocalDateTime changeDate,
+                           String previousProductName, Integer previousQuantity, LocalDate previousEntryDate,
+                           String newProductName, Integer newQuantity, LocalDate newEntryDate) {
+        this.id = id;
+        this.productId = productId;
+        this.action = action;
+        this.userId = userId;
+        this.changeDate = changeDate;
+        this.previousProductName = previousProductName;
+        this.previousQuantity = previousQuantity;
+        this.previousEntryDate = previousEntryDate;
+        this.newProductName = newProductName;
+        this.newQuantity = newQuantity;
+        this.newEntryDate = newEntryDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getChangeDate() {
+        return changeDate;
+    }
+
+    public void setChangeDate(LocalDateTime changeDate) {
+        this.changeDate = changeDate;
+    }
+
+    public String getPreviousProductName() {
+        return previousProductName;
+    }
+
+    public void setPreviousProductName(String previousProductName) {
+        this.previousProductName = previousProductName;
+    }
+
+    public Integer getPreviousQuantity() {
+        return previousQuantity;
+    }
+
+    public void setPreviousQuantity(Integer previousQuantity) {
+        this.previousQuantity = previousQuantity;
+    }
+
+    public LocalDate getPreviousEntryDate() {
+        return previousEntryDate;
+    }
+
+    public void setPreviousEntryDate(LocalDate previousEntryDate) {
+        this.previousEntryDate = previousEntryDate;
+    }
+
+    public String getNewProductName() {
+        return newProductName;
+    }
+
+    public void setNewProductName(String newProductName) {
+        this.newProductName = newProductName;
+    }
+
+    public Integer getNewQuantity() {
+        return newQuantity;
+    }
+
+    public void setNewQuantity(Integer newQuantity) {
+        this.newQuantity = newQuantity;
+    }
+
+    public LocalDate getNewEntryDate() {
+        return newEntryDate;
+    }
+
+    public void setNewEntryDate(LocalDate newEntryDate) {
+        this.newEntryDate = newEntryDate;
+    }
+}
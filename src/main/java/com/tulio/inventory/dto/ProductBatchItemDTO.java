@@ -0,0 +1,26 @@
+package com.tulio.inventory.dto;
+
+// Elemento de la respuesta de consulta por lote: conserva la posición del ID solicitado aunque no exista
+public class ProductBatchItemDTO {
+    private final Long id;
+    private final boolean found;
+    private final ProductResponseDTO product; // null si no existe
+
+    public ProductBatchItemDTO(Long id, boolean found, ProductResponseDTO product) {
+        this.id = id;
+        this.found = found;
+        this.product = product;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public ProductResponseDTO getProduct() {
+        return product;
+    }
+}
@@ -0,0 +1,79 @@
+package com.tulio.inventory.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Evento de cambio de producto entregado a los sistemas externos (ERP, reposición)
+public class ProductChangeEventDTO {
+    private final Long eventId; // Creciente por producto: sirve para descartar duplicados en el consumidor
+    private final Long productId;
+    private final String action; // CREATE, UPDATE o DELETE
+    private final Long userId;
+    private final LocalDateTime changeDate;
+    private final String previousProductName;
+    private final Integer previousQuantity;
+    private final LocalDate previousEntryDate;
+    private final String newProductName;
+    private final Integer newQuantity;
+    private final LocalDate newEntryDate;
+
+    public ProductChangeEventDTO(Long eventId, Long productId, String action, Long userId, LocalDateTime changeDate,
+                                 String previousProductName, Integer previousQuantity, LocalDate previousEntryDate,
+                                 String newProductName, Integer newQuantity, LocalDate newEntryDate) {
+        this.eventId = eventId;
+        this.productId = productId;
+        this.action = action;
+        this.userId = userId;
+        this.changeDate = changeDate;
+        this.previousProductName = previousProductName;
+        this.previousQuantity = previousQuantity;
+        this.previousEntryDate = previousEntryDate;
+        this.newProductName = newProductName;
+        this.newQuantity = newQuantity;
+        this.newEntryDate = newEntryDate;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getChangeDate() {
+        return changeDate;
+    }
+
+    public String getPreviousProductName() {
+        return previousProductName;
+    }
+
+    public Integer getPreviousQuantity() {
+        return previousQuantity;
+    }
+
+    public LocalDate getPreviousEntryDate() {
+        return previousEntryDate;
+    }
+
+    public String getNewProductName() {
+        return newProductName;
+    }
+
+    public Integer getNewQuantity() {
+        return newQuantity;
+    }
+
+    public LocalDate getNewEntryDate() {
+        return newEntryDate;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class ProductFacetsDTO {
+    private final List<FacetValueDTO> registeredBy;
+    private final List<FacetValueDTO> entryMonth;
+    private final List<FacetValueDTO> quantityBand;
+
+    public ProductFacetsDTO(List<FacetValueDTO> registeredBy, List<FacetValueDTO> entryMonth, List<FacetValueDTO> quantityBand) {
+        this.registeredBy = registeredBy;
+        this.entryMonth = entryMonth;
+        this.quantityBand = quantityBand;
+    }
+
+    public List<FacetValueDTO> getRegisteredBy() {
+        return registeredBy;
+    }
+
+    public List<FacetValueDTO> getEntryMonth() {
+        return entryMonth;
+    }
+
+    public List<FacetValueDTO> getQuantityBand() {
+        return quantityBand;
+    }
+}
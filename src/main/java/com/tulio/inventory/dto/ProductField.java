@@ -0,0 +1,33 @@
+package com.tulio.inventory.dto;
+
+// Campos de ProductResponseDTO que se pueden pedir con el parámetro fields= de las lecturas de productos
+public enum ProductField {
+    ID("id"),
+    PRODUCT_NAME("productName"),
+    QUANTITY("quantity"),
+    ENTRY_DATE("entryDate"),
+    REGISTERED_BY_NAME("registeredByName"),
+    LAST_MODIFIED_BY_NAME("lastModifiedByName"),
+    LAST_MODIFICATION_DATE("lastModificationDate");
+
+    private final String propertyName;
+
+    ProductField(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    // Nombre de la propiedad en el JSON de respuesta
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    // null si el nombre no corresponde a ningún campo
+    public static ProductField fromPropertyName(String propertyName) {
+        for (ProductField field : values()) {
+            if (field.propertyName.equals(propertyName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tulio.inventory.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Producto de la API GraphQL: lleva los IDs de los usuarios, que se resuelven por lotes solo si se piden
+public class ProductNodeDTO {
+    private final Long id;
+    private final String productName;
+    private final Integer quantity;
+    private final LocalDate entryDate;
+    private final Long registeredByUserId;
+    private final Long lastModifiedByUserId;
+    private final LocalDateTime lastModificationDate;
+
+    public ProductNodeDTO(Long id, String productName, Integer quantity, LocalDate entryDate, Long registeredByUserId,
+                          Long lastModifiedByUserId, LocalDateTime lastModificationDate) {
+        this.id = id;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.entryDate = entryDate;
+        this.registeredByUserId = registeredByUserId;
+        this.lastModifiedByUserId = lastModifiedByUserId;
+        this.lastModificationDate = lastModificationDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public Long getRegisteredByUserId() {
+        return registeredByUserId;
+    }
+
+    public Long getLastModifiedByUserId() {
+        return lastModifiedByUserId;
+    }
+
+    public LocalDateTime getLastModificationDate() {
+        return lastModificationDate;
+    }
+}
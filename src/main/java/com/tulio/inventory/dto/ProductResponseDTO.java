@@ -1,7 +1,10 @@
 package com.tulio.inventory.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 public class ProductResponseDTO {
     private Long id;
@@ -11,6 +14,8 @@ public class ProductResponseDTO {
     private String registeredByName; // Nombre del usuario que registró
     private String lastModifiedByName; // Nombre del usuario que modificó
     private LocalDateTime lastModificationDate;
+    @JsonIgnore
+    private Set<ProductField> fields; // Campos pedidos con fields= (solo se serializan esos); null = todos
 
     public ProductResponseDTO() {
     }
@@ -80,4 +85,16 @@ public class ProductResponseDTO {
     public void setLastModificationDate(LocalDateTime lastModificationDate) {
         this.lastModificationDate = lastModificationDate;
     }
+
+    public Set<ProductField> getFields() {
+        return fields;
+    }
+
+    public void setFields(Set<ProductField> fields) {
+        this.fields = fields;
+    }
+
+    public boolean includes(ProductField field) {
+        return fields == null || fields.contains(field);
+    }
 }
@@ -0,0 +1,114 @@
+package com.tulio.inventory.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Parámetros de búsqueda de productos (GET /api/products). Todos son opcionales, pero se exige al menos un filtro.
+public class ProductSearchCriteria {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate entryDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate entryDateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate entryDateTo;
+    private Long userId; // Usuario que registró el producto
+    private String productName; // Búsqueda parcial sin distinción de mayúsculas
+    private String sort; // entryDate, productName, quantity o lastModificationDate; por defecto id
+    private String direction; // asc (por defecto) o desc
+    private Integer limit; // Máximo de resultados (top-N)
+    private String fields; // Campos de la respuesta separados por comas; por defecto todos
+
+    public ProductSearchCriteria() {
+    }
+
+    public ProductSearchCriteria(LocalDate entryDate, Long userId, String productName) {
+        this.entryDate = entryDate;
+        this.userId = userId;
+        this.productName = productName;
+    }
+
+    // Copia con otro límite, sin modificar los parámetros recibidos en la petición
+    public ProductSearchCriteria withLimit(Integer limit) {
+        ProductSearchCriteria copy = new ProductSearchCriteria(entryDate, userId, productName);
+        copy.entryDateFrom = entryDateFrom;
+        copy.entryDateTo = entryDateTo;
+        copy.sort = sort;
+        copy.direction = direction;
+        copy.limit = limit;
+        copy.fields = fields;
+        return copy;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public void setEntryDate(LocalDate entryDate) {
+        this.entryDate = entryDate;
+    }
+
+    public LocalDate getEntryDateFrom() {
+        return entryDateFrom;
+    }
+
+    public void setEntryDateFrom(LocalDate entryDateFrom) {
+        this.entryDateFrom = entryDateFrom;
+    }
+
+    public LocalDate getEntryDateTo() {
+        return entryDateTo;
+    }
+
+    public void setEntryDateTo(LocalDate entryDateTo) {
+        this.entryDateTo = entryDateTo;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getFields() {
+        return fields;
+    }
+
+    public void setFields(String fields) {
+        this.fields = fields;
+    }
+}
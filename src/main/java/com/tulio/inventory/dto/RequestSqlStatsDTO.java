@@ -0,0 +1,37 @@
+package com.tulio.inventory.dto;
+
+public class RequestSqlStatsDTO {
+    private final String endpoint; // Método HTTP y patrón de la ruta, p. ej. "GET /api/products/{id}"
+    private final long requests;
+    private final long statements;
+    private final long maxStatements;
+    private final double averageStatements;
+
+    public RequestSqlStatsDTO(String endpoint, long requests, long statements, long maxStatements, double averageStatements) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.statements = statements;
+        this.maxStatements = maxStatements;
+        this.averageStatements = averageStatements;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getMaxStatements() {
+        return maxStatements;
+    }
+
+    public double getAverageStatements() {
+        return averageStatements;
+    }
+}
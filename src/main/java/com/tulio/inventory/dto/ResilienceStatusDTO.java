@@ -0,0 +1,37 @@
+package com.tulio.inventory.dto;
+
+public class ResilienceStatusDTO {
+    private final String circuitState; // CLOSED, OPEN o HALF_OPEN
+    private final int failureRate; // Porcentaje de fallos en la ventana actual
+    private final int cachedEntries;
+    private final long staleResponses;
+    private final long unavailableResponses;
+
+    public ResilienceStatusDTO(String circuitState, int failureRate, int cachedEntries, long staleResponses, long unavailableResponses) {
+        this.circuitState = circuitState;
+        this.failureRate = failureRate;
+        this.cachedEntries = cachedEntries;
+        this.staleResponses = staleResponses;
+        this.unavailableResponses = unavailableResponses;
+    }
+
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    public int getFailureRate() {
+        return failureRate;
+    }
+
+    public int getCachedEntries() {
+        return cachedEntries;
+    }
+
+    public long getStaleResponses() {
+        return staleResponses;
+    }
+
+    public long getUnavailableResponses() {
+        return unavailableResponses;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tulio.inventory.dto;
+
+public class SpanDTO {
+    private final String spanId;
+    private final String parentSpanId; // null en el span raíz (petición HTTP)
+    private final String name; // p. ej. "ProductService.searchProducts"
+    private final String layer; // HTTP, CONTROLLER, SERVICE o REPOSITORY
+    private final long startOffsetMicros; // Desde el inicio de la traza
+    private final long durationMicros;
+    private final String error; // Clase de la excepción, si la hubo
+
+    public SpanDTO(String spanId, String parentSpanId, String name, String layer, long startOffsetMicros, long durationMicros, String error) {
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.layer = layer;
+        this.startOffsetMicros = startOffsetMicros;
+        this.durationMicros = durationMicros;
+        this.error = error;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLayer() {
+        return layer;
+    }
+
+    public long getStartOffsetMicros() {
+        return startOffsetMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tulio.inventory.dto;
+
+import java.util.Map;
+
+public class SqlStatementStatsDTO {
+    private final String sql; // Sentencia con parámetros y literales ocultos
+    private final long executions;
+    private final long slowExecutions;
+    private final long rows; // Filas leídas (consultas) o afectadas (actualizaciones)
+    private final long totalTimeMs;
+    private final long maxTimeMs;
+    private final double averageTimeMs;
+    private final Map<String, Long> latencyHistogram; // Límite superior del intervalo en ms -> ejecuciones
+
+    public SqlStatementStatsDTO(String sql, long executions, long slowExecutions, long rows, long totalTimeMs,
+                                long maxTimeMs, double averageTimeMs, Map<String, Long> latencyHistogram) {
+        this.sql = sql;
+        this.executions = executions;
+        this.slowExecutions = slowExecutions;
+        this.rows = rows;
+        this.totalTimeMs = totalTimeMs;
+        this.maxTimeMs = maxTimeMs;
+        this.averageTimeMs = averageTimeMs;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getSlowExecutions() {
+        return slowExecutions;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public long getMaxTimeMs() {
+        return maxTimeMs;
+    }
+
+    public double getAverageTimeMs() {
+        return averageTimeMs;
+    }
+
+    public Map<String, Long> getLatencyHistogram() {
+        return latencyHistogram;
+    }
+}
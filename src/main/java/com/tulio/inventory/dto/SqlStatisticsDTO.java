@@ -0,0 +1,27 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class SqlStatisticsDTO {
+    private final long slowThresholdMs;
+    private final List<SqlStatementStatsDTO> statements; // Ordenadas por tiempo total descendente
+    private final List<RequestSqlStatsDTO> requests;
+
+    public SqlStatisticsDTO(long slowThresholdMs, List<SqlStatementStatsDTO> statements, List<RequestSqlStatsDTO> requests) {
+        this.slowThresholdMs = slowThresholdMs;
+        this.statements = statements;
+        this.requests = requests;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public List<SqlStatementStatsDTO> getStatements() {
+        return statements;
+    }
+
+    public List<RequestSqlStatsDTO> getRequests() {
+        return requests;
+    }
+}
@@ -0,0 +1,43 @@
+package com.tulio.inventory.dto;
+
+public class TimeBudgetStatsDTO {
+    private final String endpoint; // Método HTTP y patrón de la ruta, p. ej. "GET /api/products"
+    private final long budgetMs;
+    private final long requests;
+    private final long exceeded; // Peticiones que terminaron con TIME_BUDGET_EXCEEDED
+    private final long cancelledStatements; // Sentencias SQL canceladas por el tiempo límite
+    private final long maxElapsedMs;
+
+    public TimeBudgetStatsDTO(String endpoint, long budgetMs, long requests, long exceeded, long cancelledStatements, long maxElapsedMs) {
+        this.endpoint = endpoint;
+        this.budgetMs = budgetMs;
+        this.requests = requests;
+        this.exceeded = exceeded;
+        this.cancelledStatements = cancelledStatements;
+        this.maxElapsedMs = maxElapsedMs;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getBudgetMs() {
+        return budgetMs;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getExceeded() {
+        return exceeded;
+    }
+
+    public long getCancelledStatements() {
+        return cancelledStatements;
+    }
+
+    public long getMaxElapsedMs() {
+        return maxElapsedMs;
+    }
+}
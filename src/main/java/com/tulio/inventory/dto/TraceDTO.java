@@ -0,0 +1,46 @@
+package com.tulio.inventory.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class TraceDTO {
+    private final String traceId;
+    private final String name; // Span raíz, p. ej. "GET /api/products"
+    private final Instant startTime;
+    private final long durationMicros;
+    private final int droppedSpans; // Spans descartados por superar el máximo por traza
+    private final List<SpanDTO> spans; // En orden de finalización
+
+    public TraceDTO(String traceId, String name, Instant startTime, long durationMicros, int droppedSpans, List<SpanDTO> spans) {
+        this.traceId = traceId;
+        this.name = name;
+        this.startTime = startTime;
+        this.durationMicros = durationMicros;
+        this.droppedSpans = droppedSpans;
+        this.spans = spans;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    public List<SpanDTO> getSpans() {
+        return spans;
+    }
+}
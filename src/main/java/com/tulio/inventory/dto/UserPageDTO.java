@@ -0,0 +1,21 @@
+package com.tulio.inventory.dto;
+
+import java.util.List;
+
+public class UserPageDTO {
+    private final List<UserDTO> items;
+    private final Long nextCursor; // Valor de afterId para la siguiente página; null si no hay más
+
+    public UserPageDTO(List<UserDTO> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserDTO> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
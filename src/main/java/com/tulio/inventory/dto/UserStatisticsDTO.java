@@ -0,0 +1,31 @@
+package com.tulio.inventory.dto;
+
+public class UserStatisticsDTO {
+    private final Long userId;
+    private final String userName;
+    private final long productCount;
+    private final long totalQuantity;
+
+    public UserStatisticsDTO(Long userId, String userName, long productCount, long totalQuantity) {
+        this.userId = userId;
+        this.userName = userName;
+        this.productCount = productCount;
+        this.totalQuantity = totalQuantity;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tulio.inventory.dto;
+
+import java.time.LocalDateTime;
+
+public class WarmUpStatusDTO {
+    private final String state; // DISABLED, PENDING, RUNNING, COMPLETED, TIMED_OUT o FAILED
+    private final LocalDateTime startedAt;
+    private final long durationMs;
+    private final int connectionsOpened;
+    private final int productsPreloaded;
+    private final int usersPreloaded;
+    private final int iterations; // Vueltas completas por las lecturas de productos y usuarios
+    private final String error;
+
+    public WarmUpStatusDTO(String state, LocalDateTime startedAt, long durationMs, int connectionsOpened,
+                           int productsPreloaded, int usersPreloaded, int iterations, String error) {
+        this.state = state;
+        this.startedAt = startedAt;
+        this.durationMs = durationMs;
+        this.connectionsOpened = connectionsOpened;
+        this.productsPreloaded = productsPreloaded;
+        this.usersPreloaded = usersPreloaded;
+        this.iterations = iterations;
+        this.error = error;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public int getConnectionsOpened() {
+        return connectionsOpened;
+    }
+
+    public int getProductsPreloaded() {
+        return productsPreloaded;
+    }
+
+    public int getUsersPreloaded() {
+        return usersPreloaded;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -1,12 +1,14 @@
 package com.tulio.inventory.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products")
+@DynamicUpdate // El UPDATE solo incluye las columnas modificadas
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
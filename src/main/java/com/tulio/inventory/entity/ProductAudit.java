@@ -0,0 +1,165 @@
+package com.tulio.inventory.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_audit")
+public class ProductAudit {
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId; // Sin FK: el historial debe sobrevivir a la eliminación del producto
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Action action;
+
+    @Column(name = "user_id")
+    private Long userId; // Usuario que realiza el cambio
+
+    @Column(name = "change_date", nullable = false)
+    private LocalDateTime changeDate;
+
+    @Column(name = "previous_product_name")
+    private String previousProductName;
+
+    @Column(name = "previous_quantity")
+    private Integer previousQuantity;
+
+    @Column(name = "previous_entry_date")
+    private LocalDate previousEntryDate;
+
+    @Column(name = "new_product_name")
+    private String newProductName;
+
+    @Column(name = "new_quantity")
+    private Integer newQuantity;
+
+    @Column(name = "new_entry_date")
+    private LocalDate newEntryDate;
+
+    public ProductAudit() {
+    }
+
+    public ProductAudit(Action action, Long productId, Long userId) {
+        this.action = action;
+        this.productId = productId;
+        this.userId = userId;
+        this.changeDate = LocalDateTime.now();
+    }
+
+    // Copia los valores del producto antes del cambio
+    public void recordPrevious(Product product) {
+        this.previousProductName = product.getProductName();
+        this.previousQuantity = product.getQuantity();
+        this.previousEntryDate = product.getEntryDate();
+    }
+
+    // Copia los valores del producto después del cambio
+    public void recordNew(Product product) {
+        if (this.productId == null) {
+            this.productId = product.getId();
+        }
+        this.newProductName = product.getProductName();
+        this.newQuantity = product.getQuantity();
+        this.newEntryDate = product.getEntryDate();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getChangeDate() {
+        return changeDate;
+    }
+
+    public void setChangeDate(LocalDateTime changeDate) {
+        this.changeDate = changeDate;
+    }
+
+    public String getPreviousProductName() {
+        return previousProductName;
+    }
+
+    public void setPreviousProductName(String previousProductName) {
+        this.previousProductName = previousProductName;
+    }
+
+    public Integer getPreviousQuantity() {
+        return previousQuantity;
+    }
+
+    public void setPreviousQuantity(Integer previousQuantity) {
+        this.previousQuantity = previousQuantity;
+    }
+
+    public LocalDate getPreviousEntryDate() {
+        return previousEntryDate;
+    }
+
+    public void setPreviousEntryDate(LocalDate previousEntryDate) {
+        this.previousEntryDate = previousEntryDate;
+    }
+
+    public String getNewProductName() {
+        return newProductName;
+    }
+
+    public void setNewProductName(String newProductName) {
+        this.newProductName = newProductName;
+    }
+
+    public Integer getNewQuantity() {
+        return newQuantity;
+    }
+
+    public void setNewQuantity(Integer newQuantity) {
+        this.newQuantity = newQuantity;
+    }
+
+    public LocalDate getNewEntryDate() {
+        return newEntryDate;
+    }
+
+    public void setNewEntryDate(LocalDate newEntryDate) {
+        this.newEntryDate = newEntryDate;
+    }
+}
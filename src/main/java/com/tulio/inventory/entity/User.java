@@ -1,11 +1,13 @@
 package com.tulio.inventory.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "users")
+@DynamicUpdate // El UPDATE solo incluye las columnas modificadas
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
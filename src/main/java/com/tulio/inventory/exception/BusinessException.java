@@ -0,0 +1,15 @@
+package com.tulio.inventory.exception;
+
+// Base de las excepciones que se devuelven al cliente como respuesta de error. Son casos esperados (a veces en cada
+// petición, como con el cortocircuito abierto): se crean sin traza de pila ni excepciones suprimidas, que no aportan
+// nada al cliente y encarecen su creación
+public abstract class BusinessException extends RuntimeException {
+
+    protected BusinessException(String message) {
+        this(message, null);
+    }
+
+    protected BusinessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
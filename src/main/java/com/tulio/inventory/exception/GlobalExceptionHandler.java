@@ -1,53 +1,89 @@
 package com.tulio.inventory.exception;
 
+import com.tulio.inventory.dto.ErrorResponseDTO;
+import com.tulio.inventory.util.ErrorConstants;
+import com.tulio.inventory.util.TimeBudget;
+import com.tulio.inventory.util.TraceContext;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String QUERY_CANCELED_SQL_STATE = "57014";
+
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ErrorResponseDTO> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        return buildResponse(ex.getMessage(), null, request, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<Object> handleBadRequestException(BadRequestException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ErrorResponseDTO> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        return buildResponse(ex.getMessage(), null, request, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(UnauthorizedActionException.class)
-    public ResponseEntity<Object> handleUnauthorizedActionException(UnauthorizedActionException ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.FORBIDDEN);
+    public ResponseEntity<ErrorResponseDTO> handleUnauthorizedActionException(UnauthorizedActionException ex, WebRequest request) {
+        return buildResponse(ex.getMessage(), null, request, HttpStatus.FORBIDDEN);
+    }
+
+    // Base de datos caída y sin resultado guardado para la lectura (ver ResilientReadService)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        ErrorResponseDTO body = new ErrorResponseDTO(LocalDateTime.now(), ex.getMessage(), null, request.getDescription(false), TraceContext.currentTraceId());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    // Presupuesto de tiempo de la petición agotado antes de lanzar otra sentencia SQL (ver TimeBudgetInterceptor)
+    @ExceptionHandler(TimeBudgetExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTimeBudgetExceededException(TimeBudgetExceededException ex, WebRequest request) {
+        return buildTimeBudgetResponse(ex.getMessage(), request);
     }
 
     // Generic exception handler
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", "Ocurrió un error inesperado. Por favor, intente de nuevo.");
-        body.put("details", ex.getMessage());
-        body.put("path", request.getDescription(false));
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<ErrorResponseDTO> handleAllExceptions(Exception ex, WebRequest request) {
+        // Una sentencia cancelada por el presupuesto llega como error de acceso a datos: es el mismo caso que el anterior.
+        // Cualquier otro error sigue siendo un 500 aunque el presupuesto ya se haya agotado
+        Throwable cause = ex;
+        while (cause != null) {
+            if (cause instanceof TimeBudgetExceededException budgetException) {
+                return buildTimeBudgetResponse(budgetException.getMessage(), request);
+            }
+            if (TimeBudget.isExhausted() && isStatementCancellation(cause)) {
+                return buildTimeBudgetResponse(ErrorConstants.TIEMPO_MAXIMO_AGOTADO + TimeBudget.currentBudgetMillis(), request);
+            }
+            cause = cause.getCause();
+        }
+        return buildResponse("Ocurrió un error inesperado. Por favor, intente de nuevo.", ex.getMessage(), request, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // QueryTimeoutException de Spring o SQLState 57014 (query_canceled) de PostgreSQL
+    private static boolean isStatementCancellation(Throwable cause) {
+        return cause instanceof QueryTimeoutException
+                || (cause instanceof SQLException sqlException && QUERY_CANCELED_SQL_STATE.equals(sqlException.getSQLState()));
+    }
+
+    private ResponseEntity<ErrorResponseDTO> buildTimeBudgetResponse(String message, WebRequest request) {
+        TimeBudget.markExceeded();
+        ErrorResponseDTO body = new ErrorResponseDTO(LocalDateTime.now(), message, null, request.getDescription(false),
+                TraceContext.currentTraceId(), TimeBudgetExceededException.ERROR_CODE);
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Cuerpo de error de forma fija (ErrorResponseDTO) con el traceId de la petición, sin construir un HashMap por respuesta
+    private ResponseEntity<ErrorResponseDTO> buildResponse(String message, String details, WebRequest request, HttpStatus status) {
+        ErrorResponseDTO body = new ErrorResponseDTO(LocalDateTime.now(), message, details, request.getDescription(false), TraceContext.currentTraceId());
+        return new ResponseEntity<>(body, status);
     }
 }
@@ -0,0 +1,30 @@
+package com.tulio.inventory.exception;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+// Equivalente de GlobalExceptionHandler para la API GraphQL: las excepciones de negocio se devuelven como
+// errores con su mensaje; el resto las resuelve Spring como INTERNAL_ERROR sin detalles
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        ErrorType errorType;
+        if (ex instanceof BadRequestException) {
+            errorType = ErrorType.BAD_REQUEST;
+        } else if (ex instanceof ResourceNotFoundException) {
+            errorType = ErrorType.NOT_FOUND;
+        } else {
+            return null;
+        }
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.tulio.inventory.exception;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.format.DateTimeParseException;
+
+// Equivalente de GlobalExceptionHandler para la API gRPC: las excepciones de negocio se devuelven con su
+// mensaje y el código de estado correspondiente; el resto como INTERNAL sin detalles
+public final class GrpcExceptionMapper {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcExceptionMapper.class);
+
+    private GrpcExceptionMapper() {
+    }
+
+    public static StatusRuntimeException toStatusException(Throwable ex) {
+        return toStatusException(ex, null);
+    }
+
+    // prefix se antepone a la descripción, p. ej. para indicar cuántos ajustes se aplicaron antes del error
+    public static StatusRuntimeException toStatusException(Throwable ex, String prefix) {
+        if (ex instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        Status status;
+        String message = ex.getMessage();
+        if (ex instanceof BadRequestException || ex instanceof DateTimeParseException) {
+            status = Status.INVALID_ARGUMENT;
+        } else if (ex instanceof ResourceNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (ex instanceof UnauthorizedActionException) {
+            status = Status.PERMISSION_DENIED;
+        } else if (ex instanceof ServiceUnavailableException) {
+            status = Status.UNAVAILABLE;
+        } else {
+            log.error("Error inesperado en la API gRPC", ex);
+            status = Status.INTERNAL;
+            message = "Ocurrió un error inesperado.";
+        }
+        return status.withDescription(prefix != null ? prefix + message : message).asRuntimeException();
+    }
+}
@@ -0,0 +1,23 @@
+package com.tulio.inventory.exception;
+
+import com.tulio.inventory.util.ErrorConstants;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TimeBudgetExceededException extends BusinessException {
+
+    // Código de error del cuerpo de la respuesta; distingue este 503 del de base de datos no disponible
+    public static final String ERROR_CODE = "TIME_BUDGET_EXCEEDED";
+
+    private final String endpoint;
+
+    public TimeBudgetExceededException(String endpoint, long budgetMs) {
+        super(ErrorConstants.TIEMPO_MAXIMO_AGOTADO + budgetMs);
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
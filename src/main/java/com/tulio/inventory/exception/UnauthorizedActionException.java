@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.FORBIDDEN)
-public class UnauthorizedActionException extends RuntimeException {
+public class UnauthorizedActionException extends BusinessException {
     public UnauthorizedActionException(String message) {
         super(message);
     }
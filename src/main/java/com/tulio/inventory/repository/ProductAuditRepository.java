@@ -0,0 +1,12 @@
+package com.tulio.inventory.repository;
+
+import com.tulio.inventory.entity.ProductAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductAuditRepository extends JpaRepository<ProductAudit, Long> {
+    List<ProductAudit> findByProductIdOrderByChangeDateDescIdDesc(Long productId);
+}
@@ -2,22 +2,61 @@ package com.tulio.inventory.repository;
 
 import com.tulio.inventory.entity.Product;
 import com.tulio.inventory.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     Optional<Product> findByProductName(String productName);
-    List<Product> findByEntryDate(LocalDate entryDate);
-    List<Product> findByRegisteredBy(User registeredBy);
-    List<Product> findByProductNameContainingIgnoreCase(String productName); // Búsqueda de nombre de producto sin distinción de mayúsculas y minúsculas
-
-    List<Product> findByEntryDateAndRegisteredByAndProductNameContainingIgnoreCase(LocalDate entryDate, User registeredBy, String productName);
-    List<Product> findByEntryDateAndRegisteredBy(LocalDate entryDate, User registeredBy);
-    List<Product> findByEntryDateAndProductNameContainingIgnoreCase(LocalDate entryDate, String productName);
-    List<Product> findByRegisteredByAndProductNameContainingIgnoreCase(User registeredBy, String productName);
+
+    // Consulta por lote: un único SELECT ... WHERE id IN (...) con los usuarios unidos
+    @Query("select p from Product p join fetch p.registeredBy left join fetch p.lastModifiedBy where p.id in :ids")
+    List<Product> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Listado completo en un único SELECT; con findAll() cada usuario distinto se cargaba con otra consulta (N+1)
+    @Query("select p from Product p join fetch p.registeredBy left join fetch p.lastModifiedBy order by p.id")
+    List<Product> findAllWithUsers();
+
+    // Productos modificados (o, si nunca se modificaron, creados) más recientemente; para el calentamiento del arranque
+    @Query("select p from Product p join fetch p.registeredBy left join fetch p.lastModifiedBy "
+            + "order by p.lastModificationDate desc nulls last, p.id desc")
+    List<Product> findRecentWithUsers(Limit limit);
+
+    // Página por clave (id > afterId) con los usuarios unidos; para el listado en streaming de la API gRPC
+    @Query("select p from Product p join fetch p.registeredBy left join fetch p.lastModifiedBy "
+            + "where p.id > :afterId order by p.id")
+    List<Product> findPageWithUsers(@Param("afterId") Long afterId, Limit limit);
+
+    boolean existsByRegisteredByIdOrLastModifiedById(Long registeredByUserId, Long lastModifiedByUserId);
+
+    // Consultas por bloques para la baja de usuarios (UserOffboardingService)
+    @Query("select p.id from Product p where p.registeredBy.id = :userId order by p.id")
+    List<Long> findIdsByRegisteredById(@Param("userId") Long userId, Limit limit);
+
+    @Query("select p.id from Product p where p.lastModifiedBy.id = :userId order by p.id")
+    List<Long> findIdsByLastModifiedById(@Param("userId") Long userId, Limit limit);
+
+    @Query("select p from Product p where p.registeredBy.id = :userId order by p.id")
+    List<Product> findChunkByRegisteredById(@Param("userId") Long userId, Limit limit);
+
+    @Modifying
+    @Query("update Product p set p.registeredBy = :user where p.id in :ids")
+    int updateRegisteredBy(@Param("ids") List<Long> ids, @Param("user") User user);
+
+    @Modifying
+    @Query("update Product p set p.lastModifiedBy = :user where p.id in :ids")
+    int updateLastModifiedBy(@Param("ids") List<Long> ids, @Param("user") User user);
+
+    @Modifying
+    @Query("update Product p set p.lastModifiedBy = null where p.id in :ids")
+    int clearLastModifiedBy(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,64 @@
+package com.tulio.inventory.repository;
+
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.User;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Filtros de la búsqueda de productos. Solo se añaden los predicados informados; las combinaciones de
+// filtro y orden soportadas están cubiertas por los índices de V3 y V5.
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    // Carga los usuarios en la misma consulta para no lanzar un SELECT por usuario al construir la respuesta
+    public static Specification<Product> fetchUsers() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("registeredBy", JoinType.INNER);
+                root.fetch("lastModifiedBy", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Product> entryDateEquals(LocalDate entryDate) {
+        return (root, query, cb) -> entryDate == null ? null : cb.equal(root.get("entryDate"), entryDate);
+    }
+
+    public static Specification<Product> entryDateFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("entryDate"), from);
+    }
+
+    public static Specification<Product> entryDateTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("entryDate"), to);
+    }
+
+    public static Specification<Product> registeredBy(User user) {
+        return (root, query, cb) -> user == null ? null : cb.equal(root.get("registeredBy"), user);
+    }
+
+    // Misma forma que las consultas derivadas "ContainingIgnoreCase" ("upper(product_name) like upper(?)"),
+    // que es la expresión cubierta por el índice de trigramas de V3
+    public static Specification<Product> productNameContainsIgnoreCase(String productName) {
+        return (root, query, cb) -> {
+            if (productName == null || productName.trim().isEmpty()) {
+                return null;
+            }
+            return cb.like(cb.upper(root.get("productName")), containsPattern(productName), '\\');
+        };
+    }
+
+    // Patrón "%TEXTO%" en mayúsculas con los comodines escapados (carácter de escape '\')
+    public static String containsPattern(String productName) {
+        String escaped = productName.toUpperCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
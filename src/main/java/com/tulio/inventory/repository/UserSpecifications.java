@@ -0,0 +1,50 @@
+package com.tulio.inventory.repository;
+
+import com.tulio.inventory.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Filtros del listado paginado de usuarios. Solo se añaden los predicados informados, de modo que
+// PostgreSQL planifica cada combinación con los índices de V4__user_search_indexes.sql.
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    // Paginación por clave: solo los usuarios posteriores al último id de la página anterior
+    public static Specification<User> idGreaterThan(Long afterId) {
+        return (root, query, cb) -> afterId == null ? null : cb.greaterThan(root.get("id"), afterId);
+    }
+
+    public static Specification<User> positionEquals(String position) {
+        return (root, query, cb) -> position == null || position.isBlank() ? null : cb.equal(root.get("position"), position);
+    }
+
+    public static Specification<User> hiredBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("hireDate"), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("hireDate"), from);
+            }
+            return to == null ? null : cb.lessThanOrEqualTo(root.get("hireDate"), to);
+        };
+    }
+
+    // "lower(name) like 'abc%'": se escapan los comodines para que el prefijo se busque literalmente
+    public static Specification<User> nameStartsWithIgnoreCase(String prefix) {
+        return (root, query, cb) -> {
+            if (prefix == null || prefix.isBlank()) {
+                return null;
+            }
+            String escaped = prefix.toLowerCase(Locale.ROOT)
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+            return cb.like(cb.lower(root.get("name")), escaped + "%", '\\');
+        };
+    }
+}
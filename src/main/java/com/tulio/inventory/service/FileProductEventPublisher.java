@@ -0,0 +1,55 @@
+package com.tulio.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.ProductChangeEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Sustituto local de un broker: añade cada lote a un fichero JSON Lines (un evento por línea).
+// El lote se sincroniza con el disco antes de volver, así que un evento eliminado de la bandeja de salida no se pierde.
+// Se usa un FileOutputStream y no un FileChannel: una interrupción del hilo del relé no debe cerrar el fichero.
+@Service
+@ConditionalOnProperty(name = "inventory.outbox.publisher", havingValue = "file")
+public class FileProductEventPublisher implements ProductEventPublisher {
+
+    private final ObjectMapper objectMapper;
+    private final FileOutputStream output;
+
+    public FileProductEventPublisher(ObjectMapper objectMapper,
+                                     @Value("${inventory.outbox.file:product-events.jsonl}") String file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.output = new FileOutputStream(file, true);
+    }
+
+    @Override
+    public synchronized void publish(List<ProductChangeEventDTO> events) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (ProductChangeEventDTO event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            output.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+            output.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        output.close();
+    }
+}
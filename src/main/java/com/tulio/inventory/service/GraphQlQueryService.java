@@ -0,0 +1,145 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductNodeDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.repository.ProductSpecifications;
+import com.tulio.inventory.util.ErrorConstants;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecturas de la API GraphQL con JDBC.
+ * <p>
+ * Los productos se leen sin los usuarios (solo sus IDs): la entidad {@code Product} carga los usuarios en cuanto
+ * se lee, aunque la consulta no los pida. Los usuarios se resuelven después con {@link #findUsersByIds} en una
+ * sola consulta por petición (ver InventoryGraphQlController), así que una página de productos con sus usuarios
+ * cuesta como máximo dos sentencias SQL.
+ */
+@Service
+public class GraphQlQueryService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private static final String PRODUCT_SELECT = "SELECT id, product_name, quantity, entry_date, registered_by_user_id, "
+            + "last_modified_by_user_id, last_modification_date FROM products";
+    private static final String USER_SELECT = "SELECT id, name, age, position, hire_date FROM users";
+
+    private static final RowMapper<ProductNodeDTO> PRODUCT_MAPPER = (rs, rowNum) -> new ProductNodeDTO(
+            rs.getLong("id"),
+            rs.getString("product_name"),
+            rs.getInt("quantity"),
+            rs.getObject("entry_date", LocalDate.class),
+            rs.getLong("registered_by_user_id"),
+            rs.getObject("last_modified_by_user_id", Long.class),
+            rs.getObject("last_modification_date", LocalDateTime.class));
+
+    private static final RowMapper<UserDTO> USER_MAPPER = (rs, rowNum) -> new UserDTO(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getInt("age"),
+            rs.getString("position"),
+            rs.getObject("hire_date", LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GraphQlQueryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Página de productos ordenada por id; after es el último id de la página anterior
+    public List<ProductNodeDTO> findProducts(ProductSearchCriteria criteria, int first, Long after) {
+        validatePageSize(first);
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        if (criteria != null) {
+            if (criteria.getEntryDateFrom() != null && criteria.getEntryDateTo() != null
+                    && criteria.getEntryDateFrom().isAfter(criteria.getEntryDateTo())) {
+                throw new BadRequestException(ErrorConstants.RANGO_FECHAS_INVALIDO);
+            }
+            if (criteria.getEntryDate() != null) {
+                appendCondition(where, "entry_date = ?");
+                params.add(Date.valueOf(criteria.getEntryDate()));
+            }
+            if (criteria.getEntryDateFrom() != null) {
+                appendCondition(where, "entry_date >= ?");
+                params.add(Date.valueOf(criteria.getEntryDateFrom()));
+            }
+            if (criteria.getEntryDateTo() != null) {
+                appendCondition(where, "entry_date <= ?");
+                params.add(Date.valueOf(criteria.getEntryDateTo()));
+            }
+            if (criteria.getUserId() != null) {
+                appendCondition(where, "registered_by_user_id = ?");
+                params.add(criteria.getUserId());
+            }
+            String productName = criteria.getProductName();
+            if (productName != null && !productName.trim().isEmpty()) {
+                // Misma expresión que la búsqueda REST, cubierta por el índice de trigramas
+                appendCondition(where, "upper(product_name) LIKE ? ESCAPE '\\'");
+                params.add(ProductSpecifications.containsPattern(productName));
+            }
+        }
+        if (after != null) {
+            appendCondition(where, "id > ?");
+            params.add(after);
+        }
+        params.add(first);
+        return jdbcTemplate.query(PRODUCT_SELECT + where + " ORDER BY id LIMIT ?", PRODUCT_MAPPER, params.toArray());
+    }
+
+    // null si no existe: en GraphQL un objeto ausente es un resultado, no un error
+    public ProductNodeDTO findProduct(long id) {
+        List<ProductNodeDTO> products = jdbcTemplate.query(PRODUCT_SELECT + " WHERE id = ?", PRODUCT_MAPPER, id);
+        return products.isEmpty() ? null : products.get(0);
+    }
+
+    public List<UserDTO> findUsers(int first, Long after) {
+        validatePageSize(first);
+        if (after != null) {
+            return jdbcTemplate.query(USER_SELECT + " WHERE id > ? ORDER BY id LIMIT ?", USER_MAPPER, after, first);
+        }
+        return jdbcTemplate.query(USER_SELECT + " ORDER BY id LIMIT ?", USER_MAPPER, first);
+    }
+
+    public UserDTO findUser(long id) {
+        List<UserDTO> users = jdbcTemplate.query(USER_SELECT + " WHERE id = ?", USER_MAPPER, id);
+        return users.isEmpty() ? null : users.get(0);
+    }
+
+    // Un único SELECT ... WHERE id = ANY(?) para todos los IDs, sea cual sea su número
+    public Map<Long, UserDTO> findUsersByIds(Collection<Long> ids) {
+        Map<Long, UserDTO> users = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return users;
+        }
+        Long[] idArray = ids.toArray(new Long[0]);
+        jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(USER_SELECT + " WHERE id = ANY(?)");
+            ps.setArray(1, connection.createArrayOf("bigint", idArray));
+            return ps;
+        }, USER_MAPPER).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
+
+    private static void validatePageSize(int first) {
+        if (first < 1 || first > MAX_PAGE_SIZE) {
+            throw new BadRequestException(ErrorConstants.LIMITE_RESULTADOS_INVALIDO + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static void appendCondition(StringBuilder where, String condition) {
+        where.append(where.length() == 0 ? " WHERE " : " AND ").append(condition);
+    }
+}
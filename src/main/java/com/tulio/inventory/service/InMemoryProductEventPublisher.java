@@ -0,0 +1,44 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductChangeEventDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Publicador por defecto para desarrollo: conserva en memoria los últimos eventos entregados
+@Service
+@ConditionalOnProperty(name = "inventory.outbox.publisher", havingValue = "memory", matchIfMissing = true)
+public class InMemoryProductEventPublisher implements ProductEventPublisher {
+
+    private final int maxEvents;
+    private final Deque<ProductChangeEventDTO> events = new ArrayDeque<>();
+
+    public InMemoryProductEventPublisher(@Value("${inventory.outbox.memory.max-events:1000}") int maxEvents) {
+        this.maxEvents = maxEvents;
+    }
+
+    @Override
+    public synchronized void publish(List<ProductChangeEventDTO> batch) {
+        for (ProductChangeEventDTO event : batch) {
+            if (events.size() == maxEvents) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    // Eventos entregados, del más antiguo al más reciente
+    public synchronized List<ProductChangeEventDTO> getEvents() {
+        return new ArrayList<>(events);
+    }
+}
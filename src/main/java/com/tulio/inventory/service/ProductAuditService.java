@@ -0,0 +1,212 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductAuditDTO;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.repository.ProductAuditRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Historial de cambios de productos.
+ * <p>
+ * Los eventos se encolan en memoria (cola acotada) y un hilo en segundo plano los escribe en lotes
+ * JDBC, de modo que la auditoría no añade inserciones síncronas a las escrituras de productos.
+ * <ul>
+ *     <li>Desbordamiento: si la cola está llena el evento se descarta (nunca se bloquea la petición)
+ *     y se incrementa el contador {@link #getDroppedEvents()}.</li>
+ *     <li>Apagado: el servicio se detiene después del servidor web y del servidor gRPC, cuando ya han
+ *     terminado las peticiones en curso. Los eventos que lleguen mientras se vacía la cola se siguen
+ *     aceptando y se escriben antes de cerrar el pool de conexiones.</li>
+ * </ul>
+ */
+@Service
+public class ProductAuditService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductAuditService.class);
+
+    static final String INSERT_SQL = "INSERT INTO product_audit (product_id, action, user_id, change_date, "
+            + "previous_product_name, previous_quantity, previous_entry_date, "
+            + "new_product_name, new_quantity, new_entry_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ProductAuditRepository productAuditRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ProductAudit> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean accepting;
+    private Thread writerThread;
+
+    public ProductAuditService(ProductAuditRepository productAuditRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${inventory.audit.queue-capacity:10000}") int queueCapacity,
+                               @Value("${inventory.audit.batch-size:200}") int batchSize,
+                               @Value("${inventory.audit.flush-interval-ms:500}") long flushIntervalMs) {
+        this.productAuditRepository = productAuditRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    // Encola el evento sin bloquear; devuelve false si se descartó por desbordamiento o apagado
+    public boolean publish(ProductAudit event) {
+        if (accepting && queue.offer(event)) {
+            // Si el apagado terminó entre la comprobación y el offer, el último vaciado pudo no verlo
+            if (!accepting) {
+                flushAll();
+            }
+            return true;
+        }
+        long dropped = droppedEvents.incrementAndGet();
+        log.warn("Evento de auditoría descartado (producto {}, acción {}). Total descartados: {}",
+                event.getProductId(), event.getAction(), dropped);
+        return false;
+    }
+
+    public List<ProductAuditDTO> getProductHistory(Long productId) {
+        return productAuditRepository.findByProductIdOrderByChangeDateDescIdDesc(productId).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public int getPendingEvents() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        accepting = true;
+        writerThread = new Thread(this::writeLoop, "product-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Vaciado final: lo que quede en la cola se escribe antes de cerrar el DataSource
+        flushAll();
+        accepting = false;
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Se detiene después de WebServerStartStopLifecycle (SMART_LIFECYCLE_PHASE - 1024), es decir, cuando el
+    // servidor web ya ha esperado a las peticiones en curso; GrpcServerLifecycle usa la fase por defecto y se
+    // detiene antes. Al arrancar, el orden es el inverso: la cola acepta eventos antes de la primera petición.
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void writeLoop() {
+        List<ProductAudit> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ProductAudit first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    // Escribe todos los eventos pendientes en lotes; se usa en el apagado
+    void flushAll() {
+        List<ProductAudit> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<ProductAudit> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), ProductAuditService::bindEvent);
+        } catch (RuntimeException e) {
+            // Un fallo de escritura no debe detener el hilo; el lote se pierde y se contabiliza
+            droppedEvents.addAndGet(batch.size());
+            log.error("No se pudo escribir un lote de {} eventos de auditoría", batch.size(), e);
+        }
+    }
+
+    // También lo usa ProductOutboxService: product_outbox tiene las mismas columnas que product_audit
+    static void bindEvent(PreparedStatement ps, ProductAudit event) throws SQLException {
+        ps.setLong(1, event.getProductId());
+        ps.setString(2, event.getAction().name());
+        ps.setObject(3, event.getUserId(), Types.BIGINT);
+        ps.setObject(4, event.getChangeDate(), Types.TIMESTAMP);
+        ps.setString(5, event.getPreviousProductName());
+        ps.setObject(6, event.getPreviousQuantity(), Types.INTEGER);
+        ps.setObject(7, event.getPreviousEntryDate(), Types.DATE);
+        ps.setString(8, event.getNewProductName());
+        ps.setObject(9, event.getNewQuantity(), Types.INTEGER);
+        ps.setObject(10, event.getNewEntryDate(), Types.DATE);
+    }
+
+    private ProductAuditDTO convertToDto(ProductAudit audit) {
+        return new ProductAuditDTO(
+                audit.getId(),
+                audit.getProductId(),
+                audit.getAction().name(),
+                audit.getUserId(),
+                audit.getChangeDate(),
+                audit.getPreviousProductName(),
+                audit.getPreviousQuantity(),
+                audit.getPreviousEntryDate(),
+                audit.getNewProductName(),
+                audit.getNewQuantity(),
+                audit.getNewEntryDate()
+        );
+    }
+}
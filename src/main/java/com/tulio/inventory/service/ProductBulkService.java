@@ -0,0 +1,202 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.BulkOperationResultDTO;
+import com.tulio.inventory.dto.BulkQuantityUpdateDTO;
+import com.tulio.inventory.dto.QuantityUpdateDTO;
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.repository.UserRepository;
+import com.tulio.inventory.util.ErrorConstants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operaciones masivas sobre productos con SQL por conjuntos en lugar de una petición por fila:
+ * <ul>
+ *     <li>Eliminación por filtro: una única sentencia DELETE ... RETURNING limitada a los productos
+ *     registrados por el usuario que la solicita (misma regla que {@link ProductService#deleteProduct}).</li>
+ *     <li>Actualización de cantidades: un SELECT ... FOR UPDATE con los valores previos para el historial
+ *     y un lote JDBC de UPDATE, todo en una transacción.</li>
+ * </ul>
+ */
+@Service
+public class ProductBulkService {
+
+    // ORDER BY id: todas las transacciones bloquean las filas en el mismo orden, sea cual sea el plan,
+    // y dos lotes concurrentes con IDs en común no pueden quedar en interbloqueo (40P01)
+    static final String SELECT_FOR_UPDATE_SQL = "SELECT id, product_name, quantity, entry_date FROM products "
+            + "WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+    static final String UPDATE_QUANTITY_SQL = "UPDATE products SET quantity = ?, last_modified_by_user_id = ?, "
+            + "last_modification_date = ? WHERE id = ?";
+
+    private static final RowMapper<Product> PRODUCT_SNAPSHOT_MAPPER = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setProductName(rs.getString("product_name"));
+        product.setQuantity(rs.getInt("quantity"));
+        product.setEntryDate(rs.getObject("entry_date", LocalDate.class));
+        return product;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ProductAuditService productAuditService;
+    private final ProductOutboxService productOutboxService;
+    private final int maxItems;
+
+    public ProductBulkService(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              UserRepository userRepository,
+                              ProductAuditService productAuditService,
+                              ProductOutboxService productOutboxService,
+                              @Value("${inventory.bulk.max-items:5000}") int maxItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.productAuditService = productAuditService;
+        this.productOutboxService = productOutboxService;
+        this.maxItems = maxItems;
+    }
+
+    public BulkOperationResultDTO deleteProducts(Long requestingUserId, LocalDate entryDateFrom, LocalDate entryDateTo) {
+        // Sin fechas el filtro abarcaría todos los productos del usuario; se exige al menos un límite
+        if (entryDateFrom == null && entryDateTo == null) {
+            throw new BadRequestException(ErrorConstants.FILTRO_ELIMINACION_MASIVA_VACIO);
+        }
+        if (entryDateFrom != null && entryDateTo != null && entryDateFrom.isAfter(entryDateTo)) {
+            throw new BadRequestException(ErrorConstants.RANGO_FECHAS_INVALIDO);
+        }
+        if (!userRepository.existsById(requestingUserId)) {
+            throw new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + requestingUserId);
+        }
+
+        // Solo se eliminan los productos registrados por el usuario que lo solicita
+        StringBuilder sql = new StringBuilder("DELETE FROM products WHERE registered_by_user_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(requestingUserId);
+        if (entryDateFrom != null) {
+            sql.append(" AND entry_date >= ?");
+            params.add(Date.valueOf(entryDateFrom));
+        }
+        if (entryDateTo != null) {
+            sql.append(" AND entry_date <= ?");
+            params.add(Date.valueOf(entryDateTo));
+        }
+        sql.append(" RETURNING id, product_name, quantity, entry_date");
+
+        List<ProductAudit> auditEvents = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Product> deleted = jdbcTemplate.query(sql.toString(), PRODUCT_SNAPSHOT_MAPPER, params.toArray());
+            for (Product product : deleted) {
+                ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.DELETE, product.getId(), requestingUserId);
+                auditEvent.recordPrevious(product);
+                auditEvents.add(auditEvent);
+            }
+            productOutboxService.appendAll(auditEvents);
+        });
+
+        auditEvents.forEach(productAuditService::publish);
+        return new BulkOperationResultDTO(auditEvents.size(), auditEvents.size(), List.of());
+    }
+
+    public BulkOperationResultDTO updateQuantities(BulkQuantityUpdateDTO bulkQuantityUpdateDTO) {
+        Long userId = bulkQuantityUpdateDTO.getLastModifiedByUserId();
+        List<QuantityUpdateDTO> items = bulkQuantityUpdateDTO.getItems();
+        if (userId == null) {
+            throw new BadRequestException(ErrorConstants.ESPECIFICAR_USUARIO_MODIFICACION);
+        }
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException(ErrorConstants.LISTA_CANTIDADES_VACIA);
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException(ErrorConstants.LISTA_CANTIDADES_EXCEDE_MAXIMO + maxItems);
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (QuantityUpdateDTO item : items) {
+            if (item.getProductId() == null) {
+                throw new BadRequestException(ErrorConstants.ID_PRODUCTO_REQUERIDO_EN_LISTA);
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new BadRequestException(ErrorConstants.CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA);
+            }
+            if (quantities.put(item.getProductId(), item.getQuantity()) != null) {
+                throw new BadRequestException(ErrorConstants.PRODUCTO_DUPLICADO_EN_LISTA + item.getProductId());
+            }
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + userId);
+        }
+
+        List<ProductAudit> auditEvents = new ArrayList<>();
+        BulkOperationResultDTO result = transactionTemplate.execute(status -> {
+            // Un solo SELECT con un array como parámetro: el texto SQL no depende del número de IDs
+            Long[] ids = quantities.keySet().toArray(new Long[0]);
+            List<Product> previous = jdbcTemplate.query(connection -> {
+                var ps = connection.prepareStatement(SELECT_FOR_UPDATE_SQL);
+                Array array = connection.createArrayOf("bigint", ids);
+                ps.setArray(1, array);
+                return ps;
+            }, PRODUCT_SNAPSHOT_MAPPER);
+
+            LocalDateTime now = LocalDateTime.now();
+            Timestamp modificationDate = Timestamp.valueOf(now);
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_QUANTITY_SQL, previous, previous.size(), (ps, product) -> {
+                ps.setInt(1, quantities.get(product.getId()));
+                ps.setLong(2, userId);
+                ps.setTimestamp(3, modificationDate);
+                ps.setLong(4, product.getId());
+            });
+
+            Set<Long> found = new HashSet<>();
+            for (Product product : previous) {
+                found.add(product.getId());
+                ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.UPDATE, product.getId(), userId);
+                auditEvent.recordPrevious(product);
+                product.setQuantity(quantities.get(product.getId()));
+                auditEvent.recordNew(product);
+                auditEvents.add(auditEvent);
+            }
+            productOutboxService.appendAll(auditEvents);
+            List<Long> notFoundIds = new ArrayList<>();
+            for (QuantityUpdateDTO item : items) {
+                if (!found.contains(item.getProductId())) {
+                    notFoundIds.add(item.getProductId());
+                }
+            }
+            return new BulkOperationResultDTO(items.size(), sumUpdateCounts(counts), notFoundIds);
+        });
+
+        // El historial se publica tras el commit para no registrar cambios que se hayan revertido
+        auditEvents.forEach(productAuditService::publish);
+        return result;
+    }
+
+    // El driver puede devolver SUCCESS_NO_INFO (-2) en lotes; en ese caso se cuenta la fila como actualizada
+    private static int sumUpdateCounts(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += count >= 0 ? count : 1;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductChangeEventDTO;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos de la bandeja de salida (broker de mensajes o equivalente).
+ * <p>
+ * {@link #publish} recibe los eventos en orden de inserción y solo debe volver cuando el destino los haya
+ * aceptado; si lanza una excepción el lote completo se reintenta en la siguiente pasada. La entrega es
+ * "al menos una vez": un mismo evento puede llegar dos veces y el consumidor lo descarta por {@code eventId}.
+ */
+public interface ProductEventPublisher {
+
+    void publish(List<ProductChangeEventDTO> events);
+
+    // Nombre mostrado en GET /api/admin/outbox
+    String getName();
+}
@@ -0,0 +1,199 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.FacetValueDTO;
+import com.tulio.inventory.dto.FacetedSearchResultDTO;
+import com.tulio.inventory.dto.ProductFacetsDTO;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.repository.ProductSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Búsqueda de productos con recuentos por faceta (usuario registrador, mes de ingreso y rango de cantidad).
+ * <p>
+ * Los tres recuentos salen de una sola consulta con GROUPING SETS sobre los mismos filtros que la búsqueda.
+ * El resultado se guarda en una caché LRU por filtro normalizado (sin orden ni límite, que no afectan a los
+ * recuentos) durante {@code inventory.facets.cache-ttl-ms}: tras una escritura los recuentos pueden tardar
+ * ese tiempo en actualizarse.
+ */
+@Service
+public class ProductFacetService {
+
+    // Tamaño de página por defecto cuando la búsqueda con facetas no indica límite
+    static final int DEFAULT_RESULT_LIMIT = 50;
+
+    // Límites superiores (inclusivos) de los rangos de cantidad; el último rango es abierto
+    private static final int[] QUANTITY_BAND_LIMITS = {10, 50, 100, 500};
+
+    private static final RowMapper<GroupedRow> GROUPED_ROW_MAPPER = (rs, rowNum) -> new GroupedRow(
+            rs.getInt("user_grouping") == 0,
+            rs.getInt("month_grouping") == 0,
+            rs.getObject("user_id", Long.class),
+            rs.getString("user_name"),
+            rs.getObject("month", LocalDate.class),
+            rs.getInt("band"),
+            rs.getLong("product_count"));
+
+    private final ProductService productService;
+    private final JdbcTemplate jdbcTemplate;
+    private final long cacheTtlMs;
+    private final Map<FacetKey, CachedFacets> cache;
+
+    public ProductFacetService(ProductService productService,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${inventory.facets.cache-ttl-ms:30000}") long cacheTtlMs,
+                               @Value("${inventory.facets.cache-max-entries:1000}") int cacheMaxEntries) {
+        this.productService = productService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheTtlMs = cacheTtlMs;
+        // LRU: se descarta el filtro usado hace más tiempo al superar el máximo
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FacetKey, CachedFacets> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        };
+    }
+
+    public FacetedSearchResultDTO search(ProductSearchCriteria criteria) {
+        ProductSearchCriteria limited = criteria.getLimit() == null ? criteria.withLimit(DEFAULT_RESULT_LIMIT) : criteria;
+        // La búsqueda valida los filtros y la existencia del usuario antes de calcular las facetas
+        List<ProductResponseDTO> results = productService.searchProducts(limited);
+        return new FacetedSearchResultDTO(results, getFacets(criteria));
+    }
+
+    ProductFacetsDTO getFacets(ProductSearchCriteria criteria) {
+        FacetKey key = FacetKey.of(criteria);
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedFacets cached = cache.get(key);
+            if (cached != null && now - cached.createdAt < cacheTtlMs) {
+                return cached.facets;
+            }
+        }
+        ProductFacetsDTO facets = computeFacets(key);
+        synchronized (cache) {
+            cache.put(key, new CachedFacets(facets, now));
+        }
+        return facets;
+    }
+
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private ProductFacetsDTO computeFacets(FacetKey key) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        if (key.entryDate() != null) {
+            appendCondition(where, "entry_date = ?");
+            params.add(Date.valueOf(key.entryDate()));
+        }
+        if (key.entryDateFrom() != null) {
+            appendCondition(where, "entry_date >= ?");
+            params.add(Date.valueOf(key.entryDateFrom()));
+        }
+        if (key.entryDateTo() != null) {
+            appendCondition(where, "entry_date <= ?");
+            params.add(Date.valueOf(key.entryDateTo()));
+        }
+        if (key.userId() != null) {
+            appendCondition(where, "registered_by_user_id = ?");
+            params.add(key.userId());
+        }
+        if (key.productName() != null) {
+            appendCondition(where, "upper(product_name) LIKE ? ESCAPE '\\'");
+            params.add(ProductSpecifications.containsPattern(key.productName()));
+        }
+
+        List<GroupedRow> rows = jdbcTemplate.query(buildSql(where.toString()), GROUPED_ROW_MAPPER, params.toArray());
+
+        List<FacetValueDTO> byUser = new ArrayList<>();
+        List<GroupedRow> byMonth = new ArrayList<>();
+        long[] bandCounts = new long[QUANTITY_BAND_LIMITS.length + 1];
+        for (GroupedRow row : rows) {
+            if (row.byUser()) {
+                byUser.add(new FacetValueDTO(String.valueOf(row.userId()), row.userName(), row.productCount()));
+            } else if (row.byMonth()) {
+                byMonth.add(row);
+            } else {
+                bandCounts[row.band()] = row.productCount();
+            }
+        }
+        byUser.sort(Comparator.comparingLong(FacetValueDTO::getCount).reversed().thenComparing(FacetValueDTO::getLabel));
+        byMonth.sort(Comparator.comparing(GroupedRow::month));
+
+        List<FacetValueDTO> entryMonth = new ArrayList<>(byMonth.size());
+        for (GroupedRow row : byMonth) {
+            entryMonth.add(new FacetValueDTO(row.month().toString(), row.month().toString().substring(0, 7), row.productCount()));
+        }
+        // Todos los rangos de cantidad, también los vacíos, para que el frontend muestre siempre los mismos
+        List<FacetValueDTO> quantityBand = new ArrayList<>(bandCounts.length);
+        for (int band = 0; band < bandCounts.length; band++) {
+            String label = bandLabel(band);
+            quantityBand.add(new FacetValueDTO(label, label, bandCounts[band]));
+        }
+        return new ProductFacetsDTO(byUser, entryMonth, quantityBand);
+    }
+
+    private static void appendCondition(StringBuilder where, String condition) {
+        where.append(where.length() == 0 ? " WHERE " : " AND ").append(condition);
+    }
+
+    static String bandLabel(int band) {
+        int lower = band == 0 ? 1 : QUANTITY_BAND_LIMITS[band - 1] + 1;
+        return band < QUANTITY_BAND_LIMITS.length ? lower + "-" + QUANTITY_BAND_LIMITS[band] : lower + "+";
+    }
+
+    // Igual que en ProductStatisticsService, mes y rango se calculan en la subconsulta para agrupar por columnas
+    static String buildSql(String where) {
+        StringBuilder band = new StringBuilder("CASE");
+        for (int i = 0; i < QUANTITY_BAND_LIMITS.length; i++) {
+            band.append(" WHEN quantity <= ").append(QUANTITY_BAND_LIMITS[i]).append(" THEN ").append(i);
+        }
+        band.append(" ELSE ").append(QUANTITY_BAND_LIMITS.length).append(" END");
+
+        return "WITH grouped AS ("
+                + " SELECT GROUPING(registered_by_user_id) AS user_grouping, GROUPING(month) AS month_grouping,"
+                + " registered_by_user_id AS user_id, month, band, COUNT(*) AS product_count"
+                + " FROM (SELECT registered_by_user_id,"
+                + " CAST(date_trunc('month', CAST(entry_date AS timestamp)) AS date) AS month, "
+                + band + " AS band"
+                + " FROM products" + where + ") p"
+                + " GROUP BY GROUPING SETS ((registered_by_user_id), (month), (band)))"
+                + " SELECT g.user_grouping, g.month_grouping, g.user_id, u.name AS user_name, g.month, g.band, g.product_count"
+                + " FROM grouped g LEFT JOIN users u ON g.user_grouping = 0 AND u.id = g.user_id";
+    }
+
+    // Clave de caché: solo los filtros, con el nombre en mayúsculas (la búsqueda no distingue mayúsculas)
+    record FacetKey(LocalDate entryDate, LocalDate entryDateFrom, LocalDate entryDateTo, Long userId, String productName) {
+
+        static FacetKey of(ProductSearchCriteria criteria) {
+            String name = criteria.getProductName();
+            String normalizedName = name == null || name.trim().isEmpty() ? null : name.toUpperCase(Locale.ROOT);
+            return new FacetKey(criteria.getEntryDate(), criteria.getEntryDateFrom(), criteria.getEntryDateTo(),
+                    criteria.getUserId(), normalizedName);
+        }
+    }
+
+    record GroupedRow(boolean byUser, boolean byMonth, Long userId, String userName, LocalDate month, int band,
+                      long productCount) {
+    }
+
+    private record CachedFacets(ProductFacetsDTO facets, long createdAt) {
+    }
+}
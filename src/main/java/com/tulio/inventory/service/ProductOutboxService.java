@@ -0,0 +1,189 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.OutboxStatusDTO;
+import com.tulio.inventory.dto.ProductChangeEventDTO;
+import com.tulio.inventory.entity.ProductAudit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bandeja de salida transaccional de eventos de productos.
+ * <p>
+ * Los servicios que modifican productos llaman a {@link #append} dentro de la misma transacción que el cambio,
+ * de modo que el evento existe si y solo si el cambio se confirmó. Un hilo en segundo plano (el relé) lee los
+ * eventos en lotes, los entrega al {@link ProductEventPublisher} configurado y los elimina de la tabla.
+ * <ul>
+ *     <li>Entrega al menos una vez: el lote se elimina en la misma transacción en la que se publica; si la
+ *     publicación o el commit fallan, el lote completo se vuelve a entregar en la siguiente pasada.</li>
+ *     <li>Orden por producto: los eventos se leen por id y un bloqueo consultivo de PostgreSQL garantiza que
+ *     solo un relé publica a la vez, aunque haya varias instancias. Los servicios escriben el evento después de
+ *     bloquear la fila del producto, así que dos cambios del mismo producto reciben ids en orden de commit.</li>
+ * </ul>
+ */
+@Service
+public class ProductOutboxService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductOutboxService.class);
+
+    static final String INSERT_SQL = "INSERT INTO product_outbox (product_id, action, user_id, change_date, "
+            + "previous_product_name, previous_quantity, previous_entry_date, "
+            + "new_product_name, new_quantity, new_entry_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    static final String SELECT_BATCH_SQL = "SELECT id, product_id, action, user_id, change_date, "
+            + "previous_product_name, previous_quantity, previous_entry_date, "
+            + "new_product_name, new_quantity, new_entry_date FROM product_outbox ORDER BY id LIMIT ?";
+    static final String DELETE_SQL = "DELETE FROM product_outbox WHERE id = ANY(?)";
+    static final String COUNT_SQL = "SELECT count(*) FROM product_outbox";
+
+    // Clave del bloqueo consultivo del relé (los bytes de "outbox")
+    static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private static final RowMapper<ProductChangeEventDTO> EVENT_MAPPER = (rs, rowNum) -> new ProductChangeEventDTO(
+            rs.getLong("id"),
+            rs.getLong("product_id"),
+            rs.getString("action"),
+            rs.getObject("user_id", Long.class),
+            rs.getObject("change_date", LocalDateTime.class),
+            rs.getString("previous_product_name"),
+            rs.getObject("previous_quantity", Integer.class),
+            rs.getObject("previous_entry_date", LocalDate.class),
+            rs.getString("new_product_name"),
+            rs.getObject("new_quantity", Integer.class),
+            rs.getObject("new_entry_date", LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductEventPublisher publisher;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+
+    private volatile String lastError;
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public ProductOutboxService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ProductEventPublisher publisher,
+                                @Value("${inventory.outbox.batch-size:100}") int batchSize,
+                                @Value("${inventory.outbox.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    // Debe llamarse dentro de la transacción que modifica el producto
+    public void append(ProductAudit event) {
+        appendAll(List.of(event));
+    }
+
+    public void appendAll(List<ProductAudit> events) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Los eventos de la bandeja de salida deben escribirse dentro de una transacción");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), ProductAuditService::bindEvent);
+    }
+
+    // Publica un lote; devuelve el número de eventos entregados (0 si no hay pendientes u otro relé tiene el bloqueo)
+    int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, RELAY_LOCK_KEY))) {
+                return 0;
+            }
+            List<ProductChangeEventDTO> events = jdbcTemplate.query(SELECT_BATCH_SQL, EVENT_MAPPER, batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            publisher.publish(events);
+            Long[] ids = events.stream().map(ProductChangeEventDTO::getEventId).toArray(Long[]::new);
+            jdbcTemplate.update(connection -> {
+                var ps = connection.prepareStatement(DELETE_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", ids));
+                return ps;
+            });
+            return events.size();
+        });
+        int count = published != null ? published : 0;
+        publishedEvents.addAndGet(count);
+        return count;
+    }
+
+    public OutboxStatusDTO getStatus() {
+        Long pending = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        return new OutboxStatusDTO(publisher.getName(), pending != null ? pending : 0,
+                publishedEvents.get(), failedAttempts.get(), lastError);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        relayThread = new Thread(this::relayLoop, "product-outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        relayThread.interrupt();
+        try {
+            relayThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            int published;
+            try {
+                published = relayBatch();
+            } catch (RuntimeException e) {
+                // Los eventos siguen en la tabla y se reintentan tras la pausa
+                published = 0;
+                failedAttempts.incrementAndGet();
+                lastError = e.getMessage();
+                log.error("No se pudo publicar un lote de la bandeja de salida de productos", e);
+            }
+            // Con un lote completo probablemente quedan más eventos: se sigue sin esperar
+            if (published < batchSize) {
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+}
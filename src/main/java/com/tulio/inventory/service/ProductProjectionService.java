@@ -0,0 +1,165 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductField;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.repository.ProductSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Lecturas de productos con {@code fields=}: solo se seleccionan las columnas de los campos pedidos.
+ * <p>
+ * La entidad {@code Product} carga siempre los dos usuarios, así que estas lecturas van por JDBC. La tabla
+ * users solo se une si se pide {@code registeredByName} o {@code lastModifiedByName}; sin campos de usuario la
+ * consulta lee únicamente products. Los DTOs resultantes llevan el conjunto de campos para que
+ * DtoJsonSerializers escriba solo esos. Los filtros y el orden son los mismos que los de la búsqueda por JPA.
+ */
+@Service
+public class ProductProjectionService {
+
+    // Propiedad de orden de ProductService (Sort) -> columna
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "p.id",
+            "entryDate", "p.entry_date",
+            "productName", "p.product_name",
+            "quantity", "p.quantity",
+            "lastModificationDate", "p.last_modification_date");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductProjectionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ProductResponseDTO> findAll(Set<ProductField> fields) {
+        return jdbcTemplate.query(select(fields) + " ORDER BY p.id", rowMapper(fields));
+    }
+
+    public Optional<ProductResponseDTO> findById(Long id, Set<ProductField> fields) {
+        return jdbcTemplate.query(select(fields) + " WHERE p.id = ?", rowMapper(fields), id).stream().findFirst();
+    }
+
+    // Un único SELECT ... WHERE id = ANY(?) para todo el lote
+    public List<ProductResponseDTO> findByIds(Collection<Long> ids, Set<ProductField> fields) {
+        Long[] idArray = ids.toArray(new Long[0]);
+        return jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(select(fields) + " WHERE p.id = ANY(?)");
+            ps.setArray(1, connection.createArrayOf("bigint", idArray));
+            return ps;
+        }, rowMapper(fields));
+    }
+
+    // Los criterios ya vienen validados por ProductService (filtro no vacío, rango de fechas, orden y límite)
+    public List<ProductResponseDTO> search(ProductSearchCriteria criteria, Sort sort, Integer limit, Set<ProductField> fields) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        if (criteria.getEntryDate() != null) {
+            appendCondition(where, "p.entry_date = ?");
+            params.add(Date.valueOf(criteria.getEntryDate()));
+        }
+        if (criteria.getEntryDateFrom() != null) {
+            appendCondition(where, "p.entry_date >= ?");
+            params.add(Date.valueOf(criteria.getEntryDateFrom()));
+        }
+        if (criteria.getEntryDateTo() != null) {
+            appendCondition(where, "p.entry_date <= ?");
+            params.add(Date.valueOf(criteria.getEntryDateTo()));
+        }
+        if (criteria.getUserId() != null) {
+            appendCondition(where, "p.registered_by_user_id = ?");
+            params.add(criteria.getUserId());
+        }
+        String productName = criteria.getProductName();
+        if (productName != null && !productName.trim().isEmpty()) {
+            // Misma expresión que ProductSpecifications, cubierta por el índice de trigramas
+            appendCondition(where, "upper(p.product_name) LIKE ? ESCAPE '\\'");
+            params.add(ProductSpecifications.containsPattern(productName));
+        }
+
+        StringBuilder sql = new StringBuilder(select(fields)).append(where).append(orderBy(sort));
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+        return jdbcTemplate.query(sql.toString(), rowMapper(fields), params.toArray());
+    }
+
+    // El id se lee siempre (lo necesita la consulta por lote), aunque no se serialice si no se pide
+    static String select(Set<ProductField> fields) {
+        StringBuilder columns = new StringBuilder("SELECT p.id");
+        StringBuilder joins = new StringBuilder();
+        for (ProductField field : fields) {
+            switch (field) {
+                case PRODUCT_NAME -> columns.append(", p.product_name");
+                case QUANTITY -> columns.append(", p.quantity");
+                case ENTRY_DATE -> columns.append(", p.entry_date");
+                case LAST_MODIFICATION_DATE -> columns.append(", p.last_modification_date");
+                case REGISTERED_BY_NAME -> {
+                    columns.append(", rb.name AS registered_by_name");
+                    joins.append(" JOIN users rb ON rb.id = p.registered_by_user_id");
+                }
+                case LAST_MODIFIED_BY_NAME -> {
+                    columns.append(", lm.name AS last_modified_by_name");
+                    joins.append(" LEFT JOIN users lm ON lm.id = p.last_modified_by_user_id");
+                }
+                default -> {
+                }
+            }
+        }
+        return columns.append(" FROM products p").append(joins).toString();
+    }
+
+    static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : sort) {
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ")
+                    .append(SORT_COLUMNS.get(order.getProperty()))
+                    .append(order.isAscending() ? " ASC" : " DESC");
+        }
+        return orderBy.toString();
+    }
+
+    private static RowMapper<ProductResponseDTO> rowMapper(Set<ProductField> fields) {
+        return (rs, rowNum) -> {
+            ProductResponseDTO product = new ProductResponseDTO();
+            product.setId(rs.getLong("id"));
+            if (fields.contains(ProductField.PRODUCT_NAME)) {
+                product.setProductName(rs.getString("product_name"));
+            }
+            if (fields.contains(ProductField.QUANTITY)) {
+                product.setQuantity(rs.getInt("quantity"));
+            }
+            if (fields.contains(ProductField.ENTRY_DATE)) {
+                product.setEntryDate(rs.getObject("entry_date", LocalDate.class));
+            }
+            if (fields.contains(ProductField.REGISTERED_BY_NAME)) {
+                product.setRegisteredByName(rs.getString("registered_by_name"));
+            }
+            if (fields.contains(ProductField.LAST_MODIFIED_BY_NAME)) {
+                product.setLastModifiedByName(rs.getString("last_modified_by_name"));
+            }
+            if (fields.contains(ProductField.LAST_MODIFICATION_DATE)) {
+                product.setLastModificationDate(rs.getObject("last_modification_date", LocalDateTime.class));
+            }
+            product.setFields(fields);
+            return product;
+        };
+    }
+
+    private static void appendCondition(StringBuilder where, String condition) {
+        where.append(where.length() == 0 ? " WHERE " : " AND ").append(condition);
+    }
+}
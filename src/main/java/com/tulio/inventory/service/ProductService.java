@@ -1,32 +1,66 @@
 package com.tulio.inventory.service;
 
+import com.tulio.inventory.dto.ProductAuditDTO;
+import com.tulio.inventory.dto.ProductBatchItemDTO;
 import com.tulio.inventory.dto.ProductCreationDTO;
+import com.tulio.inventory.dto.ProductField;
 import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
 import com.tulio.inventory.dto.ProductUpdateDTO;
 import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
 import com.tulio.inventory.entity.User;
 import com.tulio.inventory.exception.BadRequestException;
 import com.tulio.inventory.exception.ResourceNotFoundException;
 import com.tulio.inventory.exception.UnauthorizedActionException;
 import com.tulio.inventory.repository.ProductRepository;
+import com.tulio.inventory.repository.ProductSpecifications;
 import com.tulio.inventory.repository.UserRepository;
 import com.tulio.inventory.util.ErrorConstants;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    // Máximo de IDs por consulta por lote
+    static final int MAX_BATCH_IDS = 200;
+    // Máximo de resultados que se puede pedir en una búsqueda con límite
+    static final int MAX_SEARCH_LIMIT = 1000;
+    // Campos de orden admitidos; product_name es único y no necesita desempate por id
+    private static final Set<String> SORT_FIELDS = Set.of("entryDate", "productName", "quantity", "lastModificationDate");
+
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ProductAuditService productAuditService;
+    private final ProductOutboxService productOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ResilientReadService resilientReadService;
+    private final ProductProjectionService productProjectionService;
 
-    public ProductService(ProductRepository productRepository, UserRepository userRepository) {
+    public ProductService(ProductRepository productRepository, UserRepository userRepository, ProductAuditService productAuditService,
+                          ProductOutboxService productOutboxService, TransactionTemplate transactionTemplate,
+                          ResilientReadService resilientReadService, ProductProjectionService productProjectionService) {
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.productAuditService = productAuditService;
+        this.productOutboxService = productOutboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.resilientReadService = resilientReadService;
+        this.productProjectionService = productProjectionService;
     }
 
     public ProductResponseDTO createProduct(ProductCreationDTO productCreationDTO) {
@@ -50,7 +84,19 @@ public class ProductService {
         product.setEntryDate(productCreationDTO.getEntryDate());
         product.setRegisteredBy(registeredByUser);
 
-        return convertToResponseDto(productRepository.save(product));
+        // El producto y su evento de la bandeja de salida se escriben en la misma transacción
+        ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.CREATE, null, registeredByUser.getId());
+        Product savedProduct = transactionTemplate.execute(status -> {
+            Product saved = productRepository.save(product);
+            auditEvent.recordNew(saved);
+            productOutboxService.append(auditEvent);
+            return saved;
+        });
+
+        // El historial se publica tras el commit para no registrar cambios que se hayan revertido
+        productAuditService.publish(auditEvent);
+
+        return convertToResponseDto(savedProduct);
     }
 
     public ProductResponseDTO updateProduct(Long productId, ProductUpdateDTO productUpdateDTO) {
@@ -72,13 +118,80 @@ public class ProductService {
         User lastModifiedByUser = userRepository.findById(productUpdateDTO.getLastModifiedByUserId())
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + productUpdateDTO.getLastModifiedByUserId()));
 
+        // Se guardan los valores previos para el historial antes de modificar la entidad
+        ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.UPDATE, productId, lastModifiedByUser.getId());
+        auditEvent.recordPrevious(existingProduct);
+
         existingProduct.setProductName(productUpdateDTO.getProductName());
         existingProduct.setQuantity(productUpdateDTO.getQuantity());
         existingProduct.setEntryDate(productUpdateDTO.getEntryDate());
         existingProduct.setLastModifiedBy(lastModifiedByUser);
         existingProduct.setLastModificationDate(LocalDateTime.now());
 
-        return convertToResponseDto(productRepository.save(existingProduct));
+        Product savedProduct = saveWithEvent(existingProduct, auditEvent);
+        productAuditService.publish(auditEvent);
+
+        return convertToResponseDto(savedProduct);
+    }
+
+    // Actualización parcial: solo se aplican los campos informados y, gracias a @DynamicUpdate en Product,
+    // el UPDATE incluye únicamente las columnas que cambian. Si ningún valor cambia no se escribe nada.
+    public ProductResponseDTO patchProduct(Long productId, ProductUpdateDTO productPatchDTO) {
+        Product existingProduct = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + productId));
+
+        // Validaciones de los campos informados
+        if (productPatchDTO.getLastModifiedByUserId() == null) {
+            throw new BadRequestException(ErrorConstants.ESPECIFICAR_USUARIO_MODIFICACION);
+        }
+        String productName = productPatchDTO.getProductName();
+        Integer quantity = productPatchDTO.getQuantity();
+        LocalDate entryDate = productPatchDTO.getEntryDate();
+        if (productName != null && productName.trim().isEmpty()) {
+            throw new BadRequestException(ErrorConstants.NOMBRE_PRODUCTO_NO_PUEDE_SER_VACIO);
+        }
+        if (quantity != null && quantity <= 0) {
+            throw new BadRequestException(ErrorConstants.CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA);
+        }
+        if (entryDate != null && entryDate.isAfter(LocalDate.now())) {
+            throw new BadRequestException(ErrorConstants.FECHA_INGRESO_NO_PUEDE_SER_FUTURA);
+        }
+
+        boolean nameChanged = productName != null && !productName.equals(existingProduct.getProductName());
+        boolean quantityChanged = quantity != null && !quantity.equals(existingProduct.getQuantity());
+        boolean entryDateChanged = entryDate != null && !entryDate.equals(existingProduct.getEntryDate());
+
+        // La unicidad solo se comprueba si el nombre cambia
+        if (nameChanged && productRepository.findByProductName(productName).isPresent()) {
+            throw new BadRequestException(ErrorConstants.PRODUCTO_EXISTE_NOMBRE + productName);
+        }
+
+        User lastModifiedByUser = userRepository.findById(productPatchDTO.getLastModifiedByUserId())
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + productPatchDTO.getLastModifiedByUserId()));
+
+        if (!nameChanged && !quantityChanged && !entryDateChanged) {
+            return convertToResponseDto(existingProduct);
+        }
+
+        ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.UPDATE, productId, lastModifiedByUser.getId());
+        auditEvent.recordPrevious(existingProduct);
+
+        if (nameChanged) {
+            existingProduct.setProductName(productName);
+        }
+        if (quantityChanged) {
+            existingProduct.setQuantity(quantity);
+        }
+        if (entryDateChanged) {
+            existingProduct.setEntryDate(entryDate);
+        }
+        existingProduct.setLastModifiedBy(lastModifiedByUser);
+        existingProduct.setLastModificationDate(LocalDateTime.now());
+
+        Product savedProduct = saveWithEvent(existingProduct, auditEvent);
+        productAuditService.publish(auditEvent);
+
+        return convertToResponseDto(savedProduct);
     }
 
     public void deleteProduct(Long productId, Long requestingUserId) {
@@ -89,57 +202,227 @@ public class ProductService {
             throw new UnauthorizedActionException(ErrorConstants.USUARIO_CREADOR_DEBE_ELIMINAR);
         }
 
-        productRepository.delete(productToDelete);
+        ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.DELETE, productId, requestingUserId);
+        auditEvent.recordPrevious(productToDelete);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.delete(productToDelete);
+            // El DELETE se envía antes de escribir el evento: ver saveWithEvent
+            productRepository.flush();
+            productOutboxService.append(auditEvent);
+        });
+        productAuditService.publish(auditEvent);
     }
 
     public List<ProductResponseDTO> searchProducts(LocalDate entryDate, Long userId, String productName) {
-        if (entryDate == null && userId == null && (productName == null || productName.trim().isEmpty())) {
+        return searchProducts(new ProductSearchCriteria(entryDate, userId, productName));
+    }
+
+    // Búsqueda con filtros combinables, orden en la base de datos y límite opcional (top-N)
+    public List<ProductResponseDTO> searchProducts(ProductSearchCriteria criteria) {
+        String productName = criteria.getProductName();
+        boolean hasName = productName != null && !productName.trim().isEmpty();
+        if (criteria.getEntryDate() == null && criteria.getEntryDateFrom() == null && criteria.getEntryDateTo() == null
+                && criteria.getUserId() == null && !hasName) {
             throw new BadRequestException(ErrorConstants.FILTRO_BUSQUEDA_VACIO);
         }
+        if (criteria.getEntryDateFrom() != null && criteria.getEntryDateTo() != null
+                && criteria.getEntryDateFrom().isAfter(criteria.getEntryDateTo())) {
+            throw new BadRequestException(ErrorConstants.RANGO_FECHAS_INVALIDO);
+        }
+        Integer limit = criteria.getLimit();
+        if (limit != null && (limit < 1 || limit > MAX_SEARCH_LIMIT)) {
+            throw new BadRequestException(ErrorConstants.LIMITE_RESULTADOS_INVALIDO + MAX_SEARCH_LIMIT);
+        }
+        Sort sort = toSort(criteria.getSort(), criteria.getDirection());
+        Set<ProductField> fields = parseFields(criteria.getFields());
 
-        List<Product> products;
-        if (entryDate != null && userId != null && productName != null && !productName.trim().isEmpty()) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + userId));
-            products = productRepository.findByEntryDateAndRegisteredByAndProductNameContainingIgnoreCase(entryDate, user, productName);
-        } else if (entryDate != null && userId != null) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + userId));
-            products = productRepository.findByEntryDateAndRegisteredBy(entryDate, user);
-        } else if (entryDate != null && productName != null && !productName.trim().isEmpty()) {
-            products = productRepository.findByEntryDateAndProductNameContainingIgnoreCase(entryDate, productName);
-        } else if (userId != null && productName != null && !productName.trim().isEmpty()) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + userId));
-            products = productRepository.findByRegisteredByAndProductNameContainingIgnoreCase(user, productName);
-        } else if (entryDate != null) {
-            products = productRepository.findByEntryDate(entryDate);
-        } else if (userId != null) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID+ userId));
-            products = productRepository.findByRegisteredBy(user);
-        } else {
-            products = productRepository.findByProductNameContainingIgnoreCase(productName);
+        String key = "products:search:" + criteria.getEntryDate() + ":" + criteria.getEntryDateFrom() + ":" + criteria.getEntryDateTo()
+                + ":" + criteria.getUserId() + ":" + productName + ":" + criteria.getSort() + ":" + criteria.getDirection() + ":" + limit
+                + fieldsKey(fields);
+        return resilientReadService.read(key, () -> findProducts(criteria, productName, sort, limit, fields));
+    }
+
+    private List<ProductResponseDTO> findProducts(ProductSearchCriteria criteria, String productName, Sort sort, Integer limit,
+                                                  Set<ProductField> fields) {
+        User user = null;
+        if (criteria.getUserId() != null) {
+            user = userRepository.findById(criteria.getUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + criteria.getUserId()));
+        }
+        if (fields != null) {
+            return productProjectionService.search(criteria, sort, limit, fields);
         }
 
+        Specification<Product> specification = Specification.allOf(
+                ProductSpecifications.fetchUsers(),
+                ProductSpecifications.entryDateEquals(criteria.getEntryDate()),
+                ProductSpecifications.entryDateFrom(criteria.getEntryDateFrom()),
+                ProductSpecifications.entryDateTo(criteria.getEntryDateTo()),
+                ProductSpecifications.registeredBy(user),
+                ProductSpecifications.productNameContainsIgnoreCase(productName));
+
+        List<Product> products = productRepository.findBy(specification, query -> limit == null
+                ? query.sortBy(sort).all()
+                : query.sortBy(sort).limit(limit).all());
+
         return products.stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
     }
 
     public ProductResponseDTO getProductById(Long id) {
+        return getProductById(id, null);
+    }
+
+    // fields: lista de campos separados por comas (p. ej. "id,productName,quantity"); null o vacío = todos
+    public ProductResponseDTO getProductById(Long id, String fields) {
+        Set<ProductField> selected = parseFields(fields);
+        if (selected == null) {
+            return resilientReadService.read("product:" + id, () -> loadProductById(id));
+        }
+        return resilientReadService.read("product:" + id + fieldsKey(selected), () -> productProjectionService.findById(id, selected)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + id)));
+    }
+
+    // Calentamiento del arranque: guarda en la caché de lecturas los productos con actividad más reciente
+    // (no se registran accesos, así que la última modificación o creación es la mejor aproximación a "más consultados")
+    public List<Long> preloadRecentProducts(int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        for (Product product : productRepository.findRecentWithUsers(Limit.of(limit))) {
+            Long id = product.getId();
+            resilientReadService.prime("product:" + id, convertToResponseDto(product), () -> loadProductById(id));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private ProductResponseDTO loadProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + id));
         return convertToResponseDto(product);
     }
 
+    // Resuelve todos los IDs con una sola consulta; la respuesta sigue el orden de la petición
+    public List<ProductBatchItemDTO> getProductsByIds(List<Long> ids) {
+        return getProductsByIds(ids, null);
+    }
+
+    public List<ProductBatchItemDTO> getProductsByIds(List<Long> ids, String fields) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException(ErrorConstants.LISTA_IDS_VACIA);
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException(ErrorConstants.LISTA_IDS_EXCEDE_MAXIMO + MAX_BATCH_IDS);
+        }
+        Set<ProductField> selected = parseFields(fields);
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        Map<Long, ProductResponseDTO> found = resilientReadService.read("products:batch:" + uniqueIds + fieldsKey(selected),
+                () -> selected == null
+                        ? productRepository.findAllWithUsersByIdIn(uniqueIds).stream()
+                                .collect(Collectors.toMap(Product::getId, this::convertToResponseDto))
+                        : productProjectionService.findByIds(uniqueIds, selected).stream()
+                                .collect(Collectors.toMap(ProductResponseDTO::getId, product -> product)));
+
+        List<ProductBatchItemDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductResponseDTO product = found.get(id);
+            result.add(new ProductBatchItemDTO(id, product != null, product));
+        }
+        return result;
+    }
+
+    // El historial se escribe de forma asíncrona: los cambios más recientes pueden tardar unos milisegundos en aparecer
+    public List<ProductAuditDTO> getProductHistory(Long productId) {
+        return productAuditService.getProductHistory(productId);
+    }
+
     public List<ProductResponseDTO> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        return products.stream()
+        return getAllProducts(null);
+    }
+
+    public List<ProductResponseDTO> getAllProducts(String fields) {
+        Set<ProductField> selected = parseFields(fields);
+        if (selected != null) {
+            return resilientReadService.read("products:all" + fieldsKey(selected), () -> productProjectionService.findAll(selected));
+        }
+        return resilientReadService.read("products:all", () -> productRepository.findAllWithUsers().stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList()));
+    }
+
+    // Listados largos por páginas (API gRPC): no pasa por la caché de lecturas para no llenarla con cada página
+    public List<ProductResponseDTO> getProductsPage(Long afterId, int size) {
+        return productRepository.findPageWithUsers(afterId, Limit.of(size)).stream()
                 .map(this::convertToResponseDto)
                 .collect(Collectors.toList());
     }
 
+    // Campos pedidos con fields=, en orden de declaración. null si no se indican o se piden todos:
+    // en ese caso se usa la lectura completa por JPA
+    static Set<ProductField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            ProductField field = ProductField.fromPropertyName(trimmed);
+            if (field == null) {
+                throw new BadRequestException(ErrorConstants.CAMPO_PRODUCTO_INVALIDO + trimmed);
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty() || selected.size() == ProductField.values().length) {
+            return null;
+        }
+        return selected;
+    }
+
+    // Sufijo de la clave de la caché de lecturas: cada selección de campos se guarda aparte
+    private static String fieldsKey(Set<ProductField> fields) {
+        return fields == null ? "" : ":fields=" + fields;
+    }
+
+    // Guarda un producto existente y escribe su evento en la bandeja de salida en la misma transacción.
+    // El flush envía el UPDATE (y bloquea la fila) antes de insertar el evento: si dos peticiones modifican
+    // el mismo producto, la segunda espera al commit de la primera y su evento recibe un id mayor.
+    private Product saveWithEvent(Product product, ProductAudit auditEvent) {
+        return transactionTemplate.execute(status -> {
+            Product savedProduct = productRepository.save(product);
+            productRepository.flush();
+            auditEvent.recordNew(savedProduct);
+            productOutboxService.append(auditEvent);
+            return savedProduct;
+        });
+    }
+
+    // Orden estable: el campo pedido más id como desempate (coincide con los índices compuestos de V5)
+    private static Sort toSort(String sortField, String direction) {
+        Sort.Direction sortDirection;
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            sortDirection = Sort.Direction.ASC;
+        } else if (direction.equalsIgnoreCase("desc")) {
+            sortDirection = Sort.Direction.DESC;
+        } else {
+            throw new BadRequestException(ErrorConstants.DIRECCION_ORDEN_INVALIDA);
+        }
+        if (sortField == null || sortField.isBlank()) {
+            return Sort.by(sortDirection, "id");
+        }
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new BadRequestException(ErrorConstants.ORDEN_BUSQUEDA_INVALIDO);
+        }
+        if (sortField.equals("productName")) {
+            return Sort.by(sortDirection, sortField);
+        }
+        return Sort.by(sortDirection, sortField).and(Sort.by(sortDirection, "id"));
+    }
+
     // Validaciones comunes para creación y actualización de productos
     private void productValidator(String productName, Integer quantity, LocalDate entryDate) {
         if (productName == null || productName.trim().isEmpty()) {
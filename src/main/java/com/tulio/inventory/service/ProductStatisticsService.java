@@ -0,0 +1,109 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.EntryDateBucketDTO;
+import com.tulio.inventory.dto.InventoryStatisticsDTO;
+import com.tulio.inventory.dto.UserStatisticsDTO;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.util.ErrorConstants;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Estadísticas agregadas del inventario calculadas en PostgreSQL.
+ * <p>
+ * Una sola consulta con GROUPING SETS recorre products una vez y devuelve a la vez el total, los
+ * grupos por usuario registrador y los grupos por periodo de fecha de ingreso; el nombre de usuario se
+ * une después de agrupar, solo para las filas por usuario. Ninguna fila de producto llega a la JVM.
+ */
+@Service
+public class ProductStatisticsService {
+
+    static final Set<String> BUCKETS = Set.of("day", "week", "month");
+
+    private static final RowMapper<GroupedRow> GROUPED_ROW_MAPPER = (rs, rowNum) -> new GroupedRow(
+            rs.getInt("user_grouping") == 0,
+            rs.getInt("bucket_grouping") == 0,
+            rs.getObject("user_id", Long.class),
+            rs.getString("user_name"),
+            rs.getObject("bucket", LocalDate.class),
+            rs.getLong("product_count"),
+            rs.getLong("total_quantity"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStatisticsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public InventoryStatisticsDTO getStatistics(String bucket, LocalDate entryDateFrom, LocalDate entryDateTo) {
+        String normalizedBucket = bucket == null ? "day" : bucket.trim().toLowerCase(Locale.ROOT);
+        if (!BUCKETS.contains(normalizedBucket)) {
+            throw new BadRequestException(ErrorConstants.AGRUPACION_ESTADISTICAS_INVALIDA);
+        }
+        if (entryDateFrom != null && entryDateTo != null && entryDateFrom.isAfter(entryDateTo)) {
+            throw new BadRequestException(ErrorConstants.RANGO_FECHAS_INVALIDO);
+        }
+
+        List<Object> params = new ArrayList<>();
+        params.add(normalizedBucket);
+        StringBuilder where = new StringBuilder();
+        if (entryDateFrom != null) {
+            where.append(where.length() == 0 ? " WHERE" : " AND").append(" entry_date >= ?");
+            params.add(Date.valueOf(entryDateFrom));
+        }
+        if (entryDateTo != null) {
+            where.append(where.length() == 0 ? " WHERE" : " AND").append(" entry_date <= ?");
+            params.add(Date.valueOf(entryDateTo));
+        }
+
+        List<GroupedRow> rows = jdbcTemplate.query(buildSql(where.toString()), GROUPED_ROW_MAPPER, params.toArray());
+
+        long productCount = 0;
+        long totalQuantity = 0;
+        List<UserStatisticsDTO> byUser = new ArrayList<>();
+        List<EntryDateBucketDTO> byEntryDate = new ArrayList<>();
+        for (GroupedRow row : rows) {
+            if (row.byUser()) {
+                byUser.add(new UserStatisticsDTO(row.userId(), row.userName(), row.productCount(), row.totalQuantity()));
+            } else if (row.byBucket()) {
+                byEntryDate.add(new EntryDateBucketDTO(row.bucket(), row.productCount(), row.totalQuantity()));
+            } else {
+                productCount = row.productCount();
+                totalQuantity = row.totalQuantity();
+            }
+        }
+        byUser.sort(Comparator.comparingLong(UserStatisticsDTO::getTotalQuantity).reversed()
+                .thenComparing(UserStatisticsDTO::getUserId));
+        byEntryDate.sort(Comparator.comparing(EntryDateBucketDTO::getBucketStart));
+        return new InventoryStatisticsDTO(productCount, totalQuantity, normalizedBucket, byUser, byEntryDate);
+    }
+
+    // El periodo se calcula en la subconsulta para que GROUPING SETS agrupe por una columna y no por
+    // una expresión con parámetro (PostgreSQL no reconocería dos parámetros como la misma expresión)
+    static String buildSql(String where) {
+        return "WITH grouped AS ("
+                + " SELECT GROUPING(registered_by_user_id) AS user_grouping, GROUPING(bucket) AS bucket_grouping,"
+                + " registered_by_user_id AS user_id, bucket, COUNT(*) AS product_count,"
+                + " COALESCE(SUM(quantity), 0) AS total_quantity"
+                + " FROM (SELECT registered_by_user_id, quantity,"
+                + " CAST(date_trunc(?, CAST(entry_date AS timestamp)) AS date) AS bucket"
+                + " FROM products" + where + ") p"
+                + " GROUP BY GROUPING SETS ((), (registered_by_user_id), (bucket)))"
+                + " SELECT g.user_grouping, g.bucket_grouping, g.user_id, u.name AS user_name, g.bucket,"
+                + " g.product_count, g.total_quantity"
+                + " FROM grouped g LEFT JOIN users u ON g.user_grouping = 0 AND u.id = g.user_id";
+    }
+
+    record GroupedRow(boolean byUser, boolean byBucket, Long userId, String userName, LocalDate bucket,
+                      long productCount, long totalQuantity) {
+    }
+}
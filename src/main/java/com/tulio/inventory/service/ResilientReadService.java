@@ -0,0 +1,275 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ResilienceStatusDTO;
+import com.tulio.inventory.exception.ServiceUnavailableException;
+import com.tulio.inventory.util.CircuitBreaker;
+import com.tulio.inventory.util.ErrorConstants;
+import com.tulio.inventory.util.TimeBudget;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lecturas de productos y usuarios tolerantes a caídas breves de la base de datos.
+ * <p>
+ * Cada lectura pasa por un {@link CircuitBreaker} que se abre ante errores de acceso a datos o llamadas lentas.
+ * El último resultado correcto de cada lectura se guarda en una caché acotada. Solo se guardan lecturas pequeñas
+ * (un producto, un usuario o listas de hasta {@code inventory.resilience.cache-max-result-size} elementos);
+ * el listado completo de productos no se guarda:
+ * <ul>
+ *     <li>Si la base de datos falla o el cortocircuito está abierto, se devuelve el resultado guardado con la
+ *     cabecera {@value #STALENESS_HEADER} (segundos desde que se leyó). Sin resultado guardado se responde 503.</li>
+ *     <li>Cada respuesta obsoleta encola una revalidación en segundo plano. Cuando el cortocircuito se cierra se
+ *     revalidan además todas las entradas servidas como obsoletas durante la caída.</li>
+ * </ul>
+ * Las excepciones de negocio (por ejemplo, producto no encontrado) no cuentan como fallo de la base de datos
+ * y eliminan la entrada guardada. Las lecturas canceladas por el tiempo máximo de la petición ({@link TimeBudget})
+ * tampoco cuentan y se propagan sin servir el resultado guardado.
+ */
+@Service
+public class ResilientReadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientReadService.class);
+
+    public static final String STALENESS_HEADER = "X-Data-Staleness";
+
+    // Listado completo de productos (con o sin selección de campos): demasiado grande para guardarlo
+    private static final String ALL_PRODUCTS_KEY_PREFIX = "products:all";
+
+    private final boolean enabled;
+    private final CircuitBreaker circuitBreaker;
+    private final long openDurationMs;
+    private final int cacheMaxEntries;
+    private final int cacheMaxResultSize;
+    private final Map<String, CachedRead> cache = new ConcurrentHashMap<>();
+    // Orden de llegada de las claves: al superar el máximo se descarta la más antigua
+    private final Queue<String> cacheOrder = new ConcurrentLinkedQueue<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor revalidationExecutor;
+    private final AtomicLong staleResponses = new AtomicLong();
+    private final AtomicLong unavailableResponses = new AtomicLong();
+
+    public ResilientReadService(@Value("${inventory.resilience.enabled:true}") boolean enabled,
+                                @Value("${inventory.resilience.window-size:20}") int windowSize,
+                                @Value("${inventory.resilience.minimum-calls:10}") int minimumCalls,
+                                @Value("${inventory.resilience.failure-rate-threshold:50}") int failureRateThreshold,
+                                @Value("${inventory.resilience.slow-call-threshold-ms:2000}") long slowCallThresholdMs,
+                                @Value("${inventory.resilience.open-duration-ms:10000}") long openDurationMs,
+                                @Value("${inventory.resilience.cache-max-entries:10000}") int cacheMaxEntries,
+                                @Value("${inventory.resilience.cache-max-result-size:100}") int cacheMaxResultSize) {
+        this.enabled = enabled;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallThresholdMs, openDurationMs);
+        this.openDurationMs = openDurationMs;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.cacheMaxResultSize = cacheMaxResultSize;
+        // Un hilo y cola acotada: si hay más revalidaciones pendientes, las sobrantes se descartan
+        // (la entrada se volverá a revalidar en la siguiente lectura obsoleta)
+        this.revalidationExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), runnable -> {
+                    Thread thread = new Thread(runnable, "read-revalidation");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // key identifica la lectura (tipo y parámetros); loader la ejecuta contra la base de datos
+    public <T> T read(String key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return serveStale(key, null);
+        }
+        T value;
+        long start = System.nanoTime();
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            if (TimeBudget.isExhausted()) {
+                // Sentencia cancelada por el tiempo máximo de la petición: no es un fallo de la base de datos
+                // ni se responde con datos obsoletos
+                circuitBreaker.onIgnored();
+                throw e;
+            }
+            if (!isDatabaseFailure(e)) {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+                evict(key);
+                throw e;
+            }
+            circuitBreaker.onFailure();
+            log.warn("Error de base de datos en la lectura {}: {}", key, e.getMessage());
+            return serveStale(key, e);
+        }
+        store(key, value, loader);
+        if (circuitBreaker.onSuccess(System.nanoTime() - start)) {
+            revalidateStaleEntries();
+        }
+        return value;
+    }
+
+    // Guarda un resultado leído fuera de read(), p. ej. en bloque durante el calentamiento del arranque
+    public void prime(String key, Object value, Supplier<?> loader) {
+        if (enabled) {
+            store(key, value, loader);
+        }
+    }
+
+    public ResilienceStatusDTO getStatus() {
+        return new ResilienceStatusDTO(circuitBreaker.getState().name(), circuitBreaker.getFailureRate(), cache.size(),
+                staleResponses.get(), unavailableResponses.get());
+    }
+
+    static boolean isDatabaseFailure(Throwable e) {
+        return e instanceof DataAccessException || e instanceof TransactionException || e instanceof PersistenceException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T serveStale(String key, RuntimeException cause) {
+        CachedRead cached = cache.get(key);
+        if (cached == null) {
+            unavailableResponses.incrementAndGet();
+            throw new ServiceUnavailableException(ErrorConstants.BASE_DATOS_NO_DISPONIBLE, Math.max(1, openDurationMs / 1000), cause);
+        }
+        cached.stale = true;
+        staleResponses.incrementAndGet();
+        setStalenessHeader((System.currentTimeMillis() - cached.loadedAt) / 1000);
+        scheduleRevalidation(key, cached);
+        return (T) cached.value;
+    }
+
+    private void store(String key, Object value, Supplier<?> loader) {
+        if (!isCacheable(key, value)) {
+            // Un resultado que ha crecido por encima del máximo no deja atrás su versión anterior
+            evict(key);
+            return;
+        }
+        if (cache.put(key, new CachedRead(value, loader, System.currentTimeMillis())) == null) {
+            cacheOrder.add(key);
+            while (cache.size() > cacheMaxEntries) {
+                String eldest = cacheOrder.poll();
+                if (eldest == null) {
+                    break;
+                }
+                cache.remove(eldest);
+            }
+        }
+    }
+
+    private boolean isCacheable(String key, Object value) {
+        if (key.startsWith(ALL_PRODUCTS_KEY_PREFIX)) {
+            return false;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.size() <= cacheMaxResultSize;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.size() <= cacheMaxResultSize;
+        }
+        return true;
+    }
+
+    private void evict(String key) {
+        if (cache.remove(key) != null) {
+            // Poco frecuente (errores de negocio): recorrer la cola no afecta a las lecturas normales
+            cacheOrder.remove(key);
+        }
+    }
+
+    private void revalidateStaleEntries() {
+        List<Map.Entry<String, CachedRead>> stale = new ArrayList<>();
+        for (Map.Entry<String, CachedRead> entry : cache.entrySet()) {
+            if (entry.getValue().stale) {
+                stale.add(entry);
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Base de datos disponible de nuevo; revalidando {} lecturas servidas como obsoletas", stale.size());
+        }
+        stale.forEach(entry -> scheduleRevalidation(entry.getKey(), entry.getValue()));
+    }
+
+    private void scheduleRevalidation(String key, CachedRead cached) {
+        if (revalidating.add(key)) {
+            revalidationExecutor.execute(() -> revalidate(key, cached.loader));
+        }
+    }
+
+    // Se ejecuta en el hilo de revalidación; mientras el cortocircuito está abierto no hace nada
+    void revalidate(String key, Supplier<?> loader) {
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return;
+            }
+            long start = System.nanoTime();
+            Object value;
+            try {
+                value = loader.get();
+            } catch (RuntimeException e) {
+                if (isDatabaseFailure(e)) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess(System.nanoTime() - start);
+                    evict(key);
+                }
+                return;
+            }
+            store(key, value, loader);
+            if (circuitBreaker.onSuccess(System.nanoTime() - start)) {
+                revalidateStaleEntries();
+            }
+        } finally {
+            revalidating.remove(key);
+        }
+    }
+
+    private static void setStalenessHeader(long ageSeconds) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null) {
+                response.setHeader(STALENESS_HEADER, Long.toString(ageSeconds));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        revalidationExecutor.shutdownNow();
+    }
+
+    private static final class CachedRead {
+        private final Object value;
+        private final Supplier<?> loader;
+        private final long loadedAt;
+        private volatile boolean stale;
+
+        private CachedRead(Object value, Supplier<?> loader, long loadedAt) {
+            this.value = value;
+            this.loader = loader;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
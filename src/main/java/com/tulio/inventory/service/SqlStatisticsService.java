@@ -0,0 +1,186 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.RequestSqlStatsDTO;
+import com.tulio.inventory.dto.SqlStatementStatsDTO;
+import com.tulio.inventory.dto.SqlStatisticsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Estadísticas de sentencias SQL alimentadas por el proxy del DataSource (ver SqlStatisticsConfig).
+// Sustituye a spring.jpa.show-sql: solo se registran en el log las sentencias que superan el umbral de lentitud.
+@Service
+public class SqlStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatisticsService.class);
+
+    // Límites superiores (ms) de los intervalos del histograma de latencia; el último intervalo es "+Inf"
+    private static final long[] LATENCY_BUCKETS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+    // Evita que sentencias con SQL dinámico hagan crecer el mapa sin límite
+    static final int MAX_TRACKED_STATEMENTS = 500;
+    static final String OTHER_STATEMENTS = "(otras sentencias)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowThresholdMs;
+    private final ConcurrentMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RequestStats> requests = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> requestStatementCount = new ThreadLocal<>();
+    private final ThreadLocal<StatementStats> currentStatement = new ThreadLocal<>();
+
+    public SqlStatisticsService(@Value("${inventory.sql.slow-threshold-ms:200}") long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    // Llamado tras cada ejecución; affectedRows es el recuento de actualización (las filas leídas se suman en recordRowRead)
+    public void recordStatement(String sql, long elapsedMs, long affectedRows) {
+        String redactedSql = redact(sql);
+        StatementStats stats = statements.get(redactedSql);
+        if (stats == null) {
+            String key = statements.size() < MAX_TRACKED_STATEMENTS ? redactedSql : OTHER_STATEMENTS;
+            stats = statements.computeIfAbsent(key, k -> new StatementStats());
+        }
+        stats.record(elapsedMs, affectedRows);
+        currentStatement.set(stats);
+
+        long[] count = requestStatementCount.get();
+        if (count != null) {
+            count[0]++;
+        }
+
+        if (elapsedMs >= slowThresholdMs) {
+            stats.slowExecutions.increment();
+            log.warn("Sentencia SQL lenta ({} ms): {}", elapsedMs, redactedSql);
+        }
+    }
+
+    // Una fila leída del último ResultSet abierto en este hilo
+    public void recordRowRead() {
+        StatementStats stats = currentStatement.get();
+        if (stats != null) {
+            stats.rows.increment();
+        }
+    }
+
+    public void beginRequest() {
+        requestStatementCount.set(new long[1]);
+        currentStatement.remove();
+    }
+
+    // Devuelve el número de sentencias ejecutadas durante la petición
+    public long endRequest(String endpoint) {
+        long[] count = requestStatementCount.get();
+        requestStatementCount.remove();
+        currentStatement.remove();
+        if (count == null) {
+            return 0;
+        }
+        if (endpoint != null) {
+            requests.computeIfAbsent(endpoint, k -> new RequestStats()).record(count[0]);
+        }
+        return count[0];
+    }
+
+    // Sentencias ejecutadas hasta ahora en la petición del hilo actual, o -1 si no hay petición en curso
+    public long getCurrentRequestStatementCount() {
+        long[] count = requestStatementCount.get();
+        return count != null ? count[0] : -1;
+    }
+
+    public SqlStatisticsDTO getStatistics() {
+        List<SqlStatementStatsDTO> statementStats = statements.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparingLong(SqlStatementStatsDTO::getTotalTimeMs).reversed())
+                .collect(Collectors.toList());
+        List<RequestSqlStatsDTO> requestStats = requests.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparing(RequestSqlStatsDTO::getEndpoint))
+                .collect(Collectors.toList());
+        return new SqlStatisticsDTO(slowThresholdMs, statementStats, requestStats);
+    }
+
+    public void reset() {
+        statements.clear();
+        requests.clear();
+    }
+
+    // Las sentencias preparadas ya llevan "?" en lugar de los valores; además se ocultan los literales embebidos
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        return WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+    }
+
+    private static final class StatementStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalTimeMs = new LongAdder();
+        private final LongAccumulator maxTimeMs = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS_MS.length + 1];
+
+        private StatementStats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long elapsedMs, long affectedRows) {
+            executions.increment();
+            totalTimeMs.add(elapsedMs);
+            maxTimeMs.accumulate(elapsedMs);
+            if (affectedRows > 0) {
+                rows.add(affectedRows);
+            }
+            int bucket = 0;
+            while (bucket < LATENCY_BUCKETS_MS.length && elapsedMs > LATENCY_BUCKETS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        private SqlStatementStatsDTO toDto(String sql) {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                String bound = i < LATENCY_BUCKETS_MS.length ? Long.toString(LATENCY_BUCKETS_MS[i]) : "+Inf";
+                histogram.put(bound, buckets[i].sum());
+            }
+            long count = executions.sum();
+            long total = totalTimeMs.sum();
+            return new SqlStatementStatsDTO(sql, count, slowExecutions.sum(), rows.sum(), total, maxTimeMs.get(),
+                    count == 0 ? 0 : (double) total / count, histogram);
+        }
+    }
+
+    private static final class RequestStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private void record(long statementCount) {
+            requests.increment();
+            statements.add(statementCount);
+            maxStatements.accumulate(statementCount);
+        }
+
+        private RequestSqlStatsDTO toDto(String endpoint) {
+            long count = requests.sum();
+            long total = statements.sum();
+            return new RequestSqlStatsDTO(endpoint, count, total, maxStatements.get(), count == 0 ? 0 : (double) total / count);
+        }
+    }
+}
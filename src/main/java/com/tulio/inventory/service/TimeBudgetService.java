@@ -0,0 +1,89 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.TimeBudgetStatsDTO;
+import com.tulio.inventory.util.TimeBudget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Tiempos máximos por endpoint y contadores de presupuestos agotados (ver TimeBudgetConfig).
+// El tiempo de cada endpoint se configura con inventory.time-budget.endpoints.<Controlador>.<método>
+// (p. ej. inventory.time-budget.endpoints.ProductController.searchProducts=3000); si no, se usa default-ms.
+@Service
+public class TimeBudgetService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeBudgetService.class);
+
+    static final String ENDPOINT_PROPERTY_PREFIX = "inventory.time-budget.endpoints.";
+
+    private final Environment environment;
+    private final long defaultBudgetMs;
+    private final ConcurrentMap<String, Long> budgets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public TimeBudgetService(Environment environment,
+                             @Value("${inventory.time-budget.default-ms:5000}") long defaultBudgetMs) {
+        this.environment = environment;
+        this.defaultBudgetMs = defaultBudgetMs;
+    }
+
+    // handler: "ProductController.searchProducts"
+    public long getBudgetMillis(String handler) {
+        return budgets.computeIfAbsent(handler,
+                key -> environment.getProperty(ENDPOINT_PROPERTY_PREFIX + key, Long.class, defaultBudgetMs));
+    }
+
+    public void record(TimeBudget.Result result) {
+        if (result == null || result.endpoint() == null) {
+            return;
+        }
+        endpoints.computeIfAbsent(result.endpoint(), k -> new EndpointStats()).record(result);
+        if (result.exceeded()) {
+            log.warn("Tiempo máximo agotado en {}: {} ms de {} ms, {} sentencias SQL canceladas",
+                    result.endpoint(), result.elapsedMs(), result.budgetMs(), result.cancelledStatements());
+        }
+    }
+
+    public List<TimeBudgetStatsDTO> getStatistics() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .sorted(Comparator.comparing(TimeBudgetStatsDTO::getEndpoint))
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static final class EndpointStats {
+        private volatile long budgetMs;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder exceeded = new LongAdder();
+        private final LongAdder cancelledStatements = new LongAdder();
+        private final LongAccumulator maxElapsedMs = new LongAccumulator(Math::max, 0);
+
+        private void record(TimeBudget.Result result) {
+            budgetMs = result.budgetMs();
+            requests.increment();
+            if (result.exceeded()) {
+                exceeded.increment();
+            }
+            cancelledStatements.add(result.cancelledStatements());
+            maxElapsedMs.accumulate(result.elapsedMs());
+        }
+
+        private TimeBudgetStatsDTO toDto(String endpoint) {
+            return new TimeBudgetStatsDTO(endpoint, budgetMs, requests.sum(), exceeded.sum(), cancelledStatements.sum(), maxElapsedMs.get());
+        }
+    }
+}
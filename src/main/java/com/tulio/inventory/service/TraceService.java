@@ -0,0 +1,121 @@
+package com.tulio.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.TraceDTO;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.util.ErrorConstants;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Almacén en memoria de las últimas trazas completadas y, opcionalmente, exportación a un fichero JSON Lines.
+@Service
+public class TraceService {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceService.class);
+
+    private final int maxTraces;
+    private final Map<String, TraceDTO> traces;
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter exportWriter;
+    private final ThreadPoolExecutor exportExecutor;
+
+    public TraceService(ObjectMapper objectMapper,
+                        @Value("${inventory.tracing.max-traces:1000}") int maxTraces,
+                        @Value("${inventory.tracing.export-file:}") String exportFile) throws IOException {
+        this.objectMapper = objectMapper;
+        this.maxTraces = maxTraces;
+        // Se descarta la traza más antigua al superar el máximo
+        this.traces = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TraceDTO> eldest) {
+                return size() > TraceService.this.maxTraces;
+            }
+        };
+        if (exportFile == null || exportFile.isBlank()) {
+            this.exportWriter = null;
+            this.exportExecutor = null;
+        } else {
+            this.exportWriter = Files.newBufferedWriter(Path.of(exportFile), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            // La escritura se hace fuera del hilo de la petición; si el disco no da abasto se descartan trazas
+            this.exportExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(maxTraces), runnable -> {
+                        Thread thread = new Thread(runnable, "trace-exporter");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.DiscardPolicy());
+        }
+    }
+
+    public void record(TraceDTO trace) {
+        synchronized (traces) {
+            traces.put(trace.getTraceId(), trace);
+        }
+        if (exportExecutor != null) {
+            exportExecutor.execute(() -> export(trace));
+        }
+    }
+
+    // Trazas más recientes primero, filtradas por duración mínima
+    public List<TraceDTO> getTraces(long minDurationMs, int limit) {
+        List<TraceDTO> snapshot;
+        synchronized (traces) {
+            snapshot = new ArrayList<>(traces.values());
+        }
+        List<TraceDTO> result = new ArrayList<>();
+        for (int i = snapshot.size() - 1; i >= 0 && result.size() < limit; i--) {
+            TraceDTO trace = snapshot.get(i);
+            if (trace.getDurationMicros() >= minDurationMs * 1_000) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    public TraceDTO getTrace(String traceId) {
+        TraceDTO trace;
+        synchronized (traces) {
+            trace = traces.get(traceId);
+        }
+        if (trace == null) {
+            throw new ResourceNotFoundException(ErrorConstants.TRAZA_NO_ENCONTRADA_ID + traceId);
+        }
+        return trace;
+    }
+
+    private void export(TraceDTO trace) {
+        try {
+            exportWriter.write(objectMapper.writeValueAsString(trace));
+            exportWriter.newLine();
+            exportWriter.flush();
+        } catch (IOException e) {
+            log.error("No se pudo exportar la traza {}", trace.getTraceId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        if (exportExecutor != null) {
+            exportExecutor.shutdown();
+            exportExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            exportWriter.close();
+        }
+    }
+}
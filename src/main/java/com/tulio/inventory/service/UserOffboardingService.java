@@ -0,0 +1,264 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.OffboardingJobDTO;
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.entity.User;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.repository.ProductRepository;
+import com.tulio.inventory.repository.UserRepository;
+import com.tulio.inventory.util.ErrorConstants;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Baja de usuarios con muchos productos.
+ * <p>
+ * En lugar de una única transacción que bloquee miles de filas de products, el proceso se ejecuta
+ * en segundo plano por bloques de tamaño fijo, cada uno en su propia transacción:
+ * <ol>
+ *     <li>Productos registrados por el usuario: se reasignan al usuario indicado o, si no se indica
+ *     ninguno, se eliminan (registrando el evento DELETE en el historial y en la bandeja de salida).</li>
+ *     <li>Productos modificados por el usuario: lastModifiedBy pasa al usuario indicado o queda vacío.</li>
+ *     <li>Por último se elimina el usuario.</li>
+ * </ol>
+ * Si el proceso falla a mitad, los bloques ya confirmados se mantienen y basta con lanzarlo de nuevo.
+ * Los procesos terminados se pueden consultar durante {@code inventory.offboarding.job-retention-ms};
+ * después se descartan.
+ */
+@Service
+public class UserOffboardingService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOffboardingService.class);
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final ProductAuditService productAuditService;
+    private final ProductOutboxService productOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final long jobRetentionMs;
+    private final Map<String, OffboardingJob> jobs = new ConcurrentHashMap<>();
+    // Un solo hilo: las bajas se procesan de una en una para no competir entre ellas por los bloqueos
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-offboarding");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserOffboardingService(UserRepository userRepository,
+                                  ProductRepository productRepository,
+                                  ProductAuditService productAuditService,
+                                  ProductOutboxService productOutboxService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${inventory.offboarding.chunk-size:500}") int chunkSize,
+                                  @Value("${inventory.offboarding.chunk-pause-ms:50}") long chunkPauseMs,
+                                  @Value("${inventory.offboarding.job-retention-ms:3600000}") long jobRetentionMs) {
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.productAuditService = productAuditService;
+        this.productOutboxService = productOutboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMs = chunkPauseMs;
+        this.jobRetentionMs = jobRetentionMs;
+    }
+
+    public OffboardingJobDTO startOffboarding(Long userId, Long reassignToUserId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + userId);
+        }
+        if (reassignToUserId != null) {
+            if (reassignToUserId.equals(userId)) {
+                throw new BadRequestException(ErrorConstants.USUARIO_REASIGNACION_MISMO_USUARIO);
+            }
+            if (!userRepository.existsById(reassignToUserId)) {
+                throw new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + reassignToUserId);
+            }
+        }
+
+        OffboardingJob job = new OffboardingJob(UUID.randomUUID().toString(), userId, reassignToUserId);
+        synchronized (jobs) {
+            evictExpiredJobs();
+            boolean inProgress = jobs.values().stream()
+                    .anyMatch(existing -> existing.userId.equals(userId) && !existing.isFinished());
+            if (inProgress) {
+                throw new BadRequestException(ErrorConstants.BAJA_USUARIO_EN_CURSO + userId);
+            }
+            jobs.put(job.jobId, job);
+        }
+        executor.execute(() -> run(job));
+        return job.toDto();
+    }
+
+    public OffboardingJobDTO getJob(String jobId) {
+        evictExpiredJobs();
+        OffboardingJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException(ErrorConstants.BAJA_NO_ENCONTRADA_ID + jobId);
+        }
+        return job.toDto();
+    }
+
+    public List<OffboardingJobDTO> getJobs() {
+        evictExpiredJobs();
+        return jobs.values().stream()
+                .map(OffboardingJob::toDto)
+                .collect(Collectors.toList());
+    }
+
+    void run(OffboardingJob job) {
+        job.status = JobStatus.RUNNING;
+        try {
+            RegisteredChunk chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> processRegisteredChunk(job));
+                // Los eventos DELETE se publican en el historial solo cuando el bloque ya está confirmado
+                chunk.auditEvents().forEach(productAuditService::publish);
+                pauseBetweenChunks(job, chunk.processed());
+            } while (chunk.processed() == chunkSize);
+
+            int processed;
+            do {
+                processed = transactionTemplate.execute(status -> processModifiedChunk(job));
+                pauseBetweenChunks(job, processed);
+            } while (processed == chunkSize);
+
+            transactionTemplate.executeWithoutResult(status -> userRepository.deleteById(job.userId));
+            // endDate antes que el estado: quien vea el proceso terminado ya ve la fecha de fin
+            job.endDate = LocalDateTime.now();
+            job.status = JobStatus.COMPLETED;
+            log.info("Baja del usuario {} completada: {} productos reasignados, {} eliminados, {} modificaciones reasignadas",
+                    job.userId, job.productsReassigned, job.productsDeleted, job.modificationsReassigned);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.endDate = LocalDateTime.now();
+            job.status = JobStatus.FAILED;
+            log.error("Error en la baja del usuario {} (proceso {})", job.userId, job.jobId, e);
+        }
+    }
+
+    // Devuelve el número de productos procesados en el bloque y los eventos DELETE pendientes de publicar
+    private RegisteredChunk processRegisteredChunk(OffboardingJob job) {
+        if (job.reassignToUserId != null) {
+            List<Long> ids = productRepository.findIdsByRegisteredById(job.userId, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                User target = userRepository.getReferenceById(job.reassignToUserId);
+                job.productsReassigned += productRepository.updateRegisteredBy(ids, target);
+            }
+            return new RegisteredChunk(ids.size(), List.of());
+        }
+
+        List<Product> products = productRepository.findChunkByRegisteredById(job.userId, Limit.of(chunkSize));
+        if (products.isEmpty()) {
+            return new RegisteredChunk(0, List.of());
+        }
+        productRepository.deleteAllByIdInBatch(products.stream().map(Product::getId).collect(Collectors.toList()));
+        job.productsDeleted += products.size();
+        List<ProductAudit> auditEvents = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductAudit auditEvent = new ProductAudit(ProductAudit.Action.DELETE, product.getId(), job.userId);
+            auditEvent.recordPrevious(product);
+            auditEvents.add(auditEvent);
+        }
+        productOutboxService.appendAll(auditEvents);
+        return new RegisteredChunk(products.size(), auditEvents);
+    }
+
+    private int processModifiedChunk(OffboardingJob job) {
+        List<Long> ids = productRepository.findIdsByLastModifiedById(job.userId, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (job.reassignToUserId != null) {
+            job.modificationsReassigned += productRepository.updateLastModifiedBy(ids, userRepository.getReferenceById(job.reassignToUserId));
+        } else {
+            job.modificationsReassigned += productRepository.clearLastModifiedBy(ids);
+        }
+        return ids.size();
+    }
+
+    // La pausa entre bloques deja pasar a las peticiones que esperan por los bloqueos de products
+    private void pauseBetweenChunks(OffboardingJob job, int processed) {
+        if (processed == 0) {
+            return;
+        }
+        job.chunksCompleted++;
+        if (processed == chunkSize && chunkPauseMs > 0) {
+            try {
+                Thread.sleep(chunkPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Baja interrumpida", e);
+            }
+        }
+    }
+
+    // Descarta los procesos terminados hace más de jobRetentionMs; los que siguen en curso no caducan
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(jobRetentionMs));
+        jobs.values().removeIf(job -> job.isFinished() && !job.endDate.isAfter(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private record RegisteredChunk(int processed, List<ProductAudit> auditEvents) {
+    }
+
+    enum JobStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // Estado mutable del proceso: solo lo escribe el hilo de la baja, los campos volatile permiten consultarlo
+    static final class OffboardingJob {
+        private final String jobId;
+        private final Long userId;
+        private final Long reassignToUserId;
+        private final LocalDateTime startDate = LocalDateTime.now();
+        private volatile JobStatus status = JobStatus.PENDING;
+        private volatile long productsReassigned;
+        private volatile long productsDeleted;
+        private volatile long modificationsReassigned;
+        private volatile int chunksCompleted;
+        private volatile LocalDateTime endDate;
+        private volatile String error;
+
+        OffboardingJob(String jobId, Long userId, Long reassignToUserId) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.reassignToUserId = reassignToUserId;
+        }
+
+        private boolean isFinished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        private OffboardingJobDTO toDto() {
+            return new OffboardingJobDTO(jobId, userId, reassignToUserId, status.name(), productsReassigned,
+                    productsDeleted, modificationsReassigned, chunksCompleted, startDate, endDate, error);
+        }
+    }
+}
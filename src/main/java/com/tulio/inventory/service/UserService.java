@@ -1,33 +1,99 @@
 package com.tulio.inventory.service;
 
 import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.dto.UserPageDTO;
 import com.tulio.inventory.entity.User;
 import com.tulio.inventory.exception.BadRequestException;
 import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.repository.ProductRepository;
 import com.tulio.inventory.repository.UserRepository;
+import com.tulio.inventory.repository.UserSpecifications;
 import com.tulio.inventory.util.ErrorConstants;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final ResilientReadService resilientReadService;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ProductRepository productRepository, ResilientReadService resilientReadService) {
         this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.resilientReadService = resilientReadService;
     }
 
     public List<UserDTO> getAllUsers() {
+        return resilientReadService.read("users:all", this::loadAllUsers);
+    }
+
+    private List<UserDTO> loadAllUsers() {
         return userRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    // Listado paginado por clave (id): cada página es un "WHERE id > afterId ORDER BY id LIMIT size",
+    // con coste constante sin importar lo lejos que se esté del principio
+    public UserPageDTO searchUsers(String namePrefix, String position, LocalDate hireDateFrom, LocalDate hireDateTo,
+                                   Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException(ErrorConstants.TAMANO_PAGINA_INVALIDO + MAX_PAGE_SIZE);
+        }
+        if (hireDateFrom != null && hireDateTo != null && hireDateFrom.isAfter(hireDateTo)) {
+            throw new BadRequestException(ErrorConstants.RANGO_FECHAS_INVALIDO);
+        }
+
+        Specification<User> specification = Specification.allOf(
+                UserSpecifications.idGreaterThan(afterId),
+                UserSpecifications.nameStartsWithIgnoreCase(namePrefix),
+                UserSpecifications.positionEquals(position),
+                UserSpecifications.hiredBetween(hireDateFrom, hireDateTo));
+
+        String key = "users:search:" + namePrefix + ":" + position + ":" + hireDateFrom + ":" + hireDateTo + ":" + afterId + ":" + size;
+        return resilientReadService.read(key, () -> {
+            // Se pide un elemento de más para saber si hay otra página sin ejecutar un COUNT
+            List<User> users = userRepository.findBy(specification,
+                    query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+
+            boolean hasMore = users.size() > size;
+            List<UserDTO> items = users.stream()
+                    .limit(size)
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+            Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+            return new UserPageDTO(items, nextCursor);
+        });
+    }
+
     public UserDTO getUserById(Long id) {
+        return resilientReadService.read("user:" + id, () -> loadUserById(id));
+    }
+
+    // Calentamiento del arranque: guarda en la caché de lecturas el listado completo y cada usuario por ID
+    public List<Long> preloadUsers() {
+        List<UserDTO> users = loadAllUsers();
+        resilientReadService.prime("users:all", users, this::loadAllUsers);
+        List<Long> ids = new ArrayList<>(users.size());
+        for (UserDTO user : users) {
+            Long id = user.getId();
+            resilientReadService.prime("user:" + id, user, () -> loadUserById(id));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private UserDTO loadUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + id));
         return convertToDto(user);
@@ -55,26 +121,36 @@ public class UserService {
         return convertToDto(userRepository.save(user));
     }
 
+    // Los campos son opcionales (PUT y PATCH): solo se aplican los informados y, con @DynamicUpdate en User,
+    // el UPDATE incluye únicamente las columnas que cambian. Si ningún valor cambia no se escribe nada.
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + id));
 
-        if (userDTO.getName() != null && !userDTO.getName().trim().isEmpty()) {
-            if (!existingUser.getName().equals(userDTO.getName()) && userRepository.findByName(userDTO.getName()).isPresent()) {
+        boolean changed = false;
+        if (userDTO.getName() != null && !userDTO.getName().trim().isEmpty() && !existingUser.getName().equals(userDTO.getName())) {
+            if (userRepository.findByName(userDTO.getName()).isPresent()) {
                 throw new BadRequestException(ErrorConstants.USUARIO_EXISTE_NOMBRE + userDTO.getName());
             }
             existingUser.setName(userDTO.getName());
+            changed = true;
         }
-        if (userDTO.getAge() != null && userDTO.getAge() > 0) {
+        if (userDTO.getAge() != null && userDTO.getAge() > 0 && !userDTO.getAge().equals(existingUser.getAge())) {
             existingUser.setAge(userDTO.getAge());
+            changed = true;
         }
-        if (userDTO.getPosition() != null && !userDTO.getPosition().trim().isEmpty()) {
+        if (userDTO.getPosition() != null && !userDTO.getPosition().trim().isEmpty() && !userDTO.getPosition().equals(existingUser.getPosition())) {
             existingUser.setPosition(userDTO.getPosition());
+            changed = true;
         }
-        if (userDTO.getHireDate() != null && !userDTO.getHireDate().isAfter(LocalDate.now())) {
+        if (userDTO.getHireDate() != null && !userDTO.getHireDate().isAfter(LocalDate.now()) && !userDTO.getHireDate().equals(existingUser.getHireDate())) {
             existingUser.setHireDate(userDTO.getHireDate());
+            changed = true;
         }
 
+        if (!changed) {
+            return convertToDto(existingUser);
+        }
         return convertToDto(userRepository.save(existingUser));
     }
 
@@ -82,6 +158,10 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + id);
         }
+        // Un usuario con productos se da de baja por bloques (UserOffboardingService) para no fallar por la clave foránea
+        if (productRepository.existsByRegisteredByIdOrLastModifiedById(id, id)) {
+            throw new BadRequestException(ErrorConstants.USUARIO_TIENE_PRODUCTOS);
+        }
         userRepository.deleteById(id);
     }
 
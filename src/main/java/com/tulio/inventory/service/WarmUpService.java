@@ -0,0 +1,201 @@
+package com.tulio.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.dto.WarmUpStatusDTO;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.util.TimeBudget;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Calentamiento del arranque, para que las primeras peticiones tras un despliegue no paguen el pool vacío,
+ * la caché de lecturas vacía y el código aún sin compilar por el JIT:
+ * <ol>
+ *     <li>Abre a la vez tantas conexiones como el mínimo de conexiones inactivas del pool.</li>
+ *     <li>Guarda en la caché de lecturas ({@link ResilientReadService}) los productos con actividad más reciente
+ *     y todos los usuarios.</li>
+ *     <li>Recorre {@code iterations} veces las lecturas de productos y usuarios (consulta, conversión a DTO y
+ *     serialización JSON).</li>
+ * </ol>
+ * Se ejecuta como {@link ApplicationRunner}: Spring Boot no pasa el estado de disponibilidad a ACCEPTING_TRAFFIC
+ * (sonda /health/readiness) hasta que termina, o hasta que se agota {@code timeout-ms}. Un fallo del
+ * calentamiento solo se registra en el log; la aplicación arranca igualmente.
+ */
+@Service
+public class WarmUpService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpService.class);
+
+    enum State { DISABLED, PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED }
+
+    private final ProductService productService;
+    private final UserService userService;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final SqlStatisticsService sqlStatisticsService;
+    private final long timeoutMs;
+    private final int hotProducts;
+    private final int iterations;
+
+    private final AtomicReference<State> state;
+    private volatile LocalDateTime startedAt;
+    private volatile long durationMs;
+    private volatile int connectionsOpened;
+    private volatile int productsPreloaded;
+    private volatile int usersPreloaded;
+    private volatile int completedIterations;
+    private volatile String error;
+
+    public WarmUpService(ProductService productService,
+                         UserService userService,
+                         DataSource dataSource,
+                         ObjectMapper objectMapper,
+                         SqlStatisticsService sqlStatisticsService,
+                         @Value("${inventory.warmup.enabled:true}") boolean enabled,
+                         @Value("${inventory.warmup.timeout-ms:30000}") long timeoutMs,
+                         @Value("${inventory.warmup.hot-products:100}") int hotProducts,
+                         @Value("${inventory.warmup.iterations:500}") int iterations) {
+        this.productService = productService;
+        this.userService = userService;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.sqlStatisticsService = sqlStatisticsService;
+        this.timeoutMs = timeoutMs;
+        this.hotProducts = hotProducts;
+        this.iterations = iterations;
+        this.state = new AtomicReference<>(enabled ? State.PENDING : State.DISABLED);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    // Bloquea hasta que el calentamiento termina o se agota el tiempo máximo
+    void warmUp() {
+        if (!state.compareAndSet(State.PENDING, State.RUNNING)) {
+            return;
+        }
+        startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        // En un hilo aparte para poder abandonarlo al agotar el tiempo, aunque esté esperando una conexión
+        Thread worker = new Thread(this::runPhases, "warm-up");
+        worker.setDaemon(true);
+        worker.start();
+        try {
+            worker.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (state.compareAndSet(State.RUNNING, State.TIMED_OUT)) {
+            worker.interrupt();
+            log.warn("Calentamiento interrumpido tras {} ms: {} productos, {} usuarios, {} de {} vueltas",
+                    timeoutMs, productsPreloaded, usersPreloaded, completedIterations, iterations);
+        }
+        durationMs = (System.nanoTime() - start) / 1_000_000;
+        if (state.get() == State.COMPLETED) {
+            log.info("Calentamiento completado en {} ms: {} conexiones, {} productos, {} usuarios, {} vueltas",
+                    durationMs, connectionsOpened, productsPreloaded, usersPreloaded, completedIterations);
+        }
+    }
+
+    public WarmUpStatusDTO getStatus() {
+        return new WarmUpStatusDTO(state.get().name(), startedAt, durationMs, connectionsOpened,
+                productsPreloaded, usersPreloaded, completedIterations, error);
+    }
+
+    private void runPhases() {
+        // Las sentencias SQL del calentamiento se cancelan al agotarse el tiempo máximo (ver TimeBudgetConfig)
+        TimeBudget.begin("warm-up", timeoutMs);
+        try {
+            openConnections();
+            List<Long> productIds = productService.preloadRecentProducts(hotProducts);
+            productsPreloaded = productIds.size();
+            List<Long> userIds = userService.preloadUsers();
+            usersPreloaded = userIds.size();
+            exerciseReadPaths(productIds, userIds);
+            if (state.compareAndSet(State.RUNNING, State.COMPLETED)) {
+                // Miles de lecturas del calentamiento no deben aparecer en GET /api/admin/sql-statistics
+                sqlStatisticsService.reset();
+            }
+        } catch (RuntimeException e) {
+            if (state.compareAndSet(State.RUNNING, State.FAILED)) {
+                error = e.getMessage();
+                log.warn("El calentamiento falló; la aplicación arranca sin él", e);
+            }
+        } finally {
+            TimeBudget.end();
+        }
+    }
+
+    // Abre las conexiones a la vez para que el pool las cree todas ahora y no en las primeras peticiones
+    private void openConnections() {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            int target = 1;
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                target = Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle());
+            }
+            for (int i = 0; i < target; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("No se pudieron abrir las conexiones del calentamiento", e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("No se pudo devolver una conexión al pool", e);
+                }
+            }
+            connectionsOpened = connections.size();
+        }
+    }
+
+    private void exerciseReadPaths(List<Long> productIds, List<Long> userIds) {
+        if (productIds.isEmpty() && userIds.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < iterations && state.get() == State.RUNNING; i++) {
+            try {
+                if (!productIds.isEmpty()) {
+                    ProductResponseDTO product = productService.getProductById(productIds.get(i % productIds.size()));
+                    serialize(product);
+                    serialize(productService.searchProducts(new ProductSearchCriteria(null, null, product.getProductName())));
+                }
+                if (!userIds.isEmpty()) {
+                    serialize(userService.getUserById(userIds.get(i % userIds.size())));
+                }
+            } catch (ResourceNotFoundException e) {
+                // Producto o usuario eliminado durante el calentamiento: se sigue con el siguiente
+            }
+            completedIterations = i + 1;
+        }
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.tulio.inventory.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Cortocircuito con ventana de las últimas N llamadas.
+ * <ul>
+ *     <li>CLOSED: todas las llamadas pasan. Si en la ventana hay al menos {@code minimumCalls} resultados y el
+ *     porcentaje de fallos (errores o llamadas más lentas que {@code slowCallThresholdMs}) alcanza el umbral,
+ *     pasa a OPEN.</li>
+ *     <li>OPEN: se rechazan las llamadas durante {@code openDurationMs}.</li>
+ *     <li>HALF_OPEN: se deja pasar una única llamada de prueba; si va bien se cierra, si falla vuelve a OPEN.</li>
+ * </ul>
+ * Quien obtiene permiso con {@link #tryAcquirePermission()} debe informar el resultado con
+ * {@link #onSuccess(long)}, {@link #onFailure()} u {@link #onIgnored()}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    // Ventana circular: true = fallo
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInProgress;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long slowCallThresholdMs, long openDurationMs) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallThresholdMs, openDurationMs, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long slowCallThresholdMs, long openDurationMs,
+                   LongSupplier nanoClock) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThresholdNanos = slowCallThresholdMs * 1_000_000;
+        this.openDurationNanos = openDurationMs * 1_000_000;
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInProgress = true;
+                return true;
+            default:
+                if (trialInProgress) {
+                    return false;
+                }
+                trialInProgress = true;
+                return true;
+        }
+    }
+
+    // Devuelve true si esta llamada cerró el cortocircuito (fin de una caída)
+    public synchronized boolean onSuccess(long elapsedNanos) {
+        if (elapsedNanos >= slowCallThresholdNanos) {
+            recordFailure();
+            return false;
+        }
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            trialInProgress = false;
+            resetWindow();
+            return true;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+        return false;
+    }
+
+    public synchronized void onFailure() {
+        recordFailure();
+    }
+
+    // La llamada terminó sin un resultado que diga algo de la salud del servicio (p. ej. cancelada por el cliente):
+    // no cuenta en la ventana, pero libera la llamada de prueba en HALF_OPEN
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInProgress = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Porcentaje de fallos en la ventana actual
+    public synchronized int getFailureRate() {
+        return windowCount == 0 ? 0 : windowFailures * 100 / windowCount;
+    }
+
+    private void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                open();
+            }
+        }
+        // En OPEN se ignoran los resultados de llamadas que empezaron antes de abrirse
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        trialInProgress = false;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
@@ -7,6 +7,11 @@ public class ErrorConstants {
     public static final String EDAD_USUARIO_DEBE_SER_POSITIVA = "La edad del usuario debe ser un número positivo.";
     public static final String CARGO_USUARIO_NO_PUEDER_ESTAR_VACIO = "El cargo del usuario no puede estar vacío.";
     public static final String USUARIO_EXISTE_NOMBRE = "Ya existe un usuario con el nombre: ";
+    public static final String USUARIO_TIENE_PRODUCTOS = "El usuario tiene productos registrados o modificados; use la baja por bloques (POST /api/users/{id}/offboarding).";
+    public static final String USUARIO_REASIGNACION_MISMO_USUARIO = "No se pueden reasignar los productos al mismo usuario que se da de baja.";
+    public static final String BAJA_USUARIO_EN_CURSO = "Ya hay una baja en curso para el usuario con ID: ";
+    public static final String TAMANO_PAGINA_INVALIDO = "El tamaño de página debe estar entre 1 y ";
+    public static final String BAJA_NO_ENCONTRADA_ID = "Proceso de baja no encontrado con ID: ";
 
     // Errores de producto
     public static final String ESPECIFICAR_USUARIO = "Debe especificar el usuario que realiza el registro.";
@@ -17,7 +22,29 @@ public class ErrorConstants {
     public static final String FILTRO_BUSQUEDA_VACIO = "Debe proporcionar al menos un filtro de búsqueda (fecha, usuario o nombre de producto).";
     public static final String NOMBRE_PRODUCTO_NO_PUEDE_SER_VACIO = "El nombre del producto no puede estar vacío.";
     public static final String CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA = "La cantidad del producto debe ser un número entero positivo.";
+    public static final String AGRUPACION_ESTADISTICAS_INVALIDA = "Agrupación no válida. Valores permitidos: day, week, month.";
+    public static final String ORDEN_BUSQUEDA_INVALIDO = "Orden no válido. Valores permitidos: entryDate, productName, quantity, lastModificationDate.";
+    public static final String DIRECCION_ORDEN_INVALIDA = "Dirección de orden no válida. Valores permitidos: asc, desc.";
+    public static final String LIMITE_RESULTADOS_INVALIDO = "El límite de resultados debe estar entre 1 y ";
+    public static final String LISTA_IDS_VACIA = "Debe indicar al menos un ID de producto.";
+    public static final String LISTA_IDS_EXCEDE_MAXIMO = "El número de IDs supera el máximo permitido por petición: ";
+    public static final String CAMPO_PRODUCTO_INVALIDO = "Campo no válido en fields. Valores permitidos: id, productName, quantity, entryDate, registeredByName, lastModifiedByName, lastModificationDate. Recibido: ";
+
+    // Errores de operaciones masivas
+    public static final String FILTRO_ELIMINACION_MASIVA_VACIO = "Debe indicar al menos una fecha de ingreso (desde o hasta) para la eliminación masiva.";
+    public static final String LISTA_CANTIDADES_VACIA = "Debe indicar al menos un producto a actualizar.";
+    public static final String LISTA_CANTIDADES_EXCEDE_MAXIMO = "El número de productos supera el máximo permitido por petición: ";
+    public static final String ID_PRODUCTO_REQUERIDO_EN_LISTA = "Cada elemento de la lista debe indicar el ID del producto.";
+    public static final String PRODUCTO_DUPLICADO_EN_LISTA = "El producto aparece más de una vez en la lista: ";
+
+    // Errores de administración
+    public static final String TRAZA_NO_ENCONTRADA_ID = "Traza no encontrada con ID: ";
+
+    // Errores de disponibilidad
+    public static final String BASE_DATOS_NO_DISPONIBLE = "La base de datos no está disponible temporalmente. Intente de nuevo en unos segundos.";
+    public static final String TIEMPO_MAXIMO_AGOTADO = "La petición superó su tiempo máximo de respuesta (ms): ";
 
     // Errores compartidos
     public static final String FECHA_INGRESO_NO_PUEDE_SER_FUTURA = "La fecha de ingreso no puede ser futura.";
+    public static final String RANGO_FECHAS_INVALIDO = "La fecha inicial no puede ser posterior a la fecha final.";
 }
@@ -0,0 +1,96 @@
+package com.tulio.inventory.util;
+
+import com.tulio.inventory.exception.TimeBudgetExceededException;
+
+// Presupuesto de tiempo de la petición HTTP del hilo actual. Lo abre TimeBudgetInterceptor para los endpoints
+// de productos y usuarios; fuera de esas peticiones (hilos en segundo plano, pruebas unitarias) no hay presupuesto.
+public final class TimeBudget {
+
+    private static final ThreadLocal<ActiveBudget> CURRENT = new ThreadLocal<>();
+
+    private TimeBudget() {
+    }
+
+    public static void begin(String endpoint, long budgetMs) {
+        CURRENT.set(new ActiveBudget(endpoint, budgetMs));
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static String currentEndpoint() {
+        ActiveBudget budget = CURRENT.get();
+        return budget != null ? budget.endpoint : null;
+    }
+
+    public static long currentBudgetMillis() {
+        ActiveBudget budget = CURRENT.get();
+        return budget != null ? budget.budgetMs : 0;
+    }
+
+    // Long.MAX_VALUE si no hay presupuesto activo; 0 o negativo si ya se agotó
+    public static long remainingMillis() {
+        ActiveBudget budget = CURRENT.get();
+        if (budget == null) {
+            return Long.MAX_VALUE;
+        }
+        return (budget.deadlineNanos - System.nanoTime()) / 1_000_000;
+    }
+
+    public static boolean isExhausted() {
+        ActiveBudget budget = CURRENT.get();
+        return budget != null && System.nanoTime() - budget.deadlineNanos >= 0;
+    }
+
+    // Se llama antes de cada sentencia SQL: con el presupuesto agotado no se envía nada más a la base de datos
+    public static void checkRemaining() {
+        if (isExhausted()) {
+            throw new TimeBudgetExceededException(currentEndpoint(), currentBudgetMillis());
+        }
+    }
+
+    public static void recordCancelledStatement() {
+        ActiveBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.cancelledStatements++;
+        }
+    }
+
+    // La petición terminó con el error de presupuesto agotado
+    public static void markExceeded() {
+        ActiveBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.exceeded = true;
+        }
+    }
+
+    // Cierra el presupuesto y devuelve su resultado, o null si no había presupuesto activo
+    public static Result end() {
+        ActiveBudget budget = CURRENT.get();
+        CURRENT.remove();
+        if (budget == null) {
+            return null;
+        }
+        long elapsedMs = (System.nanoTime() - budget.startNanos) / 1_000_000;
+        return new Result(budget.endpoint, budget.budgetMs, elapsedMs, budget.exceeded, budget.cancelledStatements);
+    }
+
+    public record Result(String endpoint, long budgetMs, long elapsedMs, boolean exceeded, int cancelledStatements) {
+    }
+
+    private static final class ActiveBudget {
+        private final String endpoint;
+        private final long budgetMs;
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private boolean exceeded;
+        private int cancelledStatements;
+
+        private ActiveBudget(String endpoint, long budgetMs) {
+            this.endpoint = endpoint;
+            this.budgetMs = budgetMs;
+            this.deadlineNanos = startNanos + budgetMs * 1_000_000;
+        }
+    }
+}
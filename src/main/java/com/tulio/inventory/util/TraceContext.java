@@ -0,0 +1,122 @@
+package com.tulio.inventory.util;
+
+import com.tulio.inventory.dto.SpanDTO;
+import com.tulio.inventory.dto.TraceDTO;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Traza activa del hilo actual. La abre TracingFilter al recibir la petición; fuera de una petición
+// (hilos en segundo plano, pruebas unitarias) no hay traza y startSpan no registra nada.
+public final class TraceContext {
+
+    public static final String LAYER_HTTP = "HTTP";
+    public static final String LAYER_CONTROLLER = "CONTROLLER";
+    public static final String LAYER_SERVICE = "SERVICE";
+    public static final String LAYER_REPOSITORY = "REPOSITORY";
+
+    // Límite de spans por traza para acotar la memoria en peticiones que llaman a un repositorio en bucle
+    static final int MAX_SPANS_PER_TRACE = 500;
+
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static void begin(String traceId, String rootName) {
+        ActiveTrace trace = new ActiveTrace(traceId);
+        CURRENT.set(trace);
+        trace.open.push(new Span(trace, null, rootName, LAYER_HTTP));
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static String currentTraceId() {
+        ActiveTrace trace = CURRENT.get();
+        return trace != null ? trace.traceId : null;
+    }
+
+    // Devuelve null si no hay traza activa
+    public static Span startSpan(String name, String layer) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+        Span parent = trace.open.peek();
+        Span span = new Span(trace, parent != null ? parent.spanId : null, name, layer);
+        trace.open.push(span);
+        return span;
+    }
+
+    public static void endSpan(Span span, Throwable error) {
+        if (span == null) {
+            return;
+        }
+        ActiveTrace trace = span.trace;
+        trace.open.remove(span);
+        if (trace.finished.size() < MAX_SPANS_PER_TRACE) {
+            trace.finished.add(span.finish(error));
+        } else {
+            trace.droppedSpans++;
+        }
+    }
+
+    // Cierra el span raíz y devuelve la traza completa, o null si no había traza activa
+    public static TraceDTO end(Throwable error) {
+        ActiveTrace trace = CURRENT.get();
+        CURRENT.remove();
+        if (trace == null) {
+            return null;
+        }
+        Span root = trace.open.peekLast();
+        SpanDTO rootSpan = root.finish(error);
+        List<SpanDTO> spans = new ArrayList<>(trace.finished.size() + 1);
+        spans.addAll(trace.finished);
+        spans.add(rootSpan);
+        return new TraceDTO(trace.traceId, rootSpan.getName(), trace.startTime, rootSpan.getDurationMicros(), trace.droppedSpans, spans);
+    }
+
+    private static final class ActiveTrace {
+        private final String traceId;
+        private final Instant startTime = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final Deque<Span> open = new ArrayDeque<>();
+        private final List<SpanDTO> finished = new ArrayList<>();
+        private int nextSpanId = 1;
+        private int droppedSpans;
+
+        private ActiveTrace(String traceId) {
+            this.traceId = traceId;
+        }
+    }
+
+    public static final class Span {
+        private final ActiveTrace trace;
+        private final String spanId;
+        private final String parentSpanId;
+        private final String name;
+        private final String layer;
+        private final long startNanos = System.nanoTime();
+
+        private Span(ActiveTrace trace, String parentSpanId, String name, String layer) {
+            this.trace = trace;
+            this.spanId = Integer.toHexString(trace.nextSpanId++);
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+            this.layer = layer;
+        }
+
+        private SpanDTO finish(Throwable error) {
+            long endNanos = System.nanoTime();
+            return new SpanDTO(spanId, parentSpanId, name, layer,
+                    (startNanos - trace.startNanos) / 1_000,
+                    (endNanos - startNanos) / 1_000,
+                    error != null ? error.getClass().getName() : null);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Esquema inicial, equivalente al que generaba Hibernate con ddl-auto=update.
+-- Las bases de datos existentes se marcan como línea base en esta versión (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name      VARCHAR(255) NOT NULL,
+    age       INTEGER      NOT NULL,
+    position  VARCHAR(255) NOT NULL,
+    hire_date DATE         NOT NULL,
+    CONSTRAINT uk_users_name UNIQUE (name)
+);
+
+CREATE TABLE products (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_name             VARCHAR(255) NOT NULL,
+    quantity                 INTEGER      NOT NULL,
+    entry_date               DATE         NOT NULL,
+    registered_by_user_id    BIGINT       NOT NULL,
+    last_modified_by_user_id BIGINT,
+    last_modification_date   TIMESTAMP(6),
+    CONSTRAINT uk_products_product_name UNIQUE (product_name),
+    CONSTRAINT fk_products_registered_by FOREIGN KEY (registered_by_user_id) REFERENCES users (id),
+    CONSTRAINT fk_products_last_modified_by FOREIGN KEY (last_modified_by_user_id) REFERENCES users (id)
+);
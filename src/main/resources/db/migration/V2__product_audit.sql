@@ -0,0 +1,16 @@
+-- Historial de cambios de productos (ProductAuditService).
+-- IF NOT EXISTS: en instalaciones previas la tabla pudo haber sido creada por ddl-auto=update.
+
+CREATE TABLE IF NOT EXISTS product_audit (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id            BIGINT       NOT NULL,
+    action                VARCHAR(10)  NOT NULL,
+    user_id               BIGINT,
+    change_date           TIMESTAMP(6) NOT NULL,
+    previous_product_name VARCHAR(255),
+    previous_quantity     INTEGER,
+    previous_entry_date   DATE,
+    new_product_name      VARCHAR(255),
+    new_quantity          INTEGER,
+    new_entry_date        DATE
+);
@@ -0,0 +1,19 @@
+-- Índices para las consultas de ProductRepository y ProductAuditRepository.
+
+-- findByEntryDate, findByEntryDateAnd...
+CREATE INDEX IF NOT EXISTS idx_products_entry_date ON products (entry_date);
+
+-- findByRegisteredBy, findByRegisteredByAnd..., y la comprobación de FK al eliminar usuarios
+CREATE INDEX IF NOT EXISTS idx_products_registered_by ON products (registered_by_user_id);
+
+-- Comprobación de FK al eliminar usuarios
+CREATE INDEX IF NOT EXISTS idx_products_last_modified_by ON products (last_modified_by_user_id);
+
+-- findBy...ProductNameContainingIgnoreCase: Spring Data genera "upper(product_name) like upper('%x%')",
+-- un patrón con comodín inicial que un B-tree no puede usar; un índice de trigramas sobre la misma
+-- expresión sí lo cubre.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_product_name_trgm ON products USING gin (upper(product_name) gin_trgm_ops);
+
+-- findByProductIdOrderByChangeDateDescIdDesc
+CREATE INDEX IF NOT EXISTS idx_product_audit_product_date ON product_audit (product_id, change_date DESC, id DESC);
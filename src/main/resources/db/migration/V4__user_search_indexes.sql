@@ -0,0 +1,11 @@
+-- Índices para el listado paginado de usuarios (UserService.searchUsers).
+
+-- Prefijo de nombre sin distinción de mayúsculas: "lower(name) like 'abc%'". text_pattern_ops permite
+-- usar el B-tree con LIKE aunque la collation de la base de datos no sea "C".
+CREATE INDEX IF NOT EXISTS idx_users_lower_name_pattern ON users (lower(name) text_pattern_ops);
+
+-- Filtro por cargo recorrido en orden de id (paginación por clave)
+CREATE INDEX IF NOT EXISTS idx_users_position_id ON users (position, id);
+
+-- Rango de fechas de contratación
+CREATE INDEX IF NOT EXISTS idx_users_hire_date ON users (hire_date);
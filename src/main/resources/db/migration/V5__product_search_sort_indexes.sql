@@ -0,0 +1,16 @@
+-- Índices para la búsqueda de productos con rango de fechas, orden y límite (ProductService.searchProducts).
+-- Cada orden incluye id como desempate, de modo que "ORDER BY <columna>, id LIMIT n" se resuelve
+-- recorriendo el índice sin ordenar todo el resultado. product_name es único y ya tiene su índice.
+
+-- Rango u orden por fecha de ingreso; sustituye al índice simple sobre entry_date
+CREATE INDEX IF NOT EXISTS idx_products_entry_date_id ON products (entry_date, id);
+DROP INDEX IF EXISTS idx_products_entry_date;
+
+-- Productos de un usuario filtrados u ordenados por fecha; su prefijo sigue sirviendo para la FK
+-- y para las consultas por usuario, así que sustituye al índice simple sobre registered_by_user_id
+CREATE INDEX IF NOT EXISTS idx_products_registered_by_entry_date ON products (registered_by_user_id, entry_date, id);
+DROP INDEX IF EXISTS idx_products_registered_by;
+
+-- Orden por cantidad y por última modificación
+CREATE INDEX IF NOT EXISTS idx_products_quantity_id ON products (quantity, id);
+CREATE INDEX IF NOT EXISTS idx_products_last_modification_id ON products (last_modification_date, id);
@@ -0,0 +1,17 @@
+-- Bandeja de salida de eventos de productos (ProductOutboxService).
+-- Cada fila se inserta en la misma transacción que el cambio del producto y se elimina cuando el relé
+-- la ha entregado al publicador. Las columnas coinciden con product_audit.
+
+CREATE TABLE product_outbox (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id            BIGINT       NOT NULL,
+    action                VARCHAR(10)  NOT NULL,
+    user_id               BIGINT,
+    change_date           TIMESTAMP(6) NOT NULL,
+    previous_product_name VARCHAR(255),
+    previous_quantity     INTEGER,
+    previous_entry_date   DATE,
+    new_product_name      VARCHAR(255),
+    new_quantity          INTEGER,
+    new_entry_date        DATE
+);
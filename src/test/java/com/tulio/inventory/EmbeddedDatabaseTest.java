@@ -0,0 +1,44 @@
+package com.tulio.inventory;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Base de las pruebas que levantan el contexto completo: PostgreSQL embebido (io.zonky.test) con el esquema de Flyway.
+// Se arranca una única instancia por JVM, compartida por todas las clases que extienden esta.
+public abstract class EmbeddedDatabaseTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> database().getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        // El calentamiento solo retrasaría el arranque de cada contexto
+        registry.add("inventory.warmup.enabled", () -> "false");
+        // Puerto gRPC libre: varios contextos de prueba pueden estar abiertos a la vez
+        registry.add("inventory.grpc.port", () -> "0");
+    }
+
+    private static synchronized EmbeddedPostgres database() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo arrancar PostgreSQL embebido", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // La JVM está terminando
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @SpringBootTest
-class InventoryApplicationTests {
+class InventoryApplicationTests extends EmbeddedDatabaseTest {
 
     @Autowired
     private UserService userService;
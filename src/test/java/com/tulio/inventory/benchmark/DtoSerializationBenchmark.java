@@ -0,0 +1,112 @@
+package com.tulio.inventory.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.tulio.inventory.config.DtoJsonSerializers;
+import com.tulio.inventory.datagen.SyntheticDataGenerator;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.UserDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Serialización de un listado de productos/usuarios hacia un OutputStream, como hace el conversor HTTP de Spring MVC.
+// "reflection" es el serializador por defecto de Jackson; "handWritten" usa DtoJsonSerializers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"100"})
+    private int listSize;
+
+    private ObjectMapper reflectionMapper;
+    private ObjectMapper handWrittenMapper;
+    private List<ProductResponseDTO> products;
+    private List<UserDTO> users;
+    private CountingOutputStream out;
+
+    @Setup
+    public void setUp() {
+        reflectionMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(ProductResponseDTO.class, new DtoJsonSerializers.ProductResponseSerializer());
+        module.addSerializer(UserDTO.class, new DtoJsonSerializers.UserSerializer());
+        handWrittenMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(module)
+                .build();
+
+        // Filas sintéticas deterministas: nombres y cantidades con la variedad de un inventario real
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42, listSize, listSize);
+        Map<Long, String> userNames = new HashMap<>();
+        users = new ArrayList<>(listSize);
+        for (SyntheticDataGenerator.UserRow user : generator.users()) {
+            userNames.put(user.id(), user.name());
+            users.add(new UserDTO(user.id(), user.name(), user.age(), user.position(), user.hireDate()));
+        }
+        products = new ArrayList<>(listSize);
+        for (SyntheticDataGenerator.ProductRow product : generator.products()) {
+            products.add(new ProductResponseDTO(product.id(), product.productName(), product.quantity(), product.entryDate(),
+                    userNames.get(product.registeredByUserId()), userNames.get(product.lastModifiedByUserId()),
+                    product.lastModificationDate()));
+        }
+        out = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public long reflectionProducts() throws IOException {
+        reflectionMapper.writeValue(out, products);
+        return out.count;
+    }
+
+    @Benchmark
+    public long handWrittenProducts() throws IOException {
+        handWrittenMapper.writeValue(out, products);
+        return out.count;
+    }
+
+    @Benchmark
+    public long reflectionUsers() throws IOException {
+        reflectionMapper.writeValue(out, users);
+        return out.count;
+    }
+
+    @Benchmark
+    public long handWrittenUsers() throws IOException {
+        handWrittenMapper.writeValue(out, users);
+        return out.count;
+    }
+
+    // Descarta los bytes para medir solo la serialización; writeValue no cierra el flujo al terminar
+    static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
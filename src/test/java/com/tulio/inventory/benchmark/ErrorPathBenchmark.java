@@ -0,0 +1,90 @@
+package com.tulio.inventory.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.exception.GlobalExceptionHandler;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.util.ErrorConstants;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Coste de una respuesta 404 de negocio: creación de la excepción a cierta profundidad de pila
+// (Tomcat + Spring MVC añaden decenas de marcos) más el cuerpo de error serializado.
+// "legacy" reproduce la implementación anterior: excepción con traza de pila y cuerpo en HashMap.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"64"})
+    private int stackDepth;
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+    private WebRequest request;
+    private long productId;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        handler = new GlobalExceptionHandler();
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/products/999"));
+        productId = 999L;
+    }
+
+    @Benchmark
+    public byte[] legacyErrorPath() throws JsonProcessingException {
+        try {
+            throwLegacy(stackDepth);
+            return null;
+        } catch (LegacyNotFoundException ex) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now());
+            body.put("message", ex.getMessage());
+            body.put("path", request.getDescription(false));
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+
+    @Benchmark
+    public byte[] currentErrorPath() throws JsonProcessingException {
+        try {
+            throwCurrent(stackDepth);
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            return objectMapper.writeValueAsBytes(handler.handleResourceNotFoundException(ex, request).getBody());
+        }
+    }
+
+    private void throwLegacy(int depth) {
+        if (depth == 0) {
+            throw new LegacyNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + productId);
+        }
+        throwLegacy(depth - 1);
+    }
+
+    private void throwCurrent(int depth) {
+        if (depth == 0) {
+            throw new ResourceNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + productId);
+        }
+        throwCurrent(depth - 1);
+    }
+
+    // Equivalente a ResourceNotFoundException antes del cambio
+    static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tulio.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tulio.inventory.dto.ProductBatchItemDTO;
+import com.tulio.inventory.dto.ProductField;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.dto.UserPageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compara la salida del ObjectMapper de la aplicación (con los serializadores propios) con la de Jackson por reflexión
+@JsonTest
+class DtoJsonSerializersTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Mismos valores por defecto que JacksonAutoConfiguration, sin los serializadores propios
+    private final ObjectMapper reflectionMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void productSerializer_ShouldMatchReflectionOutputByteForByte() throws Exception {
+        List<ProductResponseDTO> products = new ArrayList<>();
+        products.add(new ProductResponseDTO(1L, "Llanta 16", 10, LocalDate.of(2024, 1, 5), "Ana", "Bob",
+                LocalDateTime.of(2024, 1, 5, 10, 30)));
+        products.add(new ProductResponseDTO(2L, "Tornillo \"M8\" \\ ñandú é\t€", Integer.MAX_VALUE, LocalDate.of(999, 12, 31),
+                "Ana", null, LocalDateTime.of(2024, 2, 29, 0, 0, 0, 123_456_789)));
+        products.add(new ProductResponseDTO(Long.MAX_VALUE, "", 0, LocalDate.of(2024, 10, 1), null, null, null));
+        products.add(new ProductResponseDTO());
+        for (int nanos : new int[]{1, 1_000, 100_000_000, 120_000_000, 999_999_999}) {
+            products.add(new ProductResponseDTO(3L, "P", 1, LocalDate.of(1, 1, 1), "U", "U",
+                    LocalDateTime.of(2023, 12, 31, 23, 59, 59, nanos)));
+        }
+        // Años fuera de 0-9999: camino de respaldo con DateTimeFormatter
+        products.add(new ProductResponseDTO(4L, "P", 1, LocalDate.of(10_000, 1, 1), "U", "U",
+                LocalDateTime.of(-5, 6, 7, 8, 9, 10)));
+
+        for (ProductResponseDTO product : products) {
+            assertArrayEquals(reflectionMapper.writeValueAsBytes(product), objectMapper.writeValueAsBytes(product),
+                    () -> safeWrite(product));
+        }
+        assertArrayEquals(reflectionMapper.writeValueAsBytes(products), objectMapper.writeValueAsBytes(products));
+    }
+
+    @Test
+    void userSerializer_ShouldMatchReflectionOutputByteForByte() throws Exception {
+        List<UserDTO> users = List.of(
+                new UserDTO(1L, "Ana Pérez", 30, "Desarrolladora", LocalDate.of(2020, 3, 9)),
+                new UserDTO(2L, null, null, null, null),
+                new UserDTO());
+
+        for (UserDTO user : users) {
+            assertArrayEquals(reflectionMapper.writeValueAsBytes(user), objectMapper.writeValueAsBytes(user));
+        }
+        assertArrayEquals(reflectionMapper.writeValueAsBytes(users), objectMapper.writeValueAsBytes(users));
+    }
+
+    @Test
+    void serializers_ShouldBeUsedInsideContainerDtos() throws Exception {
+        // Arrange
+        UserPageDTO page = new UserPageDTO(List.of(new UserDTO(1L, "Ana", 30, "Dev", LocalDate.of(2020, 1, 1))), 1L);
+        ProductBatchItemDTO item = new ProductBatchItemDTO(1L, true,
+                new ProductResponseDTO(1L, "P", 1, LocalDate.of(2024, 1, 1), "Ana", null, LocalDateTime.of(2024, 1, 1, 8, 0)));
+
+        // Act & Assert
+        assertEquals(reflectionMapper.writeValueAsString(page), objectMapper.writeValueAsString(page));
+        assertEquals(reflectionMapper.writeValueAsString(item), objectMapper.writeValueAsString(item));
+        assertTrue(objectMapper.writeValueAsString(item).contains("\"lastModificationDate\":\"2024-01-01T08:00:00\""));
+    }
+
+    @Test
+    void productSerializer_WithFields_ShouldWriteOnlySelectedFieldsInDeclarationOrder() throws Exception {
+        // Arrange
+        ProductResponseDTO product = new ProductResponseDTO(7L, "Llanta", 3, LocalDate.of(2024, 1, 5), "Ana", null, null);
+        product.setFields(EnumSet.of(ProductField.REGISTERED_BY_NAME, ProductField.ID, ProductField.LAST_MODIFIED_BY_NAME));
+
+        // Act & Assert
+        assertEquals("{\"id\":7,\"registeredByName\":\"Ana\",\"lastModifiedByName\":null}", objectMapper.writeValueAsString(product));
+    }
+
+    @Test
+    void serializers_ShouldBeRegisteredInApplicationMapper() {
+        assertInstanceOf(DtoJsonSerializers.ProductResponseSerializer.class,
+                assertDoesNotThrow(() -> objectMapper.getSerializerProviderInstance().findValueSerializer(ProductResponseDTO.class)));
+        assertInstanceOf(DtoJsonSerializers.UserSerializer.class,
+                assertDoesNotThrow(() -> objectMapper.getSerializerProviderInstance().findValueSerializer(UserDTO.class)));
+    }
+
+    private String safeWrite(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.dto.ProductAuditDTO;
+import com.tulio.inventory.dto.ProductCreationDTO;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductUpdateDTO;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.entity.User;
+import com.tulio.inventory.exception.GlobalExceptionHandler;
+import com.tulio.inventory.repository.ProductRepository;
+import com.tulio.inventory.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new InventoryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldCoverEntitiesAndDtos() {
+        for (Class<?> type : new Class<?>[]{Product.class, User.class, ProductAudit.class, ProductAudit.Action.class,
+                ProductCreationDTO.class, ProductResponseDTO.class, ProductUpdateDTO.class, UserDTO.class, ProductAuditDTO.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), "Sin pistas de reflexión para " + type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ProductResponseDTO.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldCoverRepositoryProxiesAndExceptionHandler() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(
+                AopProxyUtils.completeJdkProxyInterfaces(ProductRepository.class, Repository.class, TransactionalProxy.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(
+                AopProxyUtils.completeJdkProxyInterfaces(UserRepository.class, Repository.class, TransactionalProxy.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GlobalExceptionHandler.class).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldIncludeFlywayMigrations() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__initial_schema.sql").test(hints));
+    }
+}
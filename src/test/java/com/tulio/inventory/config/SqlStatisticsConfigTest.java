@@ -0,0 +1,58 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.dto.SqlStatementStatsDTO;
+import com.tulio.inventory.service.SqlStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGResultSetMetaData;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqlStatisticsConfigTest {
+
+    private static final String SELECT_PRODUCT = "select id, product_name from products where id > ?";
+
+    @Test
+    void proxiedResultSet_ShouldCountRowsReadAndDelegateOtherCalls() throws Exception {
+        // Arrange
+        SqlStatisticsService sqlStatisticsService = new SqlStatisticsService(1000);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("sqlStatisticsService", sqlStatisticsService);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString(2)).thenReturn("Tornillo", "Tuerca");
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(SELECT_PRODUCT)).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        DataSource proxy = (DataSource) SqlStatisticsConfig.sqlStatisticsDataSourceWrapper(
+                beanFactory.getBeanProvider(SqlStatisticsService.class)).postProcessAfterInitialization(dataSource, "dataSource");
+
+        // Act
+        int names = 0;
+        try (Connection proxyConnection = proxy.getConnection();
+             PreparedStatement proxyStatement = proxyConnection.prepareStatement(SELECT_PRODUCT);
+             ResultSet rows = proxyStatement.executeQuery()) {
+            while (rows.next()) {
+                names += rows.getString(2).length();
+            }
+            assertFalse(rows.isWrapperFor(PGResultSetMetaData.class));
+            assertSame(resultSet, rows.unwrap(ResultSet.class));
+        }
+
+        // Assert
+        assertEquals("Tornillo".length() + "Tuerca".length(), names);
+        SqlStatementStatsDTO stats = sqlStatisticsService.getStatistics().getStatements().get(0);
+        assertEquals(1, stats.getExecutions());
+        assertEquals(2, stats.getRows());
+        verify(resultSet).close();
+    }
+}
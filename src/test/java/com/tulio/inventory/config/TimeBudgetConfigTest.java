@@ -0,0 +1,82 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.exception.TimeBudgetExceededException;
+import com.tulio.inventory.util.TimeBudget;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class TimeBudgetConfigTest {
+
+    private final TimeBudgetConfig.StatementTimeoutListener listener = new TimeBudgetConfig.StatementTimeoutListener();
+    private final Statement statement = mock(Statement.class);
+
+    @AfterEach
+    void tearDown() {
+        TimeBudget.end();
+    }
+
+    @Test
+    void beforeQuery_WithoutActiveBudget_ShouldNotTouchStatement() {
+        // Act
+        listener.beforeQuery(executionInfo(), List.of());
+
+        // Assert
+        verifyNoInteractions(statement);
+    }
+
+    @Test
+    void beforeQuery_WithRemainingBudget_ShouldApplyRemainingTimeAsQueryTimeout() throws SQLException {
+        // Arrange
+        TimeBudget.begin("GET /api/products", 2500);
+
+        // Act
+        listener.beforeQuery(executionInfo(), List.of());
+
+        // Assert: un Statement que no es de PostgreSQL recibe el tiempo restante redondeado hacia arriba a segundos
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void beforeQuery_WithExhaustedBudget_ShouldFailWithoutExecuting() throws Exception {
+        // Arrange
+        TimeBudget.begin("GET /api/products", 1);
+        Thread.sleep(5);
+
+        // Act & Assert
+        TimeBudgetExceededException exception = assertThrows(TimeBudgetExceededException.class,
+                () -> listener.beforeQuery(executionInfo(), List.of()));
+        assertEquals("GET /api/products", exception.getEndpoint());
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void afterQuery_WhenStatementFailsAfterDeadline_ShouldCountCancelledStatement() throws InterruptedException {
+        // Arrange
+        TimeBudget.begin("GET /api/products", 1);
+        Thread.sleep(5);
+        ExecutionInfo executionInfo = executionInfo();
+        executionInfo.setThrowable(new SQLTimeoutException("canceling statement due to user request"));
+
+        // Act
+        listener.afterQuery(executionInfo, List.of());
+
+        // Assert
+        assertEquals(1, TimeBudget.end().cancelledStatements());
+    }
+
+    private ExecutionInfo executionInfo() {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setStatement(statement);
+        return executionInfo;
+    }
+}
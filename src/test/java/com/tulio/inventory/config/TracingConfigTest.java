@@ -0,0 +1,30 @@
+package com.tulio.inventory.config;
+
+import com.tulio.inventory.controller.InventoryGrpcController;
+import com.tulio.inventory.controller.ProductController;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.annotation.ReflectiveAspectJAdvisorFactory;
+import org.springframework.aop.aspectj.annotation.SingletonMetadataAwareAspectInstanceFactory;
+import org.springframework.aop.support.AopUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingConfigTest {
+
+    private final List<Advisor> advisors = new ReflectiveAspectJAdvisorFactory().getAdvisors(
+            new SingletonMetadataAwareAspectInstanceFactory(new TracingConfig.TracingAspect(), "tracingAspect"));
+
+    @Test
+    void tracingAspect_ShouldApplyToRestControllersButNotToGrpcServices() {
+        // Act
+        List<Advisor> restAdvisors = AopUtils.findAdvisorsThatCanApply(advisors, ProductController.class);
+        List<Advisor> grpcAdvisors = AopUtils.findAdvisorsThatCanApply(advisors, InventoryGrpcController.class);
+
+        // Assert: un proxy CGLIB no puede envolver bindService(), que es final
+        assertFalse(restAdvisors.isEmpty());
+        assertTrue(grpcAdvisors.isEmpty());
+    }
+}
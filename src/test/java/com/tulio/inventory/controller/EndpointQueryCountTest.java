@@ -0,0 +1,166 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.EmbeddedDatabaseTest;
+import com.tulio.inventory.dto.OffboardingJobDTO;
+import com.tulio.inventory.dto.RequestSqlStatsDTO;
+import com.tulio.inventory.service.SqlStatisticsService;
+import com.tulio.inventory.service.UserOffboardingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Número máximo de sentencias SQL por llamada a cada endpoint, contadas con la misma instrumentación que
+// GET /api/admin/sql-statistics. Un N+1 nuevo (p. ej. una relación perezosa recorrida al mapear a DTO) hace
+// crecer el recuento con el número de filas y supera el presupuesto declarado.
+// Si un cambio necesita legítimamente más sentencias, se sube el presupuesto de ese endpoint en endpointCalls().
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryCountTest extends EmbeddedDatabaseTest {
+
+    // 5 usuarios (el 5 sin productos) y 40 productos repartidos entre los usuarios 1-4, la mitad modificados
+    private static final String[] SEED_SQL = {
+            "TRUNCATE product_outbox, product_audit, products, users RESTART IDENTITY",
+            "INSERT INTO users (name, age, position, hire_date) "
+                    + "SELECT 'Usuario ' || g, 25 + g, CASE WHEN g % 2 = 0 THEN 'Analista' ELSE 'Desarrollador' END, "
+                    + "DATE '2020-01-01' + g * 30 FROM generate_series(1, 5) g",
+            "INSERT INTO products (product_name, quantity, entry_date, registered_by_user_id, "
+                    + "last_modified_by_user_id, last_modification_date) "
+                    + "SELECT 'Producto ' || g, g, DATE '2024-01-01' + g % 10, 1 + g % 4, "
+                    + "CASE WHEN g % 2 = 0 THEN 1 + (g + 1) % 4 END, "
+                    + "CASE WHEN g % 2 = 0 THEN TIMESTAMP '2024-02-01 10:00' + g * INTERVAL '1 hour' END "
+                    + "FROM generate_series(1, 40) g"
+    };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatisticsService sqlStatisticsService;
+
+    @Autowired
+    private UserOffboardingService userOffboardingService;
+
+    static Stream<EndpointCall> endpointCalls() {
+        return Stream.of(
+                // Productos: lecturas. Con userId la búsqueda comprueba antes que el usuario existe
+                new EndpointCall("GET /api/products/{id}", 1, get("/api/products/2")),
+                new EndpointCall("GET /api/products/all", 1, get("/api/products/all")),
+                new EndpointCall("GET /api/products/batch", 1, get("/api/products/batch?ids=1,2,3,4,5,999")),
+                // Con fields= la lectura va por proyección JDBC (sin usuarios si no se piden)
+                new EndpointCall("GET /api/products/{id}", 1, get("/api/products/2?fields=id,productName,quantity")),
+                new EndpointCall("GET /api/products/all", 1, get("/api/products/all?fields=id,productName,quantity")),
+                new EndpointCall("GET /api/products/all", 1, get("/api/products/all?fields=productName,registeredByName,lastModifiedByName")),
+                new EndpointCall("GET /api/products/batch", 1, get("/api/products/batch?ids=1,2,3,999&fields=id,quantity")),
+                new EndpointCall("GET /api/products", 2, get("/api/products?userId=1&sort=quantity&limit=5&fields=id,quantity")),
+                new EndpointCall("GET /api/products/{id}/history", 1, get("/api/products/2/history")),
+                new EndpointCall("GET /api/products/statistics", 1, get("/api/products/statistics?bucket=month")),
+                new EndpointCall("GET /api/products/faceted", 3, get("/api/products/faceted?userId=1")),
+                new EndpointCall("GET /api/products", 1, get("/api/products?entryDate=2024-01-05")),
+                new EndpointCall("GET /api/products", 2, get("/api/products?userId=1")),
+                new EndpointCall("GET /api/products", 1, get("/api/products?productName=producto")),
+                new EndpointCall("GET /api/products", 2, get("/api/products?entryDate=2024-01-05&userId=2")),
+                new EndpointCall("GET /api/products", 1, get("/api/products?entryDate=2024-01-05&productName=producto")),
+                new EndpointCall("GET /api/products", 2, get("/api/products?userId=1&productName=producto")),
+                new EndpointCall("GET /api/products", 2, get("/api/products?entryDate=2024-01-05&userId=2&productName=1")),
+                new EndpointCall("GET /api/products", 1, get("/api/products?entryDateFrom=2024-01-02&entryDateTo=2024-01-08")),
+                new EndpointCall("GET /api/products", 2, get("/api/products?userId=3&sort=quantity&direction=desc&limit=5")),
+                new EndpointCall("GET /api/products", 1, get("/api/products?productName=producto&sort=lastModificationDate")),
+                // Productos: escrituras (incluyen la búsqueda de los usuarios y el evento de la bandeja de salida)
+                new EndpointCall("POST /api/products", 4, post("/api/products").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productName\":\"Producto nuevo\",\"quantity\":5,\"entryDate\":\"2024-03-01\",\"registeredByUserId\":1}")),
+                new EndpointCall("PUT /api/products/{productId}", 4, put("/api/products/4").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productName\":\"Producto renombrado\",\"quantity\":7,\"entryDate\":\"2024-03-01\",\"lastModifiedByUserId\":2}")),
+                new EndpointCall("PATCH /api/products/{productId}", 3, patch("/api/products/4").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":9,\"lastModifiedByUserId\":2}")),
+                new EndpointCall("DELETE /api/products/{productId}", 3, delete("/api/products/4?requestingUserId=1")),
+                new EndpointCall("DELETE /api/products/bulk", 3,
+                        delete("/api/products/bulk?requestingUserId=1&entryDateFrom=2024-01-01&entryDateTo=2024-01-10")),
+                new EndpointCall("PUT /api/products/quantities", 4, put("/api/products/quantities").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastModifiedByUserId\":1,\"items\":[{\"productId\":1,\"quantity\":3},{\"productId\":2,\"quantity\":4},"
+                                + "{\"productId\":3,\"quantity\":5},{\"productId\":4,\"quantity\":6},{\"productId\":5,\"quantity\":7}]}")),
+                // Usuarios
+                new EndpointCall("GET /api/users", 1, get("/api/users")),
+                new EndpointCall("GET /api/users/{id}", 1, get("/api/users/1")),
+                new EndpointCall("GET /api/users/search", 1, get("/api/users/search?namePrefix=Usuario")),
+                new EndpointCall("GET /api/users/search", 1, get("/api/users/search?position=Analista&hireDateFrom=2020-01-01&hireDateTo=2021-01-01")),
+                new EndpointCall("GET /api/users/search", 1, get("/api/users/search?afterId=2&size=2")),
+                new EndpointCall("POST /api/users", 2, post("/api/users").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Usuario nuevo\",\"age\":30,\"position\":\"QA\",\"hireDate\":\"2024-01-15\"}")),
+                new EndpointCall("PUT /api/users/{id}", 3, put("/api/users/2").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Usuario renombrado\",\"age\":41,\"position\":\"Jefe\",\"hireDate\":\"2019-05-01\"}")),
+                new EndpointCall("PATCH /api/users/{id}", 2, patch("/api/users/2").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"position\":\"Jefe\"}")),
+                new EndpointCall("DELETE /api/users/{id}", 4, delete("/api/users/5")),
+                new EndpointCall("POST /api/users/{id}/offboarding", 2, post("/api/users/4/offboarding?reassignToUserId=1")),
+                // GraphQL: la página de productos y sus usuarios, resueltos en lote por el DataLoader
+                new EndpointCall("POST /api/graphql", 2, post("/api/graphql").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\":\"{ products(first: 500) { id productName registeredBy { name } lastModifiedBy { name } } }\"}")));
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        jdbcTemplate.batchUpdate(SEED_SQL);
+    }
+
+    // La baja de usuarios sigue en segundo plano; se espera a que termine antes de volver a sembrar los datos
+    @AfterEach
+    void awaitOffboardingJobs() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (userOffboardingService.getJobs().stream().anyMatch(EndpointQueryCountTest::isRunning)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpointCalls")
+    void endpoint_ShouldNotExceedStatementBudget(EndpointCall call) throws Exception {
+        // Arrange
+        sqlStatisticsService.reset();
+
+        // Act
+        mockMvc.perform(call.request()).andExpect(status().is2xxSuccessful());
+
+        // Assert
+        RequestSqlStatsDTO stats = sqlStatisticsService.getStatistics().getRequests().stream()
+                .filter(request -> request.getEndpoint().equals(call.endpoint()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No se registraron estadísticas SQL para " + call.endpoint()));
+        assertEquals(1, stats.getRequests());
+        assertTrue(stats.getStatements() <= call.maxStatements(),
+                () -> call + ": " + stats.getStatements() + " sentencias SQL, presupuesto " + call.maxStatements());
+    }
+
+    private static boolean isRunning(OffboardingJobDTO job) {
+        return job.getStatus().equals("PENDING") || job.getStatus().equals("RUNNING");
+    }
+
+    // endpoint es la clave de GET /api/admin/sql-statistics: método HTTP y patrón de la ruta
+    record EndpointCall(String endpoint, int maxStatements, MockHttpServletRequestBuilder request) {
+        @Override
+        public String toString() {
+            MockHttpServletRequest built = request.buildRequest(new MockServletContext());
+            String query = built.getQueryString() != null ? "?" + built.getQueryString() : "";
+            return built.getMethod() + " " + built.getRequestURI() + query;
+        }
+    }
+}
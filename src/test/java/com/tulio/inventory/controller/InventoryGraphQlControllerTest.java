@@ -0,0 +1,154 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.config.GraphQlConfig;
+import com.tulio.inventory.dto.ProductNodeDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.util.ErrorConstants;
+import com.tulio.inventory.service.GraphQlQueryService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@GraphQlTest(InventoryGraphQlController.class)
+@Import(GraphQlConfig.class)
+class InventoryGraphQlControllerTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockBean
+    private GraphQlQueryService graphQlQueryService;
+
+    private final UserDTO ana = new UserDTO(1L, "Ana", 30, "Analista", LocalDate.of(2020, 1, 1));
+    private final UserDTO bob = new UserDTO(2L, "Bob", 40, "Almacenista", LocalDate.of(2019, 1, 1));
+
+    private List<ProductNodeDTO> products() {
+        return List.of(
+                new ProductNodeDTO(10L, "Tornillo", 5, LocalDate.of(2024, 1, 5), 1L, 2L, LocalDateTime.of(2024, 2, 1, 9, 30)),
+                new ProductNodeDTO(11L, "Tuerca", 7, LocalDate.of(2024, 1, 6), 2L, null, null),
+                new ProductNodeDTO(12L, "Arandela", 9, LocalDate.of(2024, 1, 7), 1L, 1L, LocalDateTime.of(2024, 2, 2, 9, 30)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void products_WithUserFields_ShouldResolveAllUsersInOneBatchedLookup() {
+        // Arrange
+        when(graphQlQueryService.findProducts(any(), eq(50), isNull())).thenReturn(products());
+        when(graphQlQueryService.findUsersByIds(anyCollection())).thenReturn(Map.of(1L, ana, 2L, bob));
+
+        // Act & Assert
+        graphQlTester.document("{ products { productName registeredBy { name } lastModifiedBy { name } } }")
+                .execute()
+                .path("products[*].registeredBy.name").entityList(String.class).containsExactly("Ana", "Bob", "Ana")
+                .path("products[*].lastModifiedBy").entityList(Object.class).hasSize(3)
+                .path("products[0].lastModifiedBy.name").entity(String.class).isEqualTo("Bob")
+                .path("products[1].lastModifiedBy").valueIsNull();
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(graphQlQueryService, times(1)).findUsersByIds(ids.capture());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(ids.getValue()));
+    }
+
+    @Test
+    void products_WithoutUserFields_ShouldNotLoadUsers() {
+        // Arrange
+        when(graphQlQueryService.findProducts(any(), eq(50), isNull())).thenReturn(products());
+
+        // Act & Assert
+        graphQlTester.document("{ products { id quantity entryDate lastModificationDate } }")
+                .execute()
+                .path("products[0].id").entity(String.class).isEqualTo("10")
+                .path("products[0].entryDate").entity(String.class).isEqualTo("2024-01-05")
+                .path("products[1].lastModificationDate").valueIsNull();
+
+        verify(graphQlQueryService, never()).findUsersByIds(anyCollection());
+    }
+
+    @Test
+    void products_ShouldBindFilterAndPaginationArguments() {
+        // Arrange
+        when(graphQlQueryService.findProducts(any(), anyInt(), any())).thenReturn(List.of());
+
+        // Act
+        graphQlTester.document("{ products(filter: {entryDateFrom: \"2024-01-01\", userId: \"3\", productName: \"tor\"}, "
+                        + "first: 20, after: \"100\") { id } }")
+                .execute()
+                .path("products").entityList(Object.class).hasSize(0);
+
+        // Assert
+        ArgumentCaptor<ProductSearchCriteria> criteria = ArgumentCaptor.forClass(ProductSearchCriteria.class);
+        verify(graphQlQueryService).findProducts(criteria.capture(), eq(20), eq(100L));
+        assertEquals(LocalDate.of(2024, 1, 1), criteria.getValue().getEntryDateFrom());
+        assertEquals(3L, criteria.getValue().getUserId());
+        assertEquals("tor", criteria.getValue().getProductName());
+    }
+
+    @Test
+    void product_WhenNotFound_ShouldReturnNull() {
+        // Arrange
+        when(graphQlQueryService.findProduct(99L)).thenReturn(null);
+
+        // Act & Assert
+        graphQlTester.document("{ product(id: 99) { id } }")
+                .execute()
+                .path("product").valueIsNull();
+    }
+
+    @Test
+    void products_WithInvalidPageSize_ShouldReturnBadRequestError() {
+        // Arrange
+        when(graphQlQueryService.findProducts(any(), eq(501), any()))
+                .thenThrow(new BadRequestException(ErrorConstants.LIMITE_RESULTADOS_INVALIDO + 500));
+
+        // Act & Assert
+        graphQlTester.document("{ products(first: 501) { id } }")
+                .execute()
+                .errors()
+                .expect(error -> error.getErrorType() == ErrorType.BAD_REQUEST
+                        && (ErrorConstants.LIMITE_RESULTADOS_INVALIDO + 500).equals(error.getMessage()))
+                .verify();
+    }
+
+    @Test
+    void query_AboveComplexityLimit_ShouldBeRejectedBeforeReadingData() {
+        // Act & Assert: dos páginas de 500 productos (500 x 11 cada una) superan el máximo de 10000
+        graphQlTester.document("{ a: products(first: 500) { id productName quantity entryDate registeredBy { id name } lastModifiedBy { id name } }"
+                        + " b: products(first: 500, after: \"500\") { id productName quantity entryDate registeredBy { id name } lastModifiedBy { id name } } }")
+                .execute()
+                .errors()
+                .expect(error -> error.getMessage() != null && error.getMessage().contains("complexity"))
+                .verify();
+
+        verifyNoInteractions(graphQlQueryService);
+    }
+
+    @Test
+    void users_ShouldReturnRequestedFields() {
+        // Arrange
+        when(graphQlQueryService.findUsers(50, null)).thenReturn(List.of(ana, bob));
+
+        // Act & Assert
+        graphQlTester.document("{ users { name hireDate } }")
+                .execute()
+                .path("users[*].name").entityList(String.class).containsExactly("Ana", "Bob")
+                .path("users[0].hireDate").entity(String.class).isEqualTo("2020-01-01");
+    }
+}
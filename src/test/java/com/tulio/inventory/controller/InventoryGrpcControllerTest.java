@@ -0,0 +1,313 @@
+package com.tulio.inventory.controller;
+
+import com.tulio.inventory.dto.BulkOperationResultDTO;
+import com.tulio.inventory.dto.BulkQuantityUpdateDTO;
+import com.tulio.inventory.dto.ProductCreationDTO;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.grpc.AdjustQuantitiesSummary;
+import com.tulio.inventory.grpc.CreateProductRequest;
+import com.tulio.inventory.grpc.GetProductRequest;
+import com.tulio.inventory.grpc.InventoryServiceGrpc;
+import com.tulio.inventory.grpc.ListProductsRequest;
+import com.tulio.inventory.grpc.Product;
+import com.tulio.inventory.grpc.QuantityAdjustment;
+import com.tulio.inventory.service.ProductBulkService;
+import com.tulio.inventory.service.ProductService;
+import com.tulio.inventory.service.UserService;
+import com.tulio.inventory.util.ErrorConstants;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// La API gRPC sobre el transporte en proceso, que aplica el mismo control de flujo que HTTP/2
+@ExtendWith(MockitoExtension.class)
+class InventoryGrpcControllerTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ProductBulkService productBulkService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new InventoryGrpcController(productService, userService, productBulkService, PAGE_SIZE, BATCH_SIZE))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static ProductResponseDTO product(long id) {
+        return new ProductResponseDTO(id, "Producto " + id, 10, LocalDate.of(2024, 1, 5), "Ana", null, null);
+    }
+
+    @Test
+    void getProduct_ShouldReturnMappedProduct() {
+        // Arrange
+        ProductResponseDTO dto = new ProductResponseDTO(1L, "Tornillo", 5, LocalDate.of(2024, 1, 5), "Ana", "Bob",
+                LocalDateTime.of(2024, 2, 1, 10, 0));
+        when(productService.getProductById(1L)).thenReturn(dto);
+
+        // Act
+        Product product = InventoryServiceGrpc.newBlockingStub(channel).getProduct(GetProductRequest.newBuilder().setId(1).build());
+
+        // Assert
+        assertEquals("Tornillo", product.getProductName());
+        assertEquals("2024-01-05", product.getEntryDate());
+        assertEquals("Bob", product.getLastModifiedByName());
+        assertEquals("2024-02-01T10:00:00", product.getLastModificationDate());
+    }
+
+    @Test
+    void getProduct_WhenNotFound_ShouldReturnNotFoundStatus() {
+        // Arrange
+        when(productService.getProductById(99L)).thenThrow(new ResourceNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + 99));
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> InventoryServiceGrpc.newBlockingStub(channel).getProduct(GetProductRequest.newBuilder().setId(99).build()));
+
+        // Assert
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + 99, exception.getStatus().getDescription());
+    }
+
+    @Test
+    void createProduct_WithoutUser_ShouldPassNullUserAndReturnInvalidArgument() {
+        // Arrange
+        when(productService.createProduct(any())).thenThrow(new BadRequestException(ErrorConstants.ESPECIFICAR_USUARIO));
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> InventoryServiceGrpc.newBlockingStub(channel).createProduct(CreateProductRequest.newBuilder()
+                        .setProductName("Tuerca").setQuantity(3).setEntryDate("2024-03-01").build()));
+
+        // Assert
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        ArgumentCaptor<ProductCreationDTO> creation = ArgumentCaptor.forClass(ProductCreationDTO.class);
+        verify(productService).createProduct(creation.capture());
+        assertEquals(LocalDate.of(2024, 3, 1), creation.getValue().getEntryDate());
+        assertNull(creation.getValue().getRegisteredByUserId());
+    }
+
+    @Test
+    void listProducts_ShouldStreamEveryPageAndStopAfterShortPage() {
+        // Arrange
+        when(productService.getProductsPage(0L, PAGE_SIZE)).thenReturn(List.of(product(1), product(2)));
+        when(productService.getProductsPage(2L, PAGE_SIZE)).thenReturn(List.of(product(3)));
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        Iterator<Product> products = InventoryServiceGrpc.newBlockingStub(channel).listProducts(ListProductsRequest.getDefaultInstance());
+        products.forEachRemaining(product -> ids.add(product.getId()));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), ids);
+        verify(productService, times(2)).getProductsPage(anyLong(), anyInt());
+    }
+
+    @Test
+    void listProducts_ShouldNotReadNextPageUntilClientRequestsMore() throws Exception {
+        // Arrange
+        when(productService.getProductsPage(0L, PAGE_SIZE)).thenReturn(List.of(product(1), product(2)));
+        when(productService.getProductsPage(2L, PAGE_SIZE)).thenReturn(List.of(product(3), product(4)));
+        when(productService.getProductsPage(4L, PAGE_SIZE)).thenReturn(List.of());
+        BlockingQueue<Long> received = new LinkedBlockingQueue<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        List<ClientCallStreamObserver<ListProductsRequest>> requestStream = new ArrayList<>();
+
+        // Act: el cliente pide un solo mensaje
+        InventoryServiceGrpc.newStub(channel).listProducts(ListProductsRequest.getDefaultInstance(),
+                new ClientResponseObserver<ListProductsRequest, Product>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ListProductsRequest> stream) {
+                        stream.disableAutoRequestWithInitial(1);
+                        requestStream.add(stream);
+                    }
+
+                    @Override
+                    public void onNext(Product product) {
+                        received.add(product.getId());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completed.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.complete(null);
+                    }
+                });
+
+        // Assert: con un mensaje pedido solo se ha leído la primera página
+        assertEquals(1L, received.poll(5, TimeUnit.SECONDS));
+        assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+        verify(productService, times(1)).getProductsPage(anyLong(), anyInt());
+
+        requestStream.get(0).request(10);
+        completed.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(2L, 3L, 4L), List.copyOf(received));
+        verify(productService, times(3)).getProductsPage(anyLong(), anyInt());
+    }
+
+    @Test
+    void adjustQuantities_ShouldSaveInBatchesAndSplitWhenUserChanges() throws Exception {
+        // Arrange
+        when(productBulkService.updateQuantities(any())).thenAnswer(invocation -> {
+            BulkQuantityUpdateDTO update = invocation.getArgument(0);
+            boolean missing = update.getItems().stream().anyMatch(item -> item.getProductId() == 404L);
+            return new BulkOperationResultDTO(update.getItems().size(), update.getItems().size() - (missing ? 1 : 0),
+                    missing ? List.of(404L) : List.of());
+        });
+        CompletableFuture<AdjustQuantitiesSummary> summary = new CompletableFuture<>();
+
+        // Act
+        StreamObserver<QuantityAdjustment> requests = InventoryServiceGrpc.newStub(channel).adjustQuantities(observer(summary));
+        requests.onNext(adjustment(1, 5, 1));
+        requests.onNext(adjustment(2, 6, 1));
+        requests.onNext(adjustment(404, 7, 1));
+        requests.onNext(adjustment(1, 8, 2));
+        requests.onNext(adjustment(1, 9, 2));
+        requests.onCompleted();
+
+        // Assert
+        AdjustQuantitiesSummary result = summary.get(5, TimeUnit.SECONDS);
+        assertEquals(5, result.getReceived());
+        assertEquals(3, result.getUpdated());
+        assertEquals(List.of(404L), result.getNotFoundIdsList());
+        assertEquals(3, result.getBatches());
+        ArgumentCaptor<BulkQuantityUpdateDTO> updates = ArgumentCaptor.forClass(BulkQuantityUpdateDTO.class);
+        verify(productBulkService, times(3)).updateQuantities(updates.capture());
+        assertEquals(2, updates.getAllValues().get(0).getItems().size());
+        assertEquals(1L, updates.getAllValues().get(1).getLastModifiedByUserId());
+        // El último lote (usuario 2) solo conserva la última cantidad del producto repetido
+        assertEquals(2L, updates.getAllValues().get(2).getLastModifiedByUserId());
+        assertEquals(1, updates.getAllValues().get(2).getItems().size());
+        assertEquals(9, updates.getAllValues().get(2).getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void adjustQuantities_ShouldNotAcceptMoreMessagesWhileBatchIsBeingSaved() throws Exception {
+        // Arrange
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productBulkService.updateQuantities(any())).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new BulkOperationResultDTO(BATCH_SIZE, BATCH_SIZE, List.of());
+        });
+        CompletableFuture<AdjustQuantitiesSummary> summary = new CompletableFuture<>();
+        ClientCallStreamObserver<QuantityAdjustment> requests = (ClientCallStreamObserver<QuantityAdjustment>)
+                InventoryServiceGrpc.newStub(channel).adjustQuantities(observer(summary));
+
+        // Act
+        requests.onNext(adjustment(1, 5, 1));
+        requests.onNext(adjustment(2, 6, 1));
+
+        // Assert: el servidor ha pedido un lote y no pide más hasta guardarlo
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+        assertFalse(requests.isReady());
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!requests.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(requests.isReady());
+        requests.onCompleted();
+        assertEquals(1, summary.get(5, TimeUnit.SECONDS).getBatches());
+    }
+
+    @Test
+    void adjustQuantities_WhenBatchIsRejected_ShouldReportProgressInStatus() {
+        // Arrange
+        when(productBulkService.updateQuantities(any()))
+                .thenReturn(new BulkOperationResultDTO(2, 2, List.of()))
+                .thenThrow(new BadRequestException(ErrorConstants.CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA));
+        CompletableFuture<AdjustQuantitiesSummary> summary = new CompletableFuture<>();
+
+        // Act
+        StreamObserver<QuantityAdjustment> requests = InventoryServiceGrpc.newStub(channel).adjustQuantities(observer(summary));
+        requests.onNext(adjustment(1, 5, 1));
+        requests.onNext(adjustment(2, 6, 1));
+        requests.onNext(adjustment(3, 0, 1));
+        requests.onCompleted();
+
+        // Assert
+        Exception exception = assertThrows(Exception.class, () -> summary.get(5, TimeUnit.SECONDS));
+        Status status = Status.fromThrowable(exception.getCause());
+        assertEquals(Status.Code.INVALID_ARGUMENT, status.getCode());
+        assertEquals("Lote rechazado tras 2 productos actualizados: " + ErrorConstants.CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA,
+                status.getDescription());
+    }
+
+    private static QuantityAdjustment adjustment(long productId, int quantity, long userId) {
+        return QuantityAdjustment.newBuilder().setProductId(productId).setQuantity(quantity).setLastModifiedByUserId(userId).build();
+    }
+
+    private static StreamObserver<AdjustQuantitiesSummary> observer(CompletableFuture<AdjustQuantitiesSummary> summary) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(AdjustQuantitiesSummary value) {
+                summary.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                summary.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+}
@@ -1,28 +1,51 @@
 package com.tulio.inventory.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.BulkOperationResultDTO;
+import com.tulio.inventory.dto.BulkQuantityUpdateDTO;
+import com.tulio.inventory.dto.EntryDateBucketDTO;
+import com.tulio.inventory.dto.FacetValueDTO;
+import com.tulio.inventory.dto.FacetedSearchResultDTO;
+import com.tulio.inventory.dto.InventoryStatisticsDTO;
+import com.tulio.inventory.dto.ProductAuditDTO;
+import com.tulio.inventory.dto.ProductBatchItemDTO;
 import com.tulio.inventory.dto.ProductCreationDTO;
+import com.tulio.inventory.dto.ProductFacetsDTO;
+import com.tulio.inventory.dto.ProductField;
 import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
 import com.tulio.inventory.dto.ProductUpdateDTO;
+import com.tulio.inventory.dto.QuantityUpdateDTO;
+import com.tulio.inventory.dto.UserStatisticsDTO;
 import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.exception.TimeBudgetExceededException;
 import com.tulio.inventory.exception.UnauthorizedActionException;
+import com.tulio.inventory.service.ProductBulkService;
+import com.tulio.inventory.service.ProductFacetService;
 import com.tulio.inventory.service.ProductService;
+import com.tulio.inventory.service.ProductStatisticsService;
 import com.tulio.inventory.util.ErrorConstants;
+import com.tulio.inventory.util.TimeBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -42,6 +65,15 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBulkService productBulkService;
+
+    @MockBean
+    private ProductStatisticsService productStatisticsService;
+
+    @MockBean
+    private ProductFacetService productFacetService;
+
     private ProductResponseDTO testProductDTO;
     private ProductCreationDTO testCreationDTO;
     private ProductUpdateDTO testUpdateDTO;
@@ -89,7 +121,7 @@ class ProductControllerTest {
         secondProductDTO.setLastModificationDate(null);
 
         List<ProductResponseDTO> productList = Arrays.asList(testProductDTO, secondProductDTO);
-        when(productService.getAllProducts()).thenReturn(productList);
+        when(productService.getAllProducts(null)).thenReturn(productList);
 
         // Act & Assert
         mockMvc.perform(get("/api/products/all")
@@ -101,13 +133,13 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[1].id", is(secondProductDTO.getId().intValue())))
                 .andExpect(jsonPath("$[1].productName", is(secondProductDTO.getProductName())));
 
-        verify(productService).getAllProducts();
+        verify(productService).getAllProducts(null);
     }
 
     @Test
     void getProductById_WithExistingId_ShouldReturnProduct() throws Exception {
         // Arrange
-        when(productService.getProductById(productId)).thenReturn(testProductDTO);
+        when(productService.getProductById(productId, null)).thenReturn(testProductDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/products/{id}", productId)
@@ -118,22 +150,76 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.quantity", is(testProductDTO.getQuantity())))
                 .andExpect(jsonPath("$.registeredByName", is(testProductDTO.getRegisteredByName())));
 
-        verify(productService).getProductById(productId);
+        verify(productService).getProductById(productId, null);
     }
 
     @Test
     void getProductById_WithNonExistingId_ShouldReturnNotFound() throws Exception {
         // Arrange
         Long nonExistingId = 999L;
-        when(productService.getProductById(nonExistingId))
+        when(productService.getProductById(nonExistingId, null))
                 .thenThrow(new ResourceNotFoundException(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + nonExistingId));
 
         // Act & Assert
         mockMvc.perform(get("/api/products/{id}", nonExistingId)
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + nonExistingId)))
+                .andExpect(jsonPath("$.path", is("uri=/api/products/" + nonExistingId)))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.details").doesNotExist());
+
+        verify(productService).getProductById(nonExistingId, null);
+    }
+
+    @Test
+    void getAllProducts_WhenTimeBudgetExceeded_ShouldReturnServiceUnavailableWithErrorCode() throws Exception {
+        // Arrange
+        when(productService.getAllProducts(null)).thenThrow(new TimeBudgetExceededException("GET /api/products/all", 3000));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/all"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode", is(TimeBudgetExceededException.ERROR_CODE)))
+                .andExpect(jsonPath("$.message", is(ErrorConstants.TIEMPO_MAXIMO_AGOTADO + 3000)));
+    }
+
+    @Test
+    void getAllProducts_WhenStatementCancelledByTimeBudget_ShouldReturnServiceUnavailableWithErrorCode() throws Exception {
+        // Arrange: la sentencia se cancela (SQLState 57014) con el presupuesto de la petición ya agotado
+        when(productService.getAllProducts(null)).thenAnswer(invocation -> {
+            exhaustTimeBudget();
+            throw new DataAccessResourceFailureException("consulta cancelada",
+                    new SQLException("canceling statement due to user request", "57014"));
+        });
 
-        verify(productService).getProductById(nonExistingId);
+        // Act & Assert
+        try {
+            mockMvc.perform(get("/api/products/all"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.errorCode", is(TimeBudgetExceededException.ERROR_CODE)));
+        } finally {
+            TimeBudget.end();
+        }
+    }
+
+    @Test
+    void getAllProducts_WhenUnrelatedErrorAfterTimeBudget_ShouldReturnInternalServerError() throws Exception {
+        // Arrange: un error ajeno a la cancelación sigue siendo un 500 aunque el presupuesto se haya agotado
+        when(productService.getAllProducts(null)).thenAnswer(invocation -> {
+            exhaustTimeBudget();
+            throw new IllegalStateException("error de serialización");
+        });
+
+        // Act & Assert
+        try {
+            mockMvc.perform(get("/api/products/all"))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.details", is("error de serialización")))
+                    .andExpect(jsonPath("$.errorCode").doesNotExist());
+        } finally {
+            TimeBudget.end();
+        }
     }
 
     @Test
@@ -142,8 +228,7 @@ class ProductControllerTest {
         LocalDate searchDate = LocalDate.now().minusDays(5);
         List<ProductResponseDTO> searchResults = Collections.singletonList(testProductDTO);
         
-        when(productService.searchProducts(eq(searchDate), eq(userId), eq("Test")))
-                .thenReturn(searchResults);
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(searchResults);
 
         // Act & Assert
         mockMvc.perform(get("/api/products")
@@ -156,7 +241,31 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].id", is(testProductDTO.getId().intValue())))
                 .andExpect(jsonPath("$[0].productName", is(testProductDTO.getProductName())));
 
-        verify(productService).searchProducts(eq(searchDate), eq(userId), eq("Test"));
+        verify(productService).searchProducts(argThat((ProductSearchCriteria criteria) -> searchDate.equals(criteria.getEntryDate())
+                && userId.equals(criteria.getUserId()) && "Test".equals(criteria.getProductName())));
+    }
+
+    @Test
+    void searchProducts_WithRangeSortAndLimit_ShouldBindCriteria() throws Exception {
+        // Arrange
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(List.of(testProductDTO));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products")
+                .param("entryDateFrom", "2024-01-01")
+                .param("entryDateTo", "2024-01-31")
+                .param("sort", "quantity")
+                .param("direction", "desc")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(productService).searchProducts(argThat((ProductSearchCriteria criteria) ->
+                LocalDate.of(2024, 1, 1).equals(criteria.getEntryDateFrom())
+                        && LocalDate.of(2024, 1, 31).equals(criteria.getEntryDateTo())
+                        && "quantity".equals(criteria.getSort())
+                        && "desc".equals(criteria.getDirection())
+                        && criteria.getLimit() == 10));
     }
 
     @Test
@@ -241,5 +350,162 @@ class ProductControllerTest {
 
         verify(productService).deleteProduct(productId, differentUserId);
     }
-}
 
+    @Test
+    void getProductHistory_ShouldReturnAuditEvents() throws Exception {
+        // Arrange
+        ProductAuditDTO updateEvent = new ProductAuditDTO(2L, productId, "UPDATE", userId, LocalDateTime.now(),
+                "Test Product", 10, LocalDate.now().minusDays(5), "Updated Product", 15, LocalDate.now().minusDays(2));
+        ProductAuditDTO createEvent = new ProductAuditDTO(1L, productId, "CREATE", userId, LocalDateTime.now().minusHours(1),
+                null, null, null, "Test Product", 10, LocalDate.now().minusDays(5));
+        when(productService.getProductHistory(productId)).thenReturn(Arrays.asList(updateEvent, createEvent));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}/history", productId)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].action", is("UPDATE")))
+                .andExpect(jsonPath("$[0].previousQuantity", is(10)))
+                .andExpect(jsonPath("$[0].newQuantity", is(15)))
+                .andExpect(jsonPath("$[1].action", is("CREATE")));
+
+        verify(productService).getProductHistory(productId);
+    }
+
+    @Test
+    void deleteProducts_ShouldReturnAffectedCount() throws Exception {
+        // Arrange
+        LocalDate to = LocalDate.now().minusDays(10);
+        when(productBulkService.deleteProducts(userId, null, to)).thenReturn(new BulkOperationResultDTO(25, 25, List.of()));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/products/bulk")
+                .param("requestingUserId", userId.toString())
+                .param("entryDateTo", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected", is(25)));
+
+        verify(productBulkService).deleteProducts(userId, null, to);
+        verify(productService, never()).deleteProduct(any(), any());
+    }
+
+    @Test
+    void updateQuantities_ShouldReturnAffectedCountAndNotFoundIds() throws Exception {
+        // Arrange
+        BulkQuantityUpdateDTO request = new BulkQuantityUpdateDTO(userId,
+                List.of(new QuantityUpdateDTO(1L, 5), new QuantityUpdateDTO(99L, 8)));
+        when(productBulkService.updateQuantities(any(BulkQuantityUpdateDTO.class)))
+                .thenReturn(new BulkOperationResultDTO(2, 1, List.of(99L)));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/quantities")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested", is(2)))
+                .andExpect(jsonPath("$.affected", is(1)))
+                .andExpect(jsonPath("$.notFoundIds[0]", is(99)));
+
+        verify(productService, never()).updateProduct(any(), any());
+    }
+
+    @Test
+    void patchProduct_ShouldReturnUpdatedProduct() throws Exception {
+        // Arrange
+        ProductUpdateDTO patchDTO = new ProductUpdateDTO(null, 30, null, userId);
+        testProductDTO.setQuantity(30);
+        when(productService.patchProduct(eq(productId), any(ProductUpdateDTO.class))).thenReturn(testProductDTO);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/products/{productId}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(30)));
+
+        verify(productService).patchProduct(eq(productId), argThat(dto -> dto.getQuantity() == 30 && dto.getProductName() == null));
+        verify(productService, never()).updateProduct(any(), any());
+    }
+
+    @Test
+    void getProductsByIds_ShouldReturnItemsInRequestOrder() throws Exception {
+        // Arrange
+        when(productService.getProductsByIds(List.of(productId, 99L), null)).thenReturn(List.of(
+                new ProductBatchItemDTO(productId, true, testProductDTO),
+                new ProductBatchItemDTO(99L, false, null)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/batch").param("ids", "1,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].found", is(true)))
+                .andExpect(jsonPath("$[0].product.productName", is(testProductDTO.getProductName())))
+                .andExpect(jsonPath("$[1].id", is(99)))
+                .andExpect(jsonPath("$[1].found", is(false)));
+
+        verify(productService, never()).getProductById(any(), any());
+    }
+
+    @Test
+    void getProductsByIds_WithFields_ShouldSerializeOnlyRequestedFields() throws Exception {
+        // Arrange
+        ProductResponseDTO sparse = new ProductResponseDTO(productId, "Test Product", 10, null, null, null, null);
+        sparse.setFields(EnumSet.of(ProductField.PRODUCT_NAME, ProductField.QUANTITY));
+        when(productService.getProductsByIds(List.of(productId), "productName,quantity"))
+                .thenReturn(List.of(new ProductBatchItemDTO(productId, true, sparse)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/batch").param("ids", "1").param("fields", "productName,quantity"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"found\":true,\"product\":{\"productName\":\"Test Product\",\"quantity\":10}}]", true));
+    }
+
+    @Test
+    void getStatistics_ShouldReturnAggregates() throws Exception {
+        // Arrange
+        InventoryStatisticsDTO statistics = new InventoryStatisticsDTO(10, 55, "week",
+                List.of(new UserStatisticsDTO(userId, "Test User", 10, 55)),
+                List.of(new EntryDateBucketDTO(LocalDate.of(2024, 1, 1), 10, 55)));
+        when(productStatisticsService.getStatistics("week", null, null)).thenReturn(statistics);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/statistics").param("bucket", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productCount", is(10)))
+                .andExpect(jsonPath("$.totalQuantity", is(55)))
+                .andExpect(jsonPath("$.byUser[0].userName", is("Test User")))
+                .andExpect(jsonPath("$.byEntryDate[0].bucketStart", is("2024-01-01")));
+
+        verify(productService, never()).getAllProducts(any());
+    }
+
+    @Test
+    void searchProductsWithFacets_ShouldReturnResultsAndFacets() throws Exception {
+        // Arrange
+        ProductFacetsDTO facets = new ProductFacetsDTO(
+                List.of(new FacetValueDTO("1", "Test User", 3)),
+                List.of(new FacetValueDTO("2024-01-01", "2024-01", 3)),
+                List.of(new FacetValueDTO("1-10", "1-10", 3)));
+        when(productFacetService.search(any(ProductSearchCriteria.class)))
+                .thenReturn(new FacetedSearchResultDTO(List.of(testProductDTO), facets));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/faceted").param("productName", "test").param("userId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(1)))
+                .andExpect(jsonPath("$.facets.registeredBy[0].label", is("Test User")))
+                .andExpect(jsonPath("$.facets.entryMonth[0].value", is("2024-01-01")))
+                .andExpect(jsonPath("$.facets.quantityBand[0].count", is(3)));
+
+        ArgumentCaptor<ProductSearchCriteria> captor = ArgumentCaptor.forClass(ProductSearchCriteria.class);
+        verify(productFacetService).search(captor.capture());
+        assertEquals("test", captor.getValue().getProductName());
+        assertEquals(userId, captor.getValue().getUserId());
+    }
+
+    private static void exhaustTimeBudget() throws InterruptedException {
+        TimeBudget.begin("GET /api/products/all", 1);
+        Thread.sleep(5);
+    }
+}
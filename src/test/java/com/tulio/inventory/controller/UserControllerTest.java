@@ -1,8 +1,11 @@
 package com.tulio.inventory.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.OffboardingJobDTO;
 import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.dto.UserPageDTO;
 import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.service.UserOffboardingService;
 import com.tulio.inventory.service.UserService;
 import com.tulio.inventory.util.ErrorConstants;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -37,6 +41,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserOffboardingService userOffboardingService;
+
     private UserDTO testUserDTO;
     private final Long userId = 1L;
 
@@ -183,5 +190,75 @@ class UserControllerTest {
 
         verify(userService).deleteUser(userId);
     }
-}
 
+    @Test
+    void searchUsers_ShouldPassFiltersAndReturnPage() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        when(userService.searchUsers("te", "Developer", from, null, 10L, 5))
+                .thenReturn(new UserPageDTO(List.of(testUserDTO), 11L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/search")
+                .param("namePrefix", "te")
+                .param("position", "Developer")
+                .param("hireDateFrom", "2020-01-01")
+                .param("afterId", "10")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is(testUserDTO.getName())))
+                .andExpect(jsonPath("$.nextCursor", is(11)));
+
+        verify(userService, never()).getAllUsers();
+    }
+
+    @Test
+    void patchUser_ShouldApplyOnlySuppliedFields() throws Exception {
+        // Arrange
+        UserDTO patchDTO = new UserDTO();
+        patchDTO.setPosition("Lead");
+        testUserDTO.setPosition("Lead");
+        when(userService.updateUser(eq(userId), any(UserDTO.class))).thenReturn(testUserDTO);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/users/{id}", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patchDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position", is("Lead")))
+                .andExpect(jsonPath("$.name", is(testUserDTO.getName())));
+
+        verify(userService).updateUser(eq(userId), argThat(dto -> "Lead".equals(dto.getPosition()) && dto.getName() == null));
+    }
+
+    @Test
+    void startOffboarding_ShouldReturnAcceptedWithJob() throws Exception {
+        // Arrange
+        OffboardingJobDTO job = new OffboardingJobDTO("job-1", userId, 2L, "PENDING", 0, 0, 0, 0,
+                LocalDateTime.now(), null, null);
+        when(userOffboardingService.startOffboarding(userId, 2L)).thenReturn(job);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/{id}/offboarding", userId)
+                .param("reassignToUserId", "2"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId", is("job-1")))
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andExpect(jsonPath("$.reassignToUserId", is(2)));
+
+        verify(userOffboardingService).startOffboarding(userId, 2L);
+    }
+
+    @Test
+    void getOffboardingJob_WithNonExistingId_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(userOffboardingService.getJob("missing"))
+                .thenThrow(new ResourceNotFoundException(ErrorConstants.BAJA_NO_ENCONTRADA_ID + "missing"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/offboarding/{jobId}", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is(ErrorConstants.BAJA_NO_ENCONTRADA_ID + "missing")));
+    }
+}
@@ -0,0 +1,268 @@
+package com.tulio.inventory.datagen;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+// Genera usuarios y productos sintéticos con distribuciones parecidas a las de un inventario real.
+// Es determinista: la misma semilla y los mismos tamaños producen exactamente las mismas filas, en el mismo orden.
+// - Propiedad sesgada: los productos se reparten entre los usuarios según una ley de Zipf (pocos usuarios
+//   registran la mayoría).
+// - Fechas de ingreso a ráfagas: tendencia creciente, menos actividad en fin de semana y ráfagas de varios días
+//   con mucho más volumen (inventarios, recepciones grandes).
+// - Popularidad de nombres según Zipf: el nombre base ("Tornillo galvanizado") sigue una ley de Zipf y se
+//   completa con un código único, así las búsquedas por nombre devuelven desde miles de filas hasta ninguna.
+// Los IDs son consecutivos desde 1 (usuarios 1..userCount, productos 1..productCount).
+public class SyntheticDataGenerator {
+
+    // Última fecha de ingreso posible; fija para que el resultado no dependa del día en que se genera
+    public static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 12, 31);
+    static final int ENTRY_DAYS = 3 * 365;
+
+    static final double OWNERSHIP_EXPONENT = 1.1;
+    static final double NAME_EXPONENT = 1.0;
+    static final double MODIFIED_RATIO = 0.35;
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Luis", "María", "Carlos", "Lucía", "Jorge", "Sofía", "Andrés", "Valentina", "Diego",
+            "Camila", "Javier", "Paula", "Miguel", "Daniela", "Fernando", "Laura", "Ricardo", "Elena", "Tulio",
+            "Isabel", "Pedro", "Carmen", "Sergio", "Natalia", "Raúl", "Marta", "Óscar", "Adriana", "Héctor",
+            "Gabriela", "Iván", "Teresa", "Pablo", "Lorena", "Mario", "Rosa", "Felipe", "Silvia", "Emilio"};
+    private static final String[] SURNAMES = {
+            "García", "Rodríguez", "Martínez", "López", "González", "Pérez", "Sánchez", "Ramírez", "Torres", "Flores",
+            "Rivera", "Gómez", "Díaz", "Reyes", "Morales", "Cruz", "Ortiz", "Gutiérrez", "Chávez", "Ramos",
+            "Vargas", "Castillo", "Jiménez", "Moreno", "Romero", "Herrera", "Medina", "Aguilar", "Castro", "Rangel",
+            "Vega", "Ruiz", "Mendoza", "Silva", "Rojas", "Navarro", "Salazar", "Molina", "Delgado", "Suárez"};
+    private static final String[] POSITIONS = {
+            "Almacenista", "Desarrollador", "Analista", "Comprador", "Administrativo", "Jefe de almacén"};
+    private static final int[] POSITION_WEIGHTS = {30, 20, 20, 12, 12, 6};
+    private static final String[] PRODUCT_NOUNS = {
+            "Tornillo", "Tuerca", "Arandela", "Llanta", "Cable", "Tubo", "Válvula", "Filtro", "Bombilla", "Cinta",
+            "Guante", "Casco", "Brida", "Rodamiento", "Correa", "Manguera", "Interruptor", "Enchufe", "Batería", "Bisagra",
+            "Cerradura", "Candado", "Pintura", "Brocha", "Lija", "Taladro", "Broca", "Martillo", "Alicate", "Destornillador",
+            "Llave", "Sierra", "Clavo", "Grapa", "Silicona", "Adhesivo", "Panel", "Perfil", "Soporte", "Abrazadera",
+            "Junta", "Muelle", "Polea", "Engranaje", "Motor", "Sensor", "Fusible", "Relé", "Conector", "Termostato"};
+    private static final String[] PRODUCT_QUALIFIERS = {
+            "galvanizado", "inoxidable", "reforzado", "industrial", "compacto", "de latón", "de PVC", "de aluminio",
+            "de acero", "de cobre", "ligero", "térmico", "estanco", "universal", "premium", "básico", "M6", "M8",
+            "M10", "de 1/2\""};
+
+    private final long seed;
+    private final int userCount;
+    private final int productCount;
+    private final long[] userIdByRank;
+    private final double[] ownershipCdf;
+    private final String[] baseNameByRank;
+    private final double[] nameCdf;
+    private final double[] entryDayCdf;
+
+    public SyntheticDataGenerator(long seed, int userCount, int productCount) {
+        if (userCount < 1 || productCount < 0) {
+            throw new IllegalArgumentException("Se necesita al menos un usuario y un número de productos no negativo");
+        }
+        this.seed = seed;
+        this.userCount = userCount;
+        this.productCount = productCount;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        // Qué usuario ocupa cada puesto de la ley de Zipf: permutado para que el mayor propietario no sea siempre el 1
+        this.userIdByRank = new long[userCount];
+        for (int i = 0; i < userCount; i++) {
+            userIdByRank[i] = i + 1;
+        }
+        shuffle(userIdByRank, random);
+        this.ownershipCdf = zipfCdf(userCount, OWNERSHIP_EXPONENT);
+
+        List<String> baseNames = new ArrayList<>(PRODUCT_NOUNS.length * PRODUCT_QUALIFIERS.length);
+        for (String noun : PRODUCT_NOUNS) {
+            for (String qualifier : PRODUCT_QUALIFIERS) {
+                baseNames.add(noun + " " + qualifier);
+            }
+        }
+        this.baseNameByRank = baseNames.toArray(new String[0]);
+        shuffle(baseNameByRank, random);
+        this.nameCdf = zipfCdf(baseNameByRank.length, NAME_EXPONENT);
+
+        this.entryDayCdf = entryDayCdf(random);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public void generateUsers(Consumer<UserRow> sink) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x75736572L);
+        int combinations = FIRST_NAMES.length * SURNAMES.length * SURNAMES.length;
+        int[] nameOrder = new int[combinations];
+        for (int i = 0; i < combinations; i++) {
+            nameOrder[i] = i;
+        }
+        shuffle(nameOrder, random);
+        int positionTotal = Arrays.stream(POSITION_WEIGHTS).sum();
+
+        for (int i = 0; i < userCount; i++) {
+            int combination = nameOrder[i % combinations];
+            String name = FIRST_NAMES[combination / (SURNAMES.length * SURNAMES.length)] + " "
+                    + SURNAMES[combination / SURNAMES.length % SURNAMES.length] + " "
+                    + SURNAMES[combination % SURNAMES.length];
+            if (i >= combinations) {
+                // Más usuarios que combinaciones: se añade un sufijo para respetar la unicidad del nombre
+                name = name + " " + (i / combinations + 1);
+            }
+            int age = (int) Math.min(65, Math.max(18, Math.round(38 + random.nextGaussian() * 10)));
+            String position = POSITIONS[weightedIndex(POSITION_WEIGHTS, positionTotal, random)];
+            LocalDate hireDate = REFERENCE_DATE.minusDays(random.nextInt(15 * 365));
+            sink.accept(new UserRow(i + 1L, name, age, position, hireDate));
+        }
+    }
+
+    public void generateProducts(Consumer<ProductRow> sink) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x70726f64L);
+        LocalDate firstDay = REFERENCE_DATE.minusDays(ENTRY_DAYS - 1);
+
+        for (int i = 0; i < productCount; i++) {
+            long id = i + 1L;
+            String productName = baseNameByRank[sample(nameCdf, random)] + " " + Long.toString(id, 36).toUpperCase();
+            // Log-normal: la mayoría con pocas unidades y una cola larga con miles
+            int quantity = (int) Math.min(100_000, Math.max(1, Math.round(Math.exp(3 + 1.2 * random.nextGaussian()))));
+            LocalDate entryDate = firstDay.plusDays(sample(entryDayCdf, random));
+            long registeredBy = userIdByRank[sample(ownershipCdf, random)];
+
+            Long lastModifiedBy = null;
+            LocalDateTime lastModificationDate = null;
+            if (random.nextDouble() < MODIFIED_RATIO) {
+                // Normalmente lo modifica quien lo registró; si no, otro usuario con el mismo sesgo de actividad
+                lastModifiedBy = random.nextDouble() < 0.7 ? registeredBy : userIdByRank[sample(ownershipCdf, random)];
+                long maxDays = REFERENCE_DATE.toEpochDay() - entryDate.toEpochDay();
+                long days = Math.min(maxDays, (long) (-30 * Math.log(1 - random.nextDouble())));
+                // Hora de oficina con precisión de microsegundos, como las columnas TIMESTAMP(6)
+                lastModificationDate = entryDate.plusDays(days).atStartOfDay()
+                        .plusNanos(random.nextLong(8 * 3600_000_000L, 20 * 3600_000_000L) * 1_000);
+            }
+            sink.accept(new ProductRow(id, productName, quantity, entryDate, registeredBy, lastModifiedBy, lastModificationDate));
+        }
+    }
+
+    // Para conjuntos pequeños (benchmarks en memoria); para millones de filas usar los métodos con Consumer
+    public List<UserRow> users() {
+        List<UserRow> users = new ArrayList<>(userCount);
+        generateUsers(users::add);
+        return users;
+    }
+
+    public List<ProductRow> products() {
+        List<ProductRow> products = new ArrayList<>(productCount);
+        generateProducts(products::add);
+        return products;
+    }
+
+    // Peso de cada día: tendencia creciente x día de la semana x ráfaga, con algo de ruido
+    private static double[] entryDayCdf(SplittableRandom random) {
+        LocalDate firstDay = REFERENCE_DATE.minusDays(ENTRY_DAYS - 1);
+        double[] weights = new double[ENTRY_DAYS];
+        int burstDaysLeft = 0;
+        double burstMultiplier = 1;
+        for (int day = 0; day < ENTRY_DAYS; day++) {
+            if (burstDaysLeft == 0 && random.nextDouble() < 0.03) {
+                burstDaysLeft = random.nextInt(1, 6);
+                burstMultiplier = random.nextDouble(5, 20);
+            }
+            double burst = 1;
+            if (burstDaysLeft > 0) {
+                burst = burstMultiplier;
+                burstDaysLeft--;
+            }
+            DayOfWeek dayOfWeek = firstDay.plusDays(day).getDayOfWeek();
+            double weekday = dayOfWeek == DayOfWeek.SUNDAY ? 0.1 : dayOfWeek == DayOfWeek.SATURDAY ? 0.3 : 1;
+            double trend = 0.5 + (double) day / ENTRY_DAYS;
+            weights[day] = trend * weekday * burst * random.nextDouble(0.7, 1.3);
+        }
+        return cumulative(weights);
+    }
+
+    static double[] zipfCdf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cdf[i] = total;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= total;
+        }
+        cdf[cdf.length - 1] = 1;
+        return cdf;
+    }
+
+    // Índice del primer valor de la distribución acumulada mayor que un número aleatorio en [0, 1)
+    static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? Math.min(index + 1, cdf.length - 1) : -index - 1;
+    }
+
+    private static int weightedIndex(int[] weights, int total, SplittableRandom random) {
+        int value = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static void shuffle(long[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static void shuffle(int[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static void shuffle(Object[] values, SplittableRandom random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    public record UserRow(long id, String name, int age, String position, LocalDate hireDate) {
+    }
+
+    public record ProductRow(long id, String productName, int quantity, LocalDate entryDate, long registeredByUserId,
+                             Long lastModifiedByUserId, LocalDateTime lastModificationDate) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.tulio.inventory.datagen;
+
+import com.tulio.inventory.datagen.SyntheticDataGenerator.ProductRow;
+import com.tulio.inventory.datagen.SyntheticDataGenerator.UserRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+
+    private final SyntheticDataGenerator generator = new SyntheticDataGenerator(42, 1_000, 50_000);
+
+    @Test
+    void sameSeed_ShouldGenerateIdenticalRows() {
+        // Arrange
+        SyntheticDataGenerator sameSeed = new SyntheticDataGenerator(42, 1_000, 50_000);
+        SyntheticDataGenerator otherSeed = new SyntheticDataGenerator(43, 1_000, 50_000);
+
+        // Act & Assert
+        assertEquals(generator.users(), sameSeed.users());
+        assertEquals(generator.products(), sameSeed.products());
+        assertNotEquals(generator.products(), otherSeed.products());
+    }
+
+    @Test
+    void generatedRows_ShouldSatisfySchemaConstraints() {
+        // Act
+        List<UserRow> users = generator.users();
+        List<ProductRow> products = generator.products();
+
+        // Assert
+        assertEquals(1_000, users.size());
+        assertEquals(50_000, products.size());
+        assertEquals(users.size(), users.stream().map(UserRow::name).distinct().count());
+        assertEquals(products.size(), products.stream().map(ProductRow::productName).distinct().count());
+        LocalDate firstDay = SyntheticDataGenerator.REFERENCE_DATE.minusDays(SyntheticDataGenerator.ENTRY_DAYS - 1);
+        for (ProductRow product : products) {
+            assertTrue(product.registeredByUserId() >= 1 && product.registeredByUserId() <= users.size());
+            assertTrue(product.quantity() >= 1);
+            assertFalse(product.entryDate().isBefore(firstDay));
+            assertFalse(product.entryDate().isAfter(SyntheticDataGenerator.REFERENCE_DATE));
+            assertEquals(product.lastModifiedByUserId() == null, product.lastModificationDate() == null);
+            if (product.lastModificationDate() != null) {
+                assertFalse(product.lastModificationDate().toLocalDate().isBefore(product.entryDate()));
+            }
+        }
+    }
+
+    @Test
+    void ownership_ShouldBeSkewedTowardsFewUsers() {
+        // Arrange
+        Map<Long, Integer> productsByUser = new HashMap<>();
+        generator.generateProducts(product -> productsByUser.merge(product.registeredByUserId(), 1, Integer::sum));
+
+        // Act
+        int topOnePercent = productsByUser.values().stream().sorted((a, b) -> b - a).limit(10).mapToInt(Integer::intValue).sum();
+
+        // Assert: con Zipf (s = 1.1) el 1 % de los usuarios registra alrededor del 40 % de los productos
+        assertTrue(topOnePercent > 50_000 * 0.25, "Top 1 % de usuarios: " + topOnePercent + " productos");
+    }
+
+    @Test
+    void productNames_ShouldFollowZipfianPopularity() {
+        // Arrange
+        Map<String, Integer> productsByBaseName = new HashMap<>();
+        generator.generateProducts(product -> productsByBaseName.merge(
+                product.productName().substring(0, product.productName().lastIndexOf(' ')), 1, Integer::sum));
+
+        // Act
+        int mostPopular = productsByBaseName.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+
+        // Assert: 1000 nombres base con Zipf (s = 1): el más popular se lleva en torno al 13 %, la media es el 0,1 %
+        assertTrue(mostPopular > 50_000 * 0.05, "Nombre base más popular: " + mostPopular + " productos");
+    }
+
+    @Test
+    void entryDates_ShouldHaveBurstsAndQuietWeekends() {
+        // Arrange
+        Map<LocalDate, Integer> productsByDay = new HashMap<>();
+        generator.generateProducts(product -> productsByDay.merge(product.entryDate(), 1, Integer::sum));
+        int[] weekdayCounts = productsByDay.entrySet().stream()
+                .filter(entry -> entry.getKey().getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue())
+                .mapToInt(Map.Entry::getValue).sorted().toArray();
+        int sundays = productsByDay.entrySet().stream()
+                .filter(entry -> entry.getKey().getDayOfWeek() == DayOfWeek.SUNDAY)
+                .mapToInt(Map.Entry::getValue).sum();
+        int mondays = productsByDay.entrySet().stream()
+                .filter(entry -> entry.getKey().getDayOfWeek() == DayOfWeek.MONDAY)
+                .mapToInt(Map.Entry::getValue).sum();
+
+        // Act
+        int median = weekdayCounts[weekdayCounts.length / 2];
+        int max = weekdayCounts[weekdayCounts.length - 1];
+
+        // Assert
+        assertTrue(max > median * 4, "Día máximo: " + max + ", mediana: " + median);
+        assertTrue(sundays * 3 < mondays, "Domingos: " + sundays + ", lunes: " + mondays);
+    }
+
+    @Test
+    void sample_ShouldReturnIndexWithinDistribution() {
+        // Arrange
+        double[] cdf = SyntheticDataGenerator.zipfCdf(5, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        Set<Integer> seen = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            seen.add(SyntheticDataGenerator.sample(cdf, random));
+        }
+
+        // Assert
+        assertEquals(1.0, cdf[cdf.length - 1]);
+        assertTrue(Arrays.stream(cdf).allMatch(value -> value > 0 && value <= 1));
+        assertEquals(Set.of(0, 1, 2, 3, 4), seen);
+    }
+}
@@ -0,0 +1,139 @@
+package com.tulio.inventory.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// Carga en PostgreSQL los datos de SyntheticDataGenerator con COPY ... FROM STDIN, sin pasar por JPA.
+// Sustituye el contenido de usuarios, productos, auditoría y bandeja de salida: usar solo contra una base de datos
+// de pruebas con el esquema de Flyway ya creado.
+//
+// Desde la línea de comandos (p. ej. para preparar una prueba de carga):
+// ./mvnw test-compile exec:java -Dexec.mainClass=com.tulio.inventory.datagen.SyntheticDataLoader \
+//     -Dexec.classpathScope=test -Ddatagen.url=jdbc:postgresql://localhost:5432/nexos_bench \
+//     -Ddatagen.users=5000 -Ddatagen.products=2000000 -Ddatagen.seed=42
+public final class SyntheticDataLoader {
+
+    static final String TRUNCATE_SQL = "TRUNCATE product_outbox, product_audit, products, users RESTART IDENTITY";
+    static final String COPY_USERS_SQL = "COPY users (id, name, age, position, hire_date) FROM STDIN";
+    static final String COPY_PRODUCTS_SQL = "COPY products (id, product_name, quantity, entry_date, registered_by_user_id, "
+            + "last_modified_by_user_id, last_modification_date) FROM STDIN";
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private SyntheticDataLoader() {
+    }
+
+    // Carga todo en una transacción; al terminar las columnas de identidad continúan tras el último ID generado
+    public static Result load(Connection connection, SyntheticDataGenerator generator) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(TRUNCATE_SQL);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            copy(pgConnection, COPY_USERS_SQL, writer -> generator.generateUsers(user -> writeRow(writer,
+                    user.id(), user.name(), user.age(), user.position(), user.hireDate())));
+            copy(pgConnection, COPY_PRODUCTS_SQL, writer -> generator.generateProducts(product -> writeRow(writer,
+                    product.id(), product.productName(), product.quantity(), product.entryDate(), product.registeredByUserId(),
+                    product.lastModifiedByUserId(), product.lastModificationDate())));
+            statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (generator.getUserCount() + 1));
+            statement.execute("ALTER TABLE products ALTER COLUMN id RESTART WITH " + (generator.getProductCount() + 1));
+            connection.commit();
+            // Estadísticas del planificador actualizadas antes de medir nada
+            connection.setAutoCommit(true);
+            statement.execute("ANALYZE users, products");
+        } catch (SQLException | RuntimeException e) {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return new Result(generator.getUserCount(), generator.getProductCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void copy(PGConnection connection, String sql, RowSource rows) throws SQLException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+            rows.writeTo(writer);
+        } catch (IOException e) {
+            throw new SQLException("Error al enviar los datos con " + sql, e);
+        } catch (UncheckedIOException e) {
+            throw new SQLException("Error al enviar los datos con " + sql, e.getCause());
+        }
+    }
+
+    // Una fila en el formato de texto de COPY: columnas separadas por tabuladores y \N para NULL
+    private static void writeRow(Writer writer, Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                Object value = values[i];
+                if (value == null) {
+                    writer.write("\\N");
+                } else if (value instanceof String text) {
+                    writeEscaped(writer, text);
+                } else {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeEscaped(Writer writer, String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("datagen.url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("Indica la base de datos de destino con -Ddatagen.url=jdbc:postgresql://...");
+        }
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                Long.getLong("datagen.seed", 42),
+                Integer.getInteger("datagen.users", 5_000),
+                Integer.getInteger("datagen.products", 1_000_000));
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("datagen.username", "postgres"), System.getProperty("datagen.password", "postgres"))) {
+            Result result = load(connection, generator);
+            System.out.printf("Cargados %d usuarios y %d productos (semilla %d) en %d ms%n",
+                    result.users(), result.products(), generator.getSeed(), result.elapsedMs());
+        }
+    }
+
+    public record Result(int users, int products, long elapsedMs) {
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void writeTo(Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tulio.inventory.datagen;
+
+import com.tulio.inventory.EmbeddedDatabaseTest;
+import com.tulio.inventory.entity.User;
+import com.tulio.inventory.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SyntheticDataLoaderTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void load_ShouldCopyGeneratedRowsAndContinueIdentityAfterThem() throws Exception {
+        // Arrange
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42, 300, 20_000);
+        SyntheticDataGenerator.ProductRow firstProduct = generator.products().get(0);
+
+        // Act
+        SyntheticDataLoader.Result result;
+        try (Connection connection = dataSource.getConnection()) {
+            result = SyntheticDataLoader.load(connection, generator);
+        }
+        User created = new User();
+        created.setName("Usuario tras la carga");
+        created.setAge(30);
+        created.setPosition("QA");
+        created.setHireDate(LocalDate.of(2024, 1, 1));
+        created = userRepository.save(created);
+
+        // Assert
+        assertEquals(300, result.users());
+        assertEquals(20_000, result.products());
+        assertEquals(300, jdbcTemplate.queryForObject("SELECT count(*) FROM users", Integer.class) - 1);
+        assertEquals(20_000, jdbcTemplate.queryForObject("SELECT count(*) FROM products", Integer.class));
+        assertEquals(firstProduct.productName(),
+                jdbcTemplate.queryForObject("SELECT product_name FROM products WHERE id = 1", String.class));
+        assertEquals(firstProduct.lastModificationDate() != null,
+                jdbcTemplate.queryForObject("SELECT last_modification_date IS NOT NULL FROM products WHERE id = 1", Boolean.class));
+        assertEquals(301L, created.getId());
+    }
+}
@@ -0,0 +1,47 @@
+package com.tulio.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.ProductChangeEventDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileProductEventPublisherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void publish_ShouldAppendOneJsonLinePerEventInOrder() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("events.jsonl");
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        FileProductEventPublisher publisher = new FileProductEventPublisher(objectMapper, file.toString());
+
+        // Act
+        publisher.publish(List.of(event(1L, "CREATE"), event(2L, "UPDATE")));
+        publisher.publish(List.of(event(3L, "DELETE")));
+        publisher.close();
+
+        // Assert
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals(1, objectMapper.readTree(lines.get(0)).get("eventId").asLong());
+        assertEquals("UPDATE", objectMapper.readTree(lines.get(1)).get("action").asText());
+        assertEquals(3, objectMapper.readTree(lines.get(2)).get("eventId").asLong());
+    }
+
+    private static ProductChangeEventDTO event(Long eventId, String action) {
+        return new ProductChangeEventDTO(eventId, 7L, action, 1L, LocalDateTime.now(),
+                "Llanta", 5, LocalDate.now(), "Llanta", 6, LocalDate.now());
+    }
+}
@@ -0,0 +1,189 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductAuditDTO;
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.repository.ProductAuditRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductAuditServiceTest {
+
+    @Mock
+    private ProductAuditRepository productAuditRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductAuditService productAuditService;
+
+    @BeforeEach
+    void setUp() {
+        // Cola de 2 posiciones e intervalo largo para controlar cuándo se escribe
+        productAuditService = new ProductAuditService(productAuditRepository, jdbcTemplate, 2, 10, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productAuditService.stop();
+    }
+
+    @Test
+    void publish_BeforeStart_ShouldDropEvent() {
+        // Act
+        boolean accepted = productAuditService.publish(createEvent(1L));
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, productAuditService.getDroppedEvents());
+    }
+
+    @Test
+    void publish_WhenQueueIsFull_ShouldDropEventWithoutBlocking() throws InterruptedException {
+        // Arrange: el hilo escritor se queda bloqueado con el primer evento y la cola (2) se llena con los dos siguientes
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockWriter(writing, release);
+        productAuditService.start();
+        assertTrue(productAuditService.publish(createEvent(1L)));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(productAuditService.publish(createEvent(2L)));
+        assertTrue(productAuditService.publish(createEvent(3L)));
+
+        // Act
+        boolean accepted = productAuditService.publish(createEvent(4L));
+        release.countDown();
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1, productAuditService.getDroppedEvents());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_WhileStopping_ShouldStillWriteEvent() throws Exception {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> written = blockWriter(writing, release);
+        productAuditService.start();
+        productAuditService.publish(createEvent(1L));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        Thread stopper = new Thread(productAuditService::stop);
+        stopper.start();
+        while (productAuditService.isRunning()) {
+            Thread.sleep(5);
+        }
+
+        // Act: una petición que termina durante el apagado publica su evento
+        boolean accepted = productAuditService.publish(createEvent(2L));
+        release.countDown();
+        stopper.join(5_000);
+
+        // Assert
+        assertTrue(accepted);
+        assertEquals(List.of(1L, 2L), written);
+        assertEquals(0, productAuditService.getDroppedEvents());
+        assertFalse(productAuditService.publish(createEvent(3L)));
+    }
+
+    @Test
+    void getPhase_ShouldStopAfterWebServer() {
+        // Assert: las fases mayores se detienen antes
+        assertTrue(productAuditService.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_ShouldFlushPendingEventsInBatches() {
+        // Arrange
+        productAuditService.start();
+        productAuditService.publish(createEvent(1L));
+        productAuditService.publish(createEvent(2L));
+
+        // Act
+        productAuditService.stop();
+
+        // Assert
+        assertEquals(0, productAuditService.getPendingEvents());
+        assertFalse(productAuditService.isRunning());
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(ProductAuditService.INSERT_SQL), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void getProductHistory_ShouldReturnMappedEvents() {
+        // Arrange
+        ProductAudit event = createEvent(1L);
+        event.setId(5L);
+        when(productAuditRepository.findByProductIdOrderByChangeDateDescIdDesc(1L))
+                .thenReturn(Collections.singletonList(event));
+
+        // Act
+        List<ProductAuditDTO> result = productAuditService.getProductHistory(1L);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(5L, result.get(0).getId());
+        assertEquals("CREATE", result.get(0).getAction());
+        assertEquals("Test Product", result.get(0).getNewProductName());
+        assertNull(result.get(0).getPreviousProductName());
+    }
+
+    // El primer lote espera a release (ignorando interrupciones, como una escritura JDBC real); devuelve los IDs escritos
+    @SuppressWarnings("unchecked")
+    private List<Long> blockWriter(CountDownLatch writing, CountDownLatch release) {
+        List<Long> written = new CopyOnWriteArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(ProductAuditService.INSERT_SQL), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            List<ProductAudit> batch = invocation.getArgument(1);
+            writing.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            batch.forEach(event -> written.add(event.getProductId()));
+            return new int[0][];
+        });
+        return written;
+    }
+
+    private ProductAudit createEvent(Long productId) {
+        Product product = new Product();
+        product.setId(productId);
+        product.setProductName("Test Product");
+        product.setQuantity(10);
+        product.setEntryDate(LocalDate.now().minusDays(1));
+
+        ProductAudit event = new ProductAudit(ProductAudit.Action.CREATE, productId, 1L);
+        event.recordNew(product);
+        return event;
+    }
+}
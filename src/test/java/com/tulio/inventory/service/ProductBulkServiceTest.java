@@ -0,0 +1,211 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.BulkOperationResultDTO;
+import com.tulio.inventory.dto.BulkQuantityUpdateDTO;
+import com.tulio.inventory.dto.QuantityUpdateDTO;
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.repository.UserRepository;
+import com.tulio.inventory.util.ErrorConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductAuditService productAuditService;
+
+    @Mock
+    private ProductOutboxService productOutboxService;
+
+    private ProductBulkService productBulkService;
+
+    private final Long userId = 1L;
+
+    @BeforeEach
+    void setUp() {
+        productBulkService = new ProductBulkService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                userRepository, productAuditService, productOutboxService, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteProducts_ShouldRunSingleStatementRestrictedToOwnerAndAuditDeletedRows() {
+        // Arrange
+        LocalDate from = LocalDate.now().minusDays(30);
+        LocalDate to = LocalDate.now().minusDays(10);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(snapshot(10L, "A", 5), snapshot(11L, "B", 7)));
+
+        // Act
+        BulkOperationResultDTO result = productBulkService.deleteProducts(userId, from, to);
+
+        // Assert
+        assertEquals(2, result.getAffected());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+        assertEquals("DELETE FROM products WHERE registered_by_user_id = ? AND entry_date >= ? AND entry_date <= ? "
+                + "RETURNING id, product_name, quantity, entry_date", sql.getValue());
+        assertArrayEquals(new Object[]{userId, Date.valueOf(from), Date.valueOf(to)}, params.getValue());
+        verify(productAuditService, times(2)).publish(argThat(event ->
+                event.getAction() == ProductAudit.Action.DELETE && event.getUserId().equals(userId)));
+        // El DELETE y los eventos de la bandeja de salida van en la misma transacción
+        verify(productOutboxService).appendAll(argThat(events -> events.size() == 2));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void deleteProducts_WithoutDates_ShouldThrowBadRequestException() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> productBulkService.deleteProducts(userId, null, null));
+        assertEquals(ErrorConstants.FILTRO_ELIMINACION_MASIVA_VACIO, exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void deleteProducts_WithNonExistingUser_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> productBulkService.deleteProducts(999L, LocalDate.now().minusDays(1), null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateQuantities_ShouldBatchUpdatesAndReportNotFoundIds() {
+        // Arrange
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(snapshot(10L, "A", 5), snapshot(11L, "B", 7)));
+        when(jdbcTemplate.batchUpdate(eq(ProductBulkService.UPDATE_QUANTITY_SQL), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][]{{1, 1}});
+        BulkQuantityUpdateDTO request = new BulkQuantityUpdateDTO(userId, List.of(
+                new QuantityUpdateDTO(10L, 50), new QuantityUpdateDTO(11L, 70), new QuantityUpdateDTO(12L, 90)));
+
+        // Act
+        BulkOperationResultDTO result = productBulkService.updateQuantities(request);
+
+        // Assert
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getAffected());
+        assertEquals(List.of(12L), result.getNotFoundIds());
+        verify(transactionManager).commit(any());
+        verify(productAuditService).publish(argThat(event -> event.getProductId().equals(10L)
+                && event.getPreviousQuantity() == 5 && event.getNewQuantity() == 50));
+        verify(productAuditService).publish(argThat(event -> event.getProductId().equals(11L)
+                && event.getPreviousQuantity() == 7 && event.getNewQuantity() == 70));
+        verify(productOutboxService).appendAll(argThat(events -> events.size() == 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateQuantities_ShouldLockRowsOrderedById() throws Exception {
+        // Arrange
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(eq(ProductBulkService.UPDATE_QUANTITY_SQL), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[0][]);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        BulkQuantityUpdateDTO request = new BulkQuantityUpdateDTO(userId, List.of(
+                new QuantityUpdateDTO(11L, 70), new QuantityUpdateDTO(10L, 50)));
+
+        // Act
+        productBulkService.updateQuantities(request);
+
+        // Assert: el orden de bloqueo no depende del plan elegido por PostgreSQL
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowMapper.class));
+        creator.getValue().createPreparedStatement(connection);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().endsWith("WHERE id = ANY(?) ORDER BY id FOR UPDATE"));
+    }
+
+    @Test
+    void updateQuantities_WithDuplicatedProduct_ShouldThrowBadRequestException() {
+        // Arrange
+        BulkQuantityUpdateDTO request = new BulkQuantityUpdateDTO(userId, List.of(
+                new QuantityUpdateDTO(10L, 50), new QuantityUpdateDTO(10L, 60)));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> productBulkService.updateQuantities(request));
+        assertEquals(ErrorConstants.PRODUCTO_DUPLICADO_EN_LISTA + 10L, exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void updateQuantities_WithNonPositiveQuantity_ShouldThrowBadRequestException() {
+        // Arrange
+        BulkQuantityUpdateDTO request = new BulkQuantityUpdateDTO(userId, List.of(new QuantityUpdateDTO(10L, 0)));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> productBulkService.updateQuantities(request));
+        assertEquals(ErrorConstants.CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA, exception.getMessage());
+    }
+
+    @Test
+    void updateQuantities_AboveMaximum_ShouldThrowBadRequestException() {
+        // Arrange
+        BulkQuantityUpdateDTO request = new BulkQuantityUpdateDTO(userId, List.of(new QuantityUpdateDTO(1L, 1),
+                new QuantityUpdateDTO(2L, 1), new QuantityUpdateDTO(3L, 1), new QuantityUpdateDTO(4L, 1)));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> productBulkService.updateQuantities(request));
+        assertEquals(ErrorConstants.LISTA_CANTIDADES_EXCEDE_MAXIMO + 3, exception.getMessage());
+    }
+
+    private Product snapshot(Long id, String name, int quantity) {
+        Product product = new Product();
+        product.setId(id);
+        product.setProductName(name);
+        product.setQuantity(quantity);
+        product.setEntryDate(LocalDate.now().minusDays(20));
+        return product;
+    }
+}
@@ -0,0 +1,158 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.FacetedSearchResultDTO;
+import com.tulio.inventory.dto.ProductFacetsDTO;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductFacetService productFacetService;
+
+    @BeforeEach
+    void setUp() {
+        productFacetService = new ProductFacetService(productService, jdbcTemplate, 60_000, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_ShouldSplitGroupingSetsIntoFacets() {
+        // Arrange
+        LocalDate january = LocalDate.of(2024, 1, 1);
+        LocalDate february = LocalDate.of(2024, 2, 1);
+        ProductResponseDTO product = new ProductResponseDTO();
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(List.of(product));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new ProductFacetService.GroupedRow(false, true, null, null, february, 0, 2),
+                new ProductFacetService.GroupedRow(true, false, 1L, "Ana", null, 0, 1),
+                new ProductFacetService.GroupedRow(false, false, null, null, null, 4, 1),
+                new ProductFacetService.GroupedRow(true, false, 2L, "Bob", null, 0, 2),
+                new ProductFacetService.GroupedRow(false, true, null, null, january, 0, 1),
+                new ProductFacetService.GroupedRow(false, false, null, null, null, 0, 2)));
+
+        // Act
+        FacetedSearchResultDTO result = productFacetService.search(new ProductSearchCriteria());
+
+        // Assert
+        assertEquals(1, result.getResults().size());
+        ProductFacetsDTO facets = result.getFacets();
+        // Usuarios de mayor a menor recuento, meses en orden cronológico
+        assertEquals("Bob", facets.getRegisteredBy().get(0).getLabel());
+        assertEquals("2", facets.getRegisteredBy().get(0).getValue());
+        assertEquals("Ana", facets.getRegisteredBy().get(1).getLabel());
+        assertEquals("2024-01", facets.getEntryMonth().get(0).getLabel());
+        assertEquals("2024-02-01", facets.getEntryMonth().get(1).getValue());
+        // Siempre se devuelven los cinco rangos de cantidad, también los vacíos
+        assertEquals(5, facets.getQuantityBand().size());
+        assertEquals("1-10", facets.getQuantityBand().get(0).getLabel());
+        assertEquals(2, facets.getQuantityBand().get(0).getCount());
+        assertEquals(0, facets.getQuantityBand().get(1).getCount());
+        assertEquals("501+", facets.getQuantityBand().get(4).getLabel());
+        assertEquals(1, facets.getQuantityBand().get(4).getCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_ShouldApplyDefaultLimitAndPassFiltersToFacetQuery() {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        ProductSearchCriteria criteria = new ProductSearchCriteria(null, 7L, "50%_off");
+        criteria.setEntryDateFrom(from);
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(List.of());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        // Act
+        productFacetService.search(criteria);
+
+        // Assert
+        ArgumentCaptor<ProductSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(ProductSearchCriteria.class);
+        verify(productService).searchProducts(criteriaCaptor.capture());
+        assertEquals(ProductFacetService.DEFAULT_RESULT_LIMIT, criteriaCaptor.getValue().getLimit());
+        assertEquals(from, criteriaCaptor.getValue().getEntryDateFrom());
+        assertEquals("50%_off", criteriaCaptor.getValue().getProductName());
+        // Los parámetros de la petición no se modifican
+        assertNull(criteria.getLimit());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> paramsCaptor = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sqlCaptor.capture(), any(RowMapper.class), paramsCaptor.capture());
+        assertTrue(sqlCaptor.getValue().contains("GROUPING SETS"));
+        assertTrue(sqlCaptor.getValue().contains("WHERE entry_date >= ? AND registered_by_user_id = ? AND upper(product_name) LIKE ?"));
+        Object[] params = paramsCaptor.getValue();
+        assertEquals(Date.valueOf(from), params[0]);
+        assertEquals(7L, params[1]);
+        assertEquals("%50\\%\\_OFF%", params[2]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_ShouldReuseCachedFacetsForSameFilters() {
+        // Arrange
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(List.of());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        ProductSearchCriteria first = new ProductSearchCriteria(null, null, "tornillo");
+        ProductSearchCriteria second = new ProductSearchCriteria(null, null, "TORNILLO");
+        second.setSort("quantity");
+        second.setLimit(5);
+
+        // Act
+        ProductFacetsDTO firstFacets = productFacetService.search(first).getFacets();
+        ProductFacetsDTO secondFacets = productFacetService.search(second).getFacets();
+
+        // Assert
+        // El orden y el límite no cambian los recuentos: una sola consulta de facetas
+        assertSame(firstFacets, secondFacets);
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), any(Object[].class));
+        verify(productService, times(2)).searchProducts(any(ProductSearchCriteria.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_WhenCacheDisabled_ShouldQueryEveryTime() {
+        // Arrange
+        productFacetService = new ProductFacetService(productService, jdbcTemplate, 0, 100);
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(List.of());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        // Act
+        productFacetService.search(new ProductSearchCriteria());
+        productFacetService.search(new ProductSearchCriteria());
+
+        // Assert
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void search_WithInvalidFilters_ShouldNotQueryFacets() {
+        // Arrange
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenThrow(new BadRequestException("filtro inválido"));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> productFacetService.search(new ProductSearchCriteria()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,133 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductChangeEventDTO;
+import com.tulio.inventory.entity.ProductAudit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOutboxServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductEventPublisher publisher;
+
+    private ProductOutboxService productOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        productOutboxService = new ProductOutboxService(jdbcTemplate, new TransactionTemplate(transactionManager), publisher, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void append_OutsideTransaction_ShouldFail() {
+        // Arrange
+        ProductAudit event = new ProductAudit(ProductAudit.Action.CREATE, 1L, 1L);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> productOutboxService.append(event));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appendAll_InsideTransaction_ShouldBatchInsertEvents() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        List<ProductAudit> events = List.of(new ProductAudit(ProductAudit.Action.DELETE, 1L, 1L),
+                new ProductAudit(ProductAudit.Action.DELETE, 2L, 1L));
+
+        // Act
+        productOutboxService.appendAll(events);
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(eq(ProductOutboxService.INSERT_SQL), eq(events), eq(2), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_ShouldPublishInIdOrderThenDeleteAndCommit() {
+        // Arrange
+        List<ProductChangeEventDTO> events = List.of(event(5L, 1L), event(6L, 1L));
+        when(jdbcTemplate.queryForObject(eq(ProductOutboxService.LOCK_SQL), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(jdbcTemplate.query(eq(ProductOutboxService.SELECT_BATCH_SQL), any(RowMapper.class), any(Object[].class))).thenReturn(events);
+
+        // Act
+        int published = productOutboxService.relayBatch();
+
+        // Assert
+        assertEquals(2, published);
+        InOrder inOrder = inOrder(publisher, jdbcTemplate, transactionManager);
+        inOrder.verify(publisher).publish(events);
+        inOrder.verify(jdbcTemplate).update(any(PreparedStatementCreator.class));
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(2, productOutboxService.getStatus().getPublishedEvents());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_WhenPublisherFails_ShouldKeepEventsAndRollBack() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(eq(ProductOutboxService.LOCK_SQL), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(jdbcTemplate.query(eq(ProductOutboxService.SELECT_BATCH_SQL), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(event(5L, 1L)));
+        doThrow(new IllegalStateException("broker no disponible")).when(publisher).publish(anyList());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> productOutboxService.relayBatch());
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayBatch_WhenAnotherRelayHoldsLock_ShouldNotReadOrPublish() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(eq(ProductOutboxService.LOCK_SQL), eq(Boolean.class), any(Object[].class))).thenReturn(false);
+
+        // Act
+        int published = productOutboxService.relayBatch();
+
+        // Assert
+        assertEquals(0, published);
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+        verifyNoInteractions(publisher);
+    }
+
+    private static ProductChangeEventDTO event(Long eventId, Long productId) {
+        return new ProductChangeEventDTO(eventId, productId, "UPDATE", 1L, LocalDateTime.now(),
+                "A", 1, null, "A", 2, null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ProductField;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductProjectionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductProjectionService productProjectionService;
+
+    @BeforeEach
+    void setUp() {
+        productProjectionService = new ProductProjectionService(jdbcTemplate);
+    }
+
+    @Test
+    void select_WithoutUserFields_ShouldReadOnlyProductsTable() {
+        // Act
+        String sql = ProductProjectionService.select(EnumSet.of(ProductField.ID, ProductField.PRODUCT_NAME, ProductField.QUANTITY));
+
+        // Assert
+        assertEquals("SELECT p.id, p.product_name, p.quantity FROM products p", sql);
+    }
+
+    @Test
+    void select_WithUserFields_ShouldJoinOnlyRequestedUsers() {
+        // Act
+        String registeredBy = ProductProjectionService.select(EnumSet.of(ProductField.QUANTITY, ProductField.REGISTERED_BY_NAME));
+        String lastModifiedBy = ProductProjectionService.select(EnumSet.of(ProductField.LAST_MODIFIED_BY_NAME));
+
+        // Assert
+        assertEquals("SELECT p.id, p.quantity, rb.name AS registered_by_name FROM products p "
+                + "JOIN users rb ON rb.id = p.registered_by_user_id", registeredBy);
+        assertEquals("SELECT p.id, lm.name AS last_modified_by_name FROM products p "
+                + "LEFT JOIN users lm ON lm.id = p.last_modified_by_user_id", lastModifiedBy);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_ShouldApplyFiltersSortAndLimit() {
+        // Arrange
+        ProductSearchCriteria criteria = new ProductSearchCriteria(null, 3L, "tor_");
+        criteria.setEntryDateFrom(LocalDate.of(2024, 1, 1));
+        Sort sort = Sort.by(Sort.Direction.DESC, "quantity").and(Sort.by(Sort.Direction.DESC, "id"));
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+
+        // Act
+        productProjectionService.search(criteria, sort, 5, EnumSet.of(ProductField.ID, ProductField.QUANTITY));
+
+        // Assert
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), params.capture());
+        assertEquals("SELECT p.id, p.quantity FROM products p WHERE p.entry_date >= ? AND p.registered_by_user_id = ? "
+                + "AND upper(p.product_name) LIKE ? ESCAPE '\\' ORDER BY p.quantity DESC, p.id DESC LIMIT ?", sql.getValue());
+        assertArrayEquals(new Object[]{Date.valueOf(LocalDate.of(2024, 1, 1)), 3L, "%TOR\\_%", 5}, params.getValue());
+    }
+}
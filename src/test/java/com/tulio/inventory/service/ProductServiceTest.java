@@ -1,9 +1,13 @@
 package com.tulio.inventory.service;
 
+import com.tulio.inventory.dto.ProductBatchItemDTO;
 import com.tulio.inventory.dto.ProductCreationDTO;
+import com.tulio.inventory.dto.ProductField;
 import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
 import com.tulio.inventory.dto.ProductUpdateDTO;
 import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
 import com.tulio.inventory.entity.User;
 import com.tulio.inventory.exception.BadRequestException;
 import com.tulio.inventory.exception.ResourceNotFoundException;
@@ -14,19 +18,28 @@ import com.tulio.inventory.util.ErrorConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +52,21 @@ class ProductServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProductAuditService productAuditService;
+
+    @Mock
+    private ProductOutboxService productOutboxService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private ResilientReadService resilientReadService = new ResilientReadService(true, 20, 10, 50, 2000, 10000, 100, 100);
+
+    @Mock
+    private ProductProjectionService productProjectionService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -112,6 +140,13 @@ class ProductServiceTest {
         verify(productRepository).findByProductName(testCreationDTO.getProductName());
         verify(userRepository).findById(userId);
         verify(productRepository).save(any(Product.class));
+        verify(productAuditService).publish(argThat(event -> event.getAction() == ProductAudit.Action.CREATE
+                && productId.equals(event.getProductId())
+                && event.getPreviousProductName() == null
+                && productName.equals(event.getNewProductName())));
+        verify(productOutboxService).append(argThat(event -> event.getAction() == ProductAudit.Action.CREATE
+                && productId.equals(event.getProductId())));
+        verify(transactionTemplate).execute(any());
     }
 
     @Test
@@ -175,6 +210,17 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
         verify(userRepository).findById(userId);
         verify(productRepository).save(any(Product.class));
+        verify(productAuditService).publish(argThat(event -> event.getAction() == ProductAudit.Action.UPDATE
+                && productName.equals(event.getPreviousProductName())
+                && Integer.valueOf(10).equals(event.getPreviousQuantity())
+                && testUpdateDTO.getProductName().equals(event.getNewProductName())
+                && testUpdateDTO.getQuantity().equals(event.getNewQuantity())));
+        // El UPDATE se envía antes de escribir el evento en la bandeja de salida
+        InOrder inOrder = inOrder(productRepository, productOutboxService);
+        inOrder.verify(productRepository).save(any(Product.class));
+        inOrder.verify(productRepository).flush();
+        inOrder.verify(productOutboxService).append(argThat(event -> event.getAction() == ProductAudit.Action.UPDATE
+                && productId.equals(event.getProductId())));
     }
 
     @Test
@@ -198,6 +244,74 @@ class ProductServiceTest {
         verify(productRepository, never()).save(any());
     }
 
+    @Test
+    void patchProduct_WithOnlyQuantity_ShouldUpdateQuantityWithoutNameCheck() {
+        // Arrange
+        ProductUpdateDTO patchDTO = new ProductUpdateDTO(null, 25, null, anotherUserId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(userRepository.findById(anotherUserId)).thenReturn(Optional.of(anotherUser));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ProductResponseDTO result = productService.patchProduct(productId, patchDTO);
+
+        // Assert
+        assertEquals(productName, result.getProductName());
+        assertEquals(25, result.getQuantity());
+        assertEquals(anotherUser.getName(), result.getLastModifiedByName());
+        verify(productRepository, never()).findByProductName(any());
+        verify(productAuditService).publish(argThat(event -> event.getAction() == ProductAudit.Action.UPDATE
+                && event.getPreviousQuantity() == 10 && event.getNewQuantity() == 25
+                && productName.equals(event.getNewProductName())));
+    }
+
+    @Test
+    void patchProduct_WithUnchangedValues_ShouldNotSave() {
+        // Arrange
+        ProductUpdateDTO patchDTO = new ProductUpdateDTO(productName, 10, null, userId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+
+        // Act
+        ProductResponseDTO result = productService.patchProduct(productId, patchDTO);
+
+        // Assert
+        assertEquals(10, result.getQuantity());
+        assertNull(result.getLastModificationDate());
+        verify(productRepository, never()).findByProductName(any());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productAuditService, never()).publish(any());
+        verifyNoInteractions(productOutboxService);
+    }
+
+    @Test
+    void patchProduct_WithDuplicateName_ShouldThrowBadRequestException() {
+        // Arrange
+        ProductUpdateDTO patchDTO = new ProductUpdateDTO("Existing Product", null, null, userId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findByProductName("Existing Product")).thenReturn(Optional.of(new Product()));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.patchProduct(productId, patchDTO);
+        });
+        assertEquals(ErrorConstants.PRODUCTO_EXISTE_NOMBRE + "Existing Product", exception.getMessage());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void patchProduct_WithNonPositiveQuantity_ShouldThrowBadRequestException() {
+        // Arrange
+        ProductUpdateDTO patchDTO = new ProductUpdateDTO(null, 0, null, userId);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.patchProduct(productId, patchDTO);
+        });
+        assertEquals(ErrorConstants.CANTIDAD_PRODUCTO_DEBE_SER_POSITIVA, exception.getMessage());
+    }
+
     @Test
     void deleteProduct_ByCreator_ShouldDeleteProduct() {
         // Arrange
@@ -210,6 +324,12 @@ class ProductServiceTest {
         // Assert
         verify(productRepository).findById(productId);
         verify(productRepository).delete(testProduct);
+        verify(productAuditService).publish(argThat(event -> event.getAction() == ProductAudit.Action.DELETE
+                && userId.equals(event.getUserId())
+                && productName.equals(event.getPreviousProductName())
+                && event.getNewProductName() == null));
+        verify(productOutboxService).append(argThat(event -> event.getAction() == ProductAudit.Action.DELETE
+                && productId.equals(event.getProductId())));
     }
 
     @Test
@@ -223,7 +343,9 @@ class ProductServiceTest {
         });
         assertEquals(ErrorConstants.USUARIO_CREADOR_DEBE_ELIMINAR, exception.getMessage());
         verify(productRepository).findById(productId);
-        verify(productRepository, never()).delete(any());
+        verify(productRepository, never()).delete(any(Product.class));
+        verify(productAuditService, never()).publish(any());
+        verifyNoInteractions(productOutboxService);
     }
 
     @Test
@@ -231,7 +353,7 @@ class ProductServiceTest {
         // Arrange
         LocalDate searchDate = LocalDate.now().minusDays(5);
         List<Product> productList = Collections.singletonList(testProduct);
-        when(productRepository.findByEntryDate(searchDate)).thenReturn(productList);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(productList);
 
         // Act
         List<ProductResponseDTO> results = productService.searchProducts(searchDate, null, null);
@@ -241,7 +363,7 @@ class ProductServiceTest {
         assertEquals(1, results.size());
         assertEquals(testProduct.getId(), results.get(0).getId());
         assertEquals(testProduct.getProductName(), results.get(0).getProductName());
-        verify(productRepository).findByEntryDate(searchDate);
+        verify(productRepository).findBy(any(Specification.class), any());
     }
 
     @Test
@@ -249,7 +371,7 @@ class ProductServiceTest {
         // Arrange
         List<Product> productList = Collections.singletonList(testProduct);
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(productRepository.findByRegisteredBy(testUser)).thenReturn(productList);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(productList);
 
         // Act
         List<ProductResponseDTO> results = productService.searchProducts(null, userId, null);
@@ -260,7 +382,7 @@ class ProductServiceTest {
         assertEquals(testProduct.getId(), results.get(0).getId());
         assertEquals(testProduct.getProductName(), results.get(0).getProductName());
         verify(userRepository).findById(userId);
-        verify(productRepository).findByRegisteredBy(testUser);
+        verify(productRepository).findBy(any(Specification.class), any());
     }
 
     @Test
@@ -268,7 +390,7 @@ class ProductServiceTest {
         // Arrange
         String searchName = "Test";
         List<Product> productList = Collections.singletonList(testProduct);
-        when(productRepository.findByProductNameContainingIgnoreCase(searchName)).thenReturn(productList);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(productList);
 
         // Act
         List<ProductResponseDTO> results = productService.searchProducts(null, null, searchName);
@@ -278,7 +400,7 @@ class ProductServiceTest {
         assertEquals(1, results.size());
         assertEquals(testProduct.getId(), results.get(0).getId());
         assertEquals(testProduct.getProductName(), results.get(0).getProductName());
-        verify(productRepository).findByProductNameContainingIgnoreCase(searchName);
+        verify(productRepository).findBy(any(Specification.class), any());
     }
 
     @Test
@@ -288,8 +410,7 @@ class ProductServiceTest {
         String searchName = "Test";
         List<Product> productList = Collections.singletonList(testProduct);
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(productRepository.findByEntryDateAndRegisteredByAndProductNameContainingIgnoreCase(
-                eq(searchDate), eq(testUser), eq(searchName))).thenReturn(productList);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(productList);
 
         // Act
         List<ProductResponseDTO> results = productService.searchProducts(searchDate, userId, searchName);
@@ -300,8 +421,65 @@ class ProductServiceTest {
         assertEquals(testProduct.getId(), results.get(0).getId());
         assertEquals(testProduct.getProductName(), results.get(0).getProductName());
         verify(userRepository).findById(userId);
-        verify(productRepository).findByEntryDateAndRegisteredByAndProductNameContainingIgnoreCase(
-                eq(searchDate), eq(testUser), eq(searchName));
+        verify(productRepository).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void searchProducts_WithoutFilters_ShouldThrowBadRequestException() {
+        // Arrange
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setSort("quantity");
+        criteria.setLimit(10);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.searchProducts(criteria);
+        });
+        assertEquals(ErrorConstants.FILTRO_BUSQUEDA_VACIO, exception.getMessage());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProducts_WithInvertedDateRange_ShouldThrowBadRequestException() {
+        // Arrange
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setEntryDateFrom(LocalDate.now());
+        criteria.setEntryDateTo(LocalDate.now().minusDays(1));
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.searchProducts(criteria);
+        });
+        assertEquals(ErrorConstants.RANGO_FECHAS_INVALIDO, exception.getMessage());
+    }
+
+    @Test
+    void searchProducts_WithUnsupportedSort_ShouldThrowBadRequestException() {
+        // Arrange
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setEntryDateFrom(LocalDate.now().minusDays(30));
+        criteria.setSort("registeredBy");
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.searchProducts(criteria);
+        });
+        assertEquals(ErrorConstants.ORDEN_BUSQUEDA_INVALIDO, exception.getMessage());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProducts_WithLimitAboveMaximum_ShouldThrowBadRequestException() {
+        // Arrange
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setEntryDateFrom(LocalDate.now().minusDays(30));
+        criteria.setLimit(ProductService.MAX_SEARCH_LIMIT + 1);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.searchProducts(criteria);
+        });
+        assertEquals(ErrorConstants.LIMITE_RESULTADOS_INVALIDO + ProductService.MAX_SEARCH_LIMIT, exception.getMessage());
     }
 
     @Test
@@ -321,6 +499,121 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    void getProductsByIds_ShouldKeepRequestOrderAndMarkMissingIds() {
+        // Arrange
+        Product secondProduct = new Product();
+        secondProduct.setId(3L);
+        secondProduct.setProductName("Second Product");
+        secondProduct.setQuantity(4);
+        secondProduct.setEntryDate(LocalDate.now().minusDays(1));
+        secondProduct.setRegisteredBy(anotherUser);
+        when(productRepository.findAllWithUsersByIdIn(argThat(ids -> ids.size() == 3)))
+                .thenReturn(Arrays.asList(testProduct, secondProduct));
+
+        // Act
+        List<ProductBatchItemDTO> result = productService.getProductsByIds(Arrays.asList(3L, 99L, productId, 3L));
+
+        // Assert
+        assertEquals(4, result.size());
+        assertEquals(3L, result.get(0).getId());
+        assertEquals("Second Product", result.get(0).getProduct().getProductName());
+        assertEquals(anotherUser.getName(), result.get(0).getProduct().getRegisteredByName());
+        assertFalse(result.get(1).isFound());
+        assertNull(result.get(1).getProduct());
+        assertEquals(productName, result.get(2).getProduct().getProductName());
+        assertTrue(result.get(3).isFound());
+        verify(productRepository, times(1)).findAllWithUsersByIdIn(any());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getProductsByIds_AboveLimit_ShouldThrowBadRequestException() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= ProductService.MAX_BATCH_IDS + 1; i++) {
+            ids.add(i);
+        }
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.getProductsByIds(ids);
+        });
+        assertEquals(ErrorConstants.LISTA_IDS_EXCEDE_MAXIMO + ProductService.MAX_BATCH_IDS, exception.getMessage());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getAllProducts_WithFieldsWithoutUsers_ShouldUseProjectionInsteadOfEntities() {
+        // Arrange
+        ProductResponseDTO projected = new ProductResponseDTO();
+        projected.setId(productId);
+        projected.setQuantity(10);
+        when(productProjectionService.findAll(EnumSet.of(ProductField.ID, ProductField.QUANTITY))).thenReturn(List.of(projected));
+
+        // Act
+        List<ProductResponseDTO> results = productService.getAllProducts(" quantity,id ,");
+
+        // Assert
+        assertSame(projected, results.get(0));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getAllProducts_WithEveryField_ShouldUseFullRead() {
+        // Arrange
+        when(productRepository.findAllWithUsers()).thenReturn(List.of(testProduct));
+
+        // Act
+        List<ProductResponseDTO> results = productService.getAllProducts(
+                "id,productName,quantity,entryDate,registeredByName,lastModifiedByName,lastModificationDate");
+
+        // Assert
+        assertNull(results.get(0).getFields());
+        assertEquals(testUser.getName(), results.get(0).getRegisteredByName());
+        verifyNoInteractions(productProjectionService);
+    }
+
+    @Test
+    void getProductById_WithUnknownField_ShouldThrowBadRequestException() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            productService.getProductById(productId, "id,registeredBy");
+        });
+        assertEquals(ErrorConstants.CAMPO_PRODUCTO_INVALIDO + "registeredBy", exception.getMessage());
+        verifyNoInteractions(productRepository, productProjectionService);
+    }
+
+    @Test
+    void getProductById_WithFieldsAndNonExistingId_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        when(productProjectionService.findById(999L, EnumSet.of(ProductField.PRODUCT_NAME))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            productService.getProductById(999L, "productName");
+        });
+        assertEquals(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + 999L, exception.getMessage());
+    }
+
+    @Test
+    void searchProducts_WithFields_ShouldCheckUserAndUseProjection() {
+        // Arrange
+        ProductSearchCriteria criteria = new ProductSearchCriteria(null, userId, null);
+        criteria.setFields("id,registeredByName");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        when(productProjectionService.search(eq(criteria), any(), isNull(),
+                eq(EnumSet.of(ProductField.ID, ProductField.REGISTERED_BY_NAME)))).thenReturn(List.of(new ProductResponseDTO()));
+
+        // Act
+        List<ProductResponseDTO> results = productService.searchProducts(criteria);
+
+        // Assert
+        assertEquals(1, results.size());
+        verify(userRepository).findById(userId);
+        verify(productRepository, never()).findBy(any(Specification.class), any());
+    }
+
     @Test
     void getProductById_WithNonExistingId_ShouldThrowResourceNotFoundException() {
         // Arrange
@@ -334,5 +627,20 @@ class ProductServiceTest {
         assertEquals(ErrorConstants.PRODUCTO_NO_ENCONTRADO_ID + nonExistingId, exception.getMessage());
         verify(productRepository).findById(nonExistingId);
     }
-}
 
+    @Test
+    void getProductById_WhenDatabaseFailsAfterSuccessfulRead_ShouldReturnLastKnownProduct() {
+        // Arrange
+        when(productRepository.findById(productId))
+                .thenReturn(Optional.of(testProduct))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        ProductResponseDTO fresh = productService.getProductById(productId);
+
+        // Act
+        ProductResponseDTO stale = productService.getProductById(productId);
+
+        // Assert
+        assertSame(fresh, stale);
+        assertEquals(1, resilientReadService.getStatus().getStaleResponses());
+    }
+}
@@ -0,0 +1,93 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.InventoryStatisticsDTO;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.util.ErrorConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStatisticsServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductStatisticsService productStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        productStatisticsService = new ProductStatisticsService(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getStatistics_ShouldSplitGroupingSetsIntoTotalsUsersAndBuckets() {
+        // Arrange
+        LocalDate january = LocalDate.of(2024, 1, 1);
+        LocalDate february = LocalDate.of(2024, 2, 1);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new ProductStatisticsService.GroupedRow(false, true, null, null, february, 4, 40),
+                new ProductStatisticsService.GroupedRow(true, false, 1L, "Ana", null, 5, 25),
+                new ProductStatisticsService.GroupedRow(false, false, null, null, null, 10, 55),
+                new ProductStatisticsService.GroupedRow(true, false, 2L, "Bob", null, 5, 30),
+                new ProductStatisticsService.GroupedRow(false, true, null, null, january, 6, 15)));
+
+        // Act
+        InventoryStatisticsDTO result = productStatisticsService.getStatistics("MONTH", null, null);
+
+        // Assert
+        assertEquals(10, result.getProductCount());
+        assertEquals(55, result.getTotalQuantity());
+        assertEquals("month", result.getBucket());
+        // Usuarios de mayor a menor cantidad total, periodos en orden cronológico
+        assertEquals("Bob", result.getByUser().get(0).getUserName());
+        assertEquals("Ana", result.getByUser().get(1).getUserName());
+        assertEquals(january, result.getByEntryDate().get(0).getBucketStart());
+        assertEquals(february, result.getByEntryDate().get(1).getBucketStart());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getStatistics_WithDateRange_ShouldRunSingleGroupingSetsQuery() {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 8);
+        LocalDate to = LocalDate.of(2024, 1, 20);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        // Act
+        InventoryStatisticsDTO result = productStatisticsService.getStatistics("week", from, to);
+
+        // Assert
+        assertEquals(0, result.getProductCount());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(RowMapper.class), params.capture());
+        assertTrue(sql.getValue().contains("GROUPING SETS ((), (registered_by_user_id), (bucket))"));
+        assertTrue(sql.getValue().contains("FROM products WHERE entry_date >= ? AND entry_date <= ?"));
+        assertArrayEquals(new Object[]{"week", Date.valueOf(from), Date.valueOf(to)}, params.getValue());
+    }
+
+    @Test
+    void getStatistics_WithInvalidBucket_ShouldThrowBadRequestException() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> productStatisticsService.getStatistics("year", null, null));
+        assertEquals(ErrorConstants.AGRUPACION_ESTADISTICAS_INVALIDA, exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
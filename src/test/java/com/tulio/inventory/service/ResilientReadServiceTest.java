@@ -0,0 +1,185 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.ResilienceStatusDTO;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.exception.ServiceUnavailableException;
+import com.tulio.inventory.util.TimeBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientReadServiceTest {
+
+    // Ventana de 4, mínimo 2 llamadas, umbral del 50 %, abierto 60 s (no se cierra solo durante la prueba)
+    private final ResilientReadService resilientReadService = new ResilientReadService(true, 4, 2, 50, 2000, 60_000, 10, 100);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        resilientReadService.close();
+    }
+
+    @Test
+    void read_WhenDatabaseFails_ShouldServeLastKnownValueWithStalenessHeader() {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        resilientReadService.read("product:1", () -> "v1");
+
+        // Act
+        String result = resilientReadService.read("product:1", failingLoader());
+
+        // Assert
+        assertEquals("v1", result);
+        assertEquals("0", response.getHeader(ResilientReadService.STALENESS_HEADER));
+        assertEquals(1, resilientReadService.getStatus().getStaleResponses());
+    }
+
+    @Test
+    void read_WhenDatabaseFailsWithoutCachedValue_ShouldThrowServiceUnavailable() {
+        // Act & Assert
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> resilientReadService.read("product:1", failingLoader()));
+        assertEquals(60, exception.getRetryAfterSeconds());
+        assertInstanceOf(DataAccessResourceFailureException.class, exception.getCause());
+        assertEquals(1, resilientReadService.getStatus().getUnavailableResponses());
+    }
+
+    @Test
+    void read_WithBusinessException_ShouldPropagateAndEvictCachedValue() {
+        // Arrange
+        resilientReadService.read("product:1", () -> "v1");
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> resilientReadService.read("product:1", () -> {
+            throw new ResourceNotFoundException("no existe");
+        }));
+
+        // Assert: sin valor guardado, un fallo posterior de la base de datos ya no puede devolver el producto borrado
+        assertThrows(ServiceUnavailableException.class, () -> resilientReadService.read("product:1", failingLoader()));
+        assertEquals("CLOSED", resilientReadService.getStatus().getCircuitState());
+    }
+
+    @Test
+    void read_WithOpenCircuit_ShouldNotCallDatabase() {
+        // Arrange
+        resilientReadService.read("product:1", () -> "v1");
+        // Un éxito y un fallo: 50 % con el mínimo de llamadas, el cortocircuito se abre
+        assertThrows(ServiceUnavailableException.class, () -> resilientReadService.read("product:2", failingLoader()));
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        String result = resilientReadService.read("product:1", () -> {
+            calls.incrementAndGet();
+            return "v2";
+        });
+
+        // Assert
+        ResilienceStatusDTO status = resilientReadService.getStatus();
+        assertEquals("OPEN", status.getCircuitState());
+        assertEquals("v1", result);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void read_WhenServingStaleValue_ShouldRevalidateInBackground() throws InterruptedException {
+        // Arrange: mínimo de 10 llamadas para que un fallo aislado no abra el cortocircuito (con él abierto no se revalida);
+        // el cargador devuelve una versión nueva en cada llamada
+        ResilientReadService service = new ResilientReadService(true, 20, 10, 50, 2000, 60_000, 10, 100);
+        AtomicInteger version = new AtomicInteger();
+        service.read("product:1", () -> "v" + version.incrementAndGet());
+
+        // Act
+        String stale = service.read("product:1", failingLoader());
+
+        // Assert: la revalidación en segundo plano reutiliza el cargador original y sustituye el valor guardado
+        assertEquals("v1", stale);
+        String current = stale;
+        for (int i = 0; i < 100 && !"v2".equals(current); i++) {
+            Thread.sleep(20);
+            current = service.read("product:1", failingLoader());
+        }
+        assertEquals("v2", current);
+        service.close();
+    }
+
+    @Test
+    void read_WhenTimeBudgetExhausted_ShouldPropagateWithoutServingStaleValue() throws InterruptedException {
+        // Arrange
+        resilientReadService.read("product:1", () -> "v1");
+        TimeBudget.begin("GET /api/products/{id}", 1);
+        Thread.sleep(5);
+
+        // Act & Assert
+        try {
+            assertThrows(DataAccessResourceFailureException.class, () -> resilientReadService.read("product:1", failingLoader()));
+        } finally {
+            TimeBudget.end();
+        }
+        ResilienceStatusDTO status = resilientReadService.getStatus();
+        assertEquals("CLOSED", status.getCircuitState());
+        assertEquals(0, status.getFailureRate());
+        assertEquals(0, status.getStaleResponses());
+    }
+
+    @Test
+    void read_WhenCacheIsFull_ShouldEvictOldestEntry() {
+        // Arrange
+        ResilientReadService service = new ResilientReadService(true, 20, 10, 50, 2000, 60_000, 2, 100);
+        service.read("product:1", () -> "v1");
+        service.read("product:2", () -> "v2");
+
+        // Act
+        service.read("product:3", () -> "v3");
+
+        // Assert
+        assertEquals(2, service.getStatus().getCachedEntries());
+        assertThrows(ServiceUnavailableException.class, () -> service.read("product:1", failingLoader()));
+        assertEquals("v3", service.read("product:3", failingLoader()));
+        service.close();
+    }
+
+    @Test
+    void read_WithLargeResultOrAllProducts_ShouldNotKeepStaleCopy() {
+        // Arrange
+        ResilientReadService service = new ResilientReadService(true, 20, 10, 50, 2000, 60_000, 10, 2);
+        service.read("products:search:big", () -> List.of("a", "b"));
+        service.read("products:all", () -> List.of("a"));
+
+        // Act: la búsqueda crece por encima del máximo y deja de guardarse
+        service.read("products:search:big", () -> List.of("a", "b", "c"));
+
+        // Assert
+        assertEquals(0, service.getStatus().getCachedEntries());
+        assertThrows(ServiceUnavailableException.class, () -> service.read("products:search:big", failingLoader()));
+        assertThrows(ServiceUnavailableException.class, () -> service.read("products:all", failingLoader()));
+        service.close();
+    }
+
+    @Test
+    void read_WhenDisabled_ShouldPropagateDatabaseErrors() {
+        // Arrange
+        ResilientReadService disabled = new ResilientReadService(false, 4, 2, 50, 2000, 60_000, 10, 100);
+        disabled.read("product:1", () -> "v1");
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () -> disabled.read("product:1", failingLoader()));
+        disabled.close();
+    }
+
+    private static Supplier<String> failingLoader() {
+        return () -> {
+            throw new DataAccessResourceFailureException("Connection refused");
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.RequestSqlStatsDTO;
+import com.tulio.inventory.dto.SqlStatementStatsDTO;
+import com.tulio.inventory.dto.SqlStatisticsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsServiceTest {
+
+    private static final String SELECT_PRODUCT = "select p.id, p.product_name from products p where p.id=?";
+
+    private SqlStatisticsService sqlStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatisticsService = new SqlStatisticsService(100);
+    }
+
+    @Test
+    void recordStatement_ShouldAggregateLatencyRowsAndSlowExecutions() {
+        // Act
+        sqlStatisticsService.recordStatement(SELECT_PRODUCT, 3, 0);
+        sqlStatisticsService.recordRowRead();
+        sqlStatisticsService.recordStatement(SELECT_PRODUCT, 150, 0);
+        sqlStatisticsService.recordRowRead();
+        sqlStatisticsService.recordRowRead();
+
+        // Assert
+        SqlStatisticsDTO statistics = sqlStatisticsService.getStatistics();
+        assertEquals(1, statistics.getStatements().size());
+        SqlStatementStatsDTO stats = statistics.getStatements().get(0);
+        assertEquals(2, stats.getExecutions());
+        assertEquals(1, stats.getSlowExecutions());
+        assertEquals(3, stats.getRows());
+        assertEquals(153, stats.getTotalTimeMs());
+        assertEquals(150, stats.getMaxTimeMs());
+        assertEquals(1L, stats.getLatencyHistogram().get("5"));
+        assertEquals(1L, stats.getLatencyHistogram().get("250"));
+        assertEquals(0L, stats.getLatencyHistogram().get("+Inf"));
+    }
+
+    @Test
+    void recordStatement_WithUpdateCount_ShouldCountAffectedRows() {
+        // Act
+        sqlStatisticsService.recordStatement("update products set quantity=? where id=?", 2, 7);
+
+        // Assert
+        assertEquals(7, sqlStatisticsService.getStatistics().getStatements().get(0).getRows());
+    }
+
+    @Test
+    void endRequest_ShouldCountStatementsPerEndpoint() {
+        // Act
+        sqlStatisticsService.beginRequest();
+        sqlStatisticsService.recordStatement(SELECT_PRODUCT, 1, 0);
+        sqlStatisticsService.recordStatement(SELECT_PRODUCT, 1, 0);
+        long firstRequest = sqlStatisticsService.endRequest("GET /api/products/{id}");
+
+        sqlStatisticsService.beginRequest();
+        sqlStatisticsService.recordStatement(SELECT_PRODUCT, 1, 0);
+        sqlStatisticsService.endRequest("GET /api/products/{id}");
+
+        // Assert
+        assertEquals(2, firstRequest);
+        assertEquals(-1, sqlStatisticsService.getCurrentRequestStatementCount());
+        RequestSqlStatsDTO requestStats = sqlStatisticsService.getStatistics().getRequests().get(0);
+        assertEquals("GET /api/products/{id}", requestStats.getEndpoint());
+        assertEquals(2, requestStats.getRequests());
+        assertEquals(3, requestStats.getStatements());
+        assertEquals(2, requestStats.getMaxStatements());
+        assertEquals(1.5, requestStats.getAverageStatements());
+    }
+
+    @Test
+    void redact_ShouldHideLiteralValues() {
+        assertEquals("select * from users where name = ? and age > ?",
+                SqlStatisticsService.redact("select *\n  from users where name = 'Ana O''Neil' and age > 30"));
+        assertEquals("select u1_0.id from users u1_0 where u1_0.id=?",
+                SqlStatisticsService.redact("select u1_0.id from users u1_0 where u1_0.id=?"));
+    }
+
+    @Test
+    void recordStatement_BeyondTrackedLimit_ShouldGroupIntoOtherStatements() {
+        // Act
+        for (int i = 0; i <= SqlStatisticsService.MAX_TRACKED_STATEMENTS; i++) {
+            sqlStatisticsService.recordStatement("select * from t" + "x".repeat(i + 1), 1, 0);
+        }
+
+        // Assert
+        assertTrue(sqlStatisticsService.getStatistics().getStatements().stream()
+                .anyMatch(stats -> SqlStatisticsService.OTHER_STATEMENTS.equals(stats.getSql())));
+        assertEquals(SqlStatisticsService.MAX_TRACKED_STATEMENTS + 1, sqlStatisticsService.getStatistics().getStatements().size());
+    }
+
+    @Test
+    void reset_ShouldClearStatistics() {
+        // Arrange
+        sqlStatisticsService.recordStatement(SELECT_PRODUCT, 1, 0);
+
+        // Act
+        sqlStatisticsService.reset();
+
+        // Assert
+        assertTrue(sqlStatisticsService.getStatistics().getStatements().isEmpty());
+    }
+}
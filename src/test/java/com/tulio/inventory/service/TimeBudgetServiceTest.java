@@ -0,0 +1,70 @@
+package com.tulio.inventory.service;
+
+import com.tulio.inventory.dto.TimeBudgetStatsDTO;
+import com.tulio.inventory.exception.TimeBudgetExceededException;
+import com.tulio.inventory.util.TimeBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBudgetServiceTest {
+
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty(TimeBudgetService.ENDPOINT_PROPERTY_PREFIX + "ProductController.searchProducts", "3000")
+            .withProperty(TimeBudgetService.ENDPOINT_PROPERTY_PREFIX + "UserController.startOffboarding", "0");
+    private final TimeBudgetService timeBudgetService = new TimeBudgetService(environment, 5000);
+
+    @Test
+    void getBudgetMillis_ShouldUseEndpointOverrideOrDefault() {
+        assertEquals(3000, timeBudgetService.getBudgetMillis("ProductController.searchProducts"));
+        assertEquals(0, timeBudgetService.getBudgetMillis("UserController.startOffboarding"));
+        assertEquals(5000, timeBudgetService.getBudgetMillis("ProductController.getProductById"));
+    }
+
+    @Test
+    void record_ShouldAggregateRequestsExhaustionAndCancelledStatementsPerEndpoint() {
+        // Arrange
+        timeBudgetService.record(new TimeBudget.Result("GET /api/products", 3000, 120, false, 0));
+        timeBudgetService.record(new TimeBudget.Result("GET /api/products", 3000, 3004, true, 1));
+        timeBudgetService.record(new TimeBudget.Result("GET /api/users/{id}", 5000, 15, false, 0));
+        timeBudgetService.record(null);
+
+        // Act
+        List<TimeBudgetStatsDTO> statistics = timeBudgetService.getStatistics();
+
+        // Assert
+        assertEquals(2, statistics.size());
+        TimeBudgetStatsDTO products = statistics.get(0);
+        assertEquals("GET /api/products", products.getEndpoint());
+        assertEquals(3000, products.getBudgetMs());
+        assertEquals(2, products.getRequests());
+        assertEquals(1, products.getExceeded());
+        assertEquals(1, products.getCancelledStatements());
+        assertEquals(3004, products.getMaxElapsedMs());
+        assertEquals(0, statistics.get(1).getExceeded());
+    }
+
+    @Test
+    void timeBudget_WhenExhausted_ShouldReportExceededResult() throws InterruptedException {
+        // Arrange
+        TimeBudget.begin("GET /api/products", 1);
+        Thread.sleep(5);
+
+        // Act
+        boolean exhausted = TimeBudget.isExhausted();
+        assertThrows(TimeBudgetExceededException.class, TimeBudget::checkRemaining);
+        TimeBudget.recordCancelledStatement();
+        TimeBudget.markExceeded();
+        TimeBudget.Result result = TimeBudget.end();
+
+        // Assert
+        assertTrue(exhausted);
+        assertTrue(result.exceeded());
+        assertEquals(1, result.cancelledStatements());
+        assertFalse(TimeBudget.isActive());
+        assertEquals(Long.MAX_VALUE, TimeBudget.remainingMillis());
+    }
+}
@@ -0,0 +1,98 @@
+package com.tulio.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.SpanDTO;
+import com.tulio.inventory.dto.TraceDTO;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.util.ErrorConstants;
+import com.tulio.inventory.util.TraceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceServiceTest {
+
+    private TraceService traceService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        traceService = new TraceService(new ObjectMapper(), 2, "");
+    }
+
+    @Test
+    void traceContext_ShouldNestSpansUnderTheirParents() {
+        // Act
+        TraceContext.begin("trace-1", "GET /api/products/1");
+        TraceContext.Span controller = TraceContext.startSpan("ProductController.getProductById", TraceContext.LAYER_CONTROLLER);
+        TraceContext.Span service = TraceContext.startSpan("ProductService.getProductById", TraceContext.LAYER_SERVICE);
+        TraceContext.Span repository = TraceContext.startSpan("ProductRepository.findById", TraceContext.LAYER_REPOSITORY);
+        TraceContext.endSpan(repository, null);
+        TraceContext.endSpan(service, new ResourceNotFoundException("x"));
+        TraceContext.endSpan(controller, null);
+        TraceDTO trace = TraceContext.end(null);
+
+        // Assert
+        assertFalse(TraceContext.isActive());
+        assertEquals("trace-1", trace.getTraceId());
+        List<SpanDTO> spans = trace.getSpans();
+        assertEquals(4, spans.size());
+        SpanDTO root = spans.get(3);
+        assertEquals(TraceContext.LAYER_HTTP, root.getLayer());
+        assertNull(root.getParentSpanId());
+        assertEquals(root.getSpanId(), spans.get(2).getParentSpanId());
+        assertEquals(spans.get(2).getSpanId(), spans.get(1).getParentSpanId());
+        assertEquals(spans.get(1).getSpanId(), spans.get(0).getParentSpanId());
+        assertEquals(ResourceNotFoundException.class.getName(), spans.get(1).getError());
+    }
+
+    @Test
+    void traceContext_WithoutActiveTrace_ShouldNotRecordSpans() {
+        // Act
+        TraceContext.Span span = TraceContext.startSpan("ProductService.getAllProducts", TraceContext.LAYER_SERVICE);
+        TraceContext.endSpan(span, null);
+
+        // Assert
+        assertNull(span);
+        assertNull(TraceContext.currentTraceId());
+        assertNull(TraceContext.end(null));
+    }
+
+    @Test
+    void record_ShouldKeepOnlyMostRecentTraces() {
+        // Act
+        traceService.record(completedTrace("a"));
+        traceService.record(completedTrace("b"));
+        traceService.record(completedTrace("c"));
+
+        // Assert
+        List<TraceDTO> traces = traceService.getTraces(0, 10);
+        assertEquals(2, traces.size());
+        assertEquals("c", traces.get(0).getTraceId());
+        assertEquals("b", traces.get(1).getTraceId());
+        assertEquals("b", traceService.getTrace("b").getTraceId());
+    }
+
+    @Test
+    void getTraces_WithMinDuration_ShouldFilterFastTraces() {
+        // Arrange
+        traceService.record(completedTrace("fast"));
+
+        // Act & Assert
+        assertTrue(traceService.getTraces(60_000, 10).isEmpty());
+    }
+
+    @Test
+    void getTrace_WithUnknownId_ShouldThrowResourceNotFoundException() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> traceService.getTrace("missing"));
+        assertEquals(ErrorConstants.TRAZA_NO_ENCONTRADA_ID + "missing", exception.getMessage());
+    }
+
+    private TraceDTO completedTrace(String traceId) {
+        TraceContext.begin(traceId, "GET /api/users");
+        return TraceContext.end(null);
+    }
+}
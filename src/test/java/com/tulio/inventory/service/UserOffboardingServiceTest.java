@@ -0,0 +1,299 @@
+package com.tulio.inventory.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.tulio.inventory.dto.OffboardingJobDTO;
+import com.tulio.inventory.entity.Product;
+import com.tulio.inventory.entity.ProductAudit;
+import com.tulio.inventory.entity.User;
+import com.tulio.inventory.exception.BadRequestException;
+import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.repository.ProductRepository;
+import com.tulio.inventory.repository.UserRepository;
+import com.tulio.inventory.util.ErrorConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserOffboardingServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductAuditService productAuditService;
+
+    @Mock
+    private ProductOutboxService productOutboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserOffboardingService userOffboardingService;
+
+    private final Long userId = 1L;
+    private final Long targetUserId = 2L;
+    private final User targetUser = new User();
+
+    @BeforeEach
+    void setUp() {
+        // Bloques de 2 productos y sin pausa para que la prueba sea rápida
+        userOffboardingService = new UserOffboardingService(userRepository, productRepository, productAuditService,
+                productOutboxService, new TransactionTemplate(transactionManager), 2, 0, 3_600_000);
+        targetUser.setId(targetUserId);
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userRepository.existsById(targetUserId)).thenReturn(true);
+        when(userRepository.getReferenceById(targetUserId)).thenReturn(targetUser);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        userOffboardingService.shutdown();
+    }
+
+    @Test
+    void run_WithReassignTarget_ShouldReassignProductsInChunksAndDeleteUser() {
+        // Arrange
+        when(productRepository.findIdsByRegisteredById(userId, Limit.of(2)))
+                .thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+        when(productRepository.updateRegisteredBy(anyList(), eq(targetUser)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(productRepository.findIdsByLastModifiedById(userId, Limit.of(2)))
+                .thenReturn(List.of(20L), List.of());
+        when(productRepository.updateLastModifiedBy(anyList(), eq(targetUser))).thenReturn(1);
+        UserOffboardingService.OffboardingJob job = new UserOffboardingService.OffboardingJob("job-1", userId, targetUserId);
+
+        // Act
+        userOffboardingService.run(job);
+
+        // Assert
+        verify(productRepository).updateRegisteredBy(List.of(10L, 11L), targetUser);
+        verify(productRepository).updateRegisteredBy(List.of(12L), targetUser);
+        verify(productRepository).updateLastModifiedBy(List.of(20L), targetUser);
+        verify(productRepository, never()).deleteAllByIdInBatch(any());
+        verify(userRepository).deleteById(userId);
+        // Un bloque = una transacción: 2 de productos registrados, 1 de modificados y la eliminación del usuario
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void startOffboarding_WithoutTarget_ShouldDeleteProductsAndReportProgress() throws Exception {
+        // Arrange
+        Product product = new Product();
+        product.setId(10L);
+        product.setProductName("Product");
+        product.setQuantity(5);
+        product.setEntryDate(LocalDate.now());
+        when(productRepository.findChunkByRegisteredById(userId, Limit.of(2))).thenReturn(List.of(product));
+        when(productRepository.findIdsByLastModifiedById(userId, Limit.of(2))).thenReturn(List.of(20L));
+        when(productRepository.clearLastModifiedBy(List.of(20L))).thenReturn(1);
+
+        // Act
+        OffboardingJobDTO started = userOffboardingService.startOffboarding(userId, null);
+        OffboardingJobDTO finished = awaitFinished(started.getJobId());
+
+        // Assert
+        assertEquals("COMPLETED", finished.getStatus());
+        assertEquals(1, finished.getProductsDeleted());
+        assertEquals(0, finished.getProductsReassigned());
+        assertEquals(1, finished.getModificationsReassigned());
+        assertEquals(2, finished.getChunksCompleted());
+        assertNotNull(finished.getEndDate());
+        verify(productRepository).deleteAllByIdInBatch(List.of(10L));
+        verify(productOutboxService).appendAll(argThat(events -> events.size() == 1 && events.get(0).getProductId().equals(10L)));
+        verify(productAuditService).publish(argThat(event -> event.getAction() == ProductAudit.Action.DELETE
+                && event.getProductId().equals(10L) && "Product".equals(event.getPreviousProductName())));
+        verify(userRepository).deleteById(userId);
+    }
+
+    @Test
+    void startOffboarding_WhenChunkFails_ShouldMarkJobAsFailedAndKeepUser() throws Exception {
+        // Arrange
+        when(productRepository.findIdsByRegisteredById(userId, Limit.of(2))).thenReturn(List.of(10L));
+        when(productRepository.updateRegisteredBy(anyList(), eq(targetUser))).thenThrow(new IllegalStateException("lock timeout"));
+
+        // Act
+        OffboardingJobDTO started = userOffboardingService.startOffboarding(userId, targetUserId);
+        OffboardingJobDTO finished = awaitFinished(started.getJobId());
+
+        // Assert
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("lock timeout", finished.getError());
+        verify(transactionManager).rollback(any());
+        verify(userRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void run_WhenDeleteChunkCommitFails_ShouldNotPublishAuditEvents() {
+        // Arrange
+        Product product = new Product();
+        product.setId(10L);
+        product.setProductName("Product");
+        when(productRepository.findChunkByRegisteredById(userId, Limit.of(2))).thenReturn(List.of(product));
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+        UserOffboardingService.OffboardingJob job = new UserOffboardingService.OffboardingJob("job-1", userId, null);
+
+        // Act
+        userOffboardingService.run(job);
+
+        // Assert
+        verify(productOutboxService).appendAll(anyList());
+        verify(productAuditService, never()).publish(any());
+        verify(userRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void getJobs_WhenRetentionHasPassed_ShouldEvictFinishedJobs() throws Exception {
+        // Arrange
+        userOffboardingService.shutdown();
+        userOffboardingService = new UserOffboardingService(userRepository, productRepository, productAuditService,
+                productOutboxService, new TransactionTemplate(transactionManager), 2, 0, 0);
+        when(productRepository.findIdsByRegisteredById(userId, Limit.of(2))).thenReturn(List.of());
+        when(productRepository.findIdsByLastModifiedById(userId, Limit.of(2))).thenReturn(List.of());
+        String jobId = userOffboardingService.startOffboarding(userId, targetUserId).getJobId();
+        verify(userRepository, timeout(5000)).deleteById(userId);
+        // Espera a que el hilo de la baja marque el proceso como terminado
+        userOffboardingService.shutdown();
+
+        // Act
+        List<OffboardingJobDTO> jobs = userOffboardingService.getJobs();
+
+        // Assert
+        assertTrue(jobs.isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> userOffboardingService.getJob(jobId));
+    }
+
+    @Test
+    void run_WhenCompleted_ShouldPublishEndDateBeforeStatus() throws Exception {
+        // Arrange
+        when(productRepository.findIdsByRegisteredById(userId, Limit.of(2))).thenReturn(List.of());
+        when(productRepository.findIdsByLastModifiedById(userId, Limit.of(2))).thenReturn(List.of());
+        JobSnapshotAppender appender = attachJobSnapshotAppender();
+
+        // Act
+        try {
+            OffboardingJobDTO started = userOffboardingService.startOffboarding(userId, targetUserId);
+            awaitFinished(started.getJobId());
+        } finally {
+            appender.detach();
+        }
+
+        // Assert
+        // La instantánea se toma en el log de fin, justo después de cambiar el estado
+        OffboardingJobDTO snapshot = appender.lastSnapshot();
+        assertEquals("COMPLETED", snapshot.getStatus());
+        assertNotNull(snapshot.getEndDate());
+    }
+
+    @Test
+    void run_WhenFailed_ShouldPublishEndDateAndErrorBeforeStatus() throws Exception {
+        // Arrange
+        when(productRepository.findIdsByRegisteredById(userId, Limit.of(2))).thenThrow(new IllegalStateException("lock timeout"));
+        JobSnapshotAppender appender = attachJobSnapshotAppender();
+
+        // Act
+        try {
+            OffboardingJobDTO started = userOffboardingService.startOffboarding(userId, targetUserId);
+            awaitFinished(started.getJobId());
+        } finally {
+            appender.detach();
+        }
+
+        // Assert
+        OffboardingJobDTO snapshot = appender.lastSnapshot();
+        assertEquals("FAILED", snapshot.getStatus());
+        assertNotNull(snapshot.getEndDate());
+        assertEquals("lock timeout", snapshot.getError());
+    }
+
+    @Test
+    void startOffboarding_WithSameTarget_ShouldThrowBadRequestException() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> userOffboardingService.startOffboarding(userId, userId));
+        assertEquals(ErrorConstants.USUARIO_REASIGNACION_MISMO_USUARIO, exception.getMessage());
+    }
+
+    @Test
+    void startOffboarding_WithNonExistingUser_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        when(userRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> userOffboardingService.startOffboarding(999L, null));
+        assertEquals(ErrorConstants.USUARIO_NO_ENCONTRADO_ID + 999L, exception.getMessage());
+    }
+
+    @Test
+    void getJob_WithNonExistingId_ShouldThrowResourceNotFoundException() {
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> userOffboardingService.getJob("missing"));
+        assertEquals(ErrorConstants.BAJA_NO_ENCONTRADA_ID + "missing", exception.getMessage());
+    }
+
+    private JobSnapshotAppender attachJobSnapshotAppender() {
+        JobSnapshotAppender appender = new JobSnapshotAppender();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(UserOffboardingService.class)).addAppender(appender);
+        return appender;
+    }
+
+    // Consulta el proceso desde el hilo de la baja en cada log del servicio, sin margen para que avance
+    private class JobSnapshotAppender extends AppenderBase<ILoggingEvent> {
+        private final List<OffboardingJobDTO> snapshots = new ArrayList<>();
+
+        @Override
+        protected synchronized void append(ILoggingEvent event) {
+            snapshots.addAll(userOffboardingService.getJobs());
+        }
+
+        synchronized OffboardingJobDTO lastSnapshot() {
+            assertFalse(snapshots.isEmpty());
+            return snapshots.get(snapshots.size() - 1);
+        }
+
+        void detach() {
+            ((Logger) LoggerFactory.getLogger(UserOffboardingService.class)).detachAppender(this);
+            stop();
+        }
+    }
+
+    private OffboardingJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        OffboardingJobDTO job = userOffboardingService.getJob(jobId);
+        while (!"COMPLETED".equals(job.getStatus()) && !"FAILED".equals(job.getStatus()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = userOffboardingService.getJob(jobId);
+        }
+        return job;
+    }
+}
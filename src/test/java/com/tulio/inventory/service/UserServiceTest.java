@@ -1,9 +1,11 @@
 package com.tulio.inventory.service;
 
 import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.dto.UserPageDTO;
 import com.tulio.inventory.entity.User;
 import com.tulio.inventory.exception.BadRequestException;
 import com.tulio.inventory.exception.ResourceNotFoundException;
+import com.tulio.inventory.repository.ProductRepository;
 import com.tulio.inventory.repository.UserRepository;
 import com.tulio.inventory.util.ErrorConstants;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +13,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -28,6 +33,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
+    @Spy
+    private ResilientReadService resilientReadService = new ResilientReadService(true, 20, 10, 50, 2000, 10000, 100, 100);
+
     @InjectMocks
     private UserService userService;
 
@@ -122,6 +133,23 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void updateUser_WithUnchangedValues_ShouldNotSaveNorCheckName() {
+        // Arrange
+        UserDTO patchDTO = new UserDTO();
+        patchDTO.setName(userName);
+        patchDTO.setAge(testUser.getAge());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+
+        // Act
+        UserDTO result = userService.updateUser(userId, patchDTO);
+
+        // Assert
+        assertEquals(userName, result.getName());
+        verify(userRepository, never()).findByName(any());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void updateUser_WithDuplicateName_ShouldThrowBadRequestException() {
         // Arrange
@@ -206,6 +234,74 @@ class UserServiceTest {
         verify(userRepository, never()).deleteById(any());
     }
 
+    @Test
+    void deleteUser_WithProducts_ShouldThrowBadRequestException() {
+        // Arrange
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(productRepository.existsByRegisteredByIdOrLastModifiedById(userId, userId)).thenReturn(true);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            userService.deleteUser(userId);
+        });
+        assertEquals(ErrorConstants.USUARIO_TIENE_PRODUCTOS, exception.getMessage());
+        verify(userRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchUsers_WithMoreResultsThanPageSize_ShouldReturnNextCursor() {
+        // Arrange
+        User secondUser = new User();
+        secondUser.setId(2L);
+        secondUser.setName("Second User");
+        User thirdUser = new User();
+        thirdUser.setId(3L);
+        thirdUser.setName("Third User");
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(Arrays.asList(testUser, secondUser, thirdUser));
+
+        // Act
+        UserPageDTO result = userService.searchUsers("t", "Developer", null, null, null, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals(2L, result.getNextCursor());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchUsers_OnLastPage_ShouldReturnNullCursor() {
+        // Arrange
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testUser));
+
+        // Act
+        UserPageDTO result = userService.searchUsers(null, null, null, null, 0L, 20);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchUsers_WithInvalidPageSize_ShouldThrowBadRequestException() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            userService.searchUsers(null, null, null, null, null, 0);
+        });
+        assertEquals(ErrorConstants.TAMANO_PAGINA_INVALIDO + 100, exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void searchUsers_WithInvertedHireDateRange_ShouldThrowBadRequestException() {
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            userService.searchUsers(null, null, LocalDate.now(), LocalDate.now().minusDays(1), null, 20);
+        });
+        assertEquals(ErrorConstants.RANGO_FECHAS_INVALIDO, exception.getMessage());
+    }
+
     @Test
     void getAllUsers_ShouldReturnAllUsers() {
         // Arrange
@@ -231,5 +327,20 @@ class UserServiceTest {
         assertEquals(secondUser.getName(), result.get(1).getName());
         verify(userRepository).findAll();
     }
-}
 
+    @Test
+    void preloadUsers_ShouldCacheUsersSoTheyAreServedDuringDatabaseOutage() {
+        // Arrange
+        when(userRepository.findAll()).thenReturn(List.of(testUser));
+        when(userRepository.findById(userId)).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act
+        List<Long> preloaded = userService.preloadUsers();
+        UserDTO result = userService.getUserById(userId);
+
+        // Assert
+        assertEquals(List.of(userId), preloaded);
+        assertEquals(testUser.getName(), result.getName());
+        assertEquals(1, resilientReadService.getStatus().getStaleResponses());
+    }
+}
@@ -0,0 +1,136 @@
+package com.tulio.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tulio.inventory.dto.ProductResponseDTO;
+import com.tulio.inventory.dto.ProductSearchCriteria;
+import com.tulio.inventory.dto.UserDTO;
+import com.tulio.inventory.dto.WarmUpStatusDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private SqlStatisticsService sqlStatisticsService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void warmUp_ShouldOpenConnectionsPreloadCachesAndExerciseReadPaths() throws Exception {
+        // Arrange
+        when(productService.preloadRecentProducts(100)).thenReturn(List.of(1L, 2L));
+        when(userService.preloadUsers()).thenReturn(List.of(7L));
+        when(productService.getProductById(anyLong())).thenAnswer(invocation -> new ProductResponseDTO(invocation.getArgument(0),
+                "Producto", 3, LocalDate.of(2024, 1, 1), "Ana", null, null));
+        when(productService.searchProducts(any(ProductSearchCriteria.class))).thenReturn(List.of());
+        when(userService.getUserById(7L)).thenReturn(new UserDTO(7L, "Ana", 30, "Dev", LocalDate.of(2020, 1, 1)));
+        WarmUpService warmUpService = warmUpService(true, 5000);
+
+        // Act
+        warmUpService.warmUp();
+
+        // Assert
+        WarmUpStatusDTO status = warmUpService.getStatus();
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(1, status.getConnectionsOpened());
+        assertEquals(2, status.getProductsPreloaded());
+        assertEquals(1, status.getUsersPreloaded());
+        assertEquals(10, status.getIterations());
+        assertNotNull(status.getStartedAt());
+        verify(productService, times(5)).getProductById(1L);
+        verify(productService, times(5)).getProductById(2L);
+        verify(userService, times(10)).getUserById(7L);
+        verify(connection).close();
+        verify(sqlStatisticsService).reset();
+    }
+
+    @Test
+    void warmUp_WhenTimeLimitReached_ShouldReturnWithoutWaitingForWorker() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(productService.preloadRecentProducts(anyInt())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        WarmUpService warmUpService = warmUpService(true, 100);
+
+        // Act
+        long start = System.nanoTime();
+        warmUpService.warmUp();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+
+        // Assert
+        assertEquals("TIMED_OUT", warmUpService.getStatus().getState());
+        assertTrue(elapsedMs < 2000, "El calentamiento debe terminar al agotar el tiempo máximo: " + elapsedMs + " ms");
+        verify(sqlStatisticsService, never()).reset();
+    }
+
+    @Test
+    void warmUp_WhenDatabaseFails_ShouldRecordErrorAndReturn() {
+        // Arrange
+        when(productService.preloadRecentProducts(anyInt())).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        WarmUpService warmUpService = warmUpService(true, 5000);
+
+        // Act
+        warmUpService.warmUp();
+
+        // Assert
+        WarmUpStatusDTO status = warmUpService.getStatus();
+        assertEquals("FAILED", status.getState());
+        assertEquals("Connection refused", status.getError());
+        verify(userService, never()).preloadUsers();
+    }
+
+    @Test
+    void warmUp_WhenDisabled_ShouldDoNothing() {
+        // Arrange
+        WarmUpService warmUpService = warmUpService(false, 5000);
+
+        // Act
+        warmUpService.warmUp();
+
+        // Assert
+        assertEquals("DISABLED", warmUpService.getStatus().getState());
+        verifyNoInteractions(productService, userService, dataSource);
+    }
+
+    private WarmUpService warmUpService(boolean enabled, long timeoutMs) {
+        return new WarmUpService(productService, userService, dataSource, objectMapper, sqlStatisticsService,
+                enabled, timeoutMs, 100, 10);
+    }
+}
@@ -0,0 +1,99 @@
+package com.tulio.inventory.smoke;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pruebas de humo contra una instancia ya arrancada (binario nativo o jar).
+// Solo se ejecutan con -Dsmoke.base-url=http://host:puerto (ver scripts/native-smoke.sh).
+@EnabledIfSystemProperty(named = "smoke.base-url", matches = ".+")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class InventorySmokeIT {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private static final String baseUrl = System.getProperty("smoke.base-url");
+    private static final String suffix = Long.toString(System.nanoTime());
+
+    private static long userId;
+    private static long productId;
+
+    @Test
+    @Order(1)
+    void createUser_ShouldReturnCreated() throws Exception {
+        String body = "{\"name\":\"Smoke User " + suffix + "\",\"age\":30,\"position\":\"QA\",\"hireDate\":\"2024-01-15\"}";
+        HttpResponse<String> response = send("POST", "/api/users", body);
+
+        assertEquals(201, response.statusCode());
+        userId = objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    @Test
+    @Order(2)
+    void createProduct_ShouldReturnCreated() throws Exception {
+        String body = "{\"productName\":\"Smoke Product " + suffix + "\",\"quantity\":5,\"entryDate\":\""
+                + LocalDate.now() + "\",\"registeredByUserId\":" + userId + "}";
+        HttpResponse<String> response = send("POST", "/api/products", body);
+
+        assertEquals(201, response.statusCode());
+        JsonNode product = objectMapper.readTree(response.body());
+        productId = product.get("id").asLong();
+        assertEquals("Smoke User " + suffix, product.get("registeredByName").asText());
+    }
+
+    @Test
+    @Order(3)
+    void getProductById_ShouldReturnProduct() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/products/" + productId, null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(5, objectMapper.readTree(response.body()).get("quantity").asInt());
+    }
+
+    @Test
+    @Order(4)
+    void searchProducts_ByUser_ShouldReturnProduct() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/products?userId=" + userId, null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(1, objectMapper.readTree(response.body()).size());
+    }
+
+    @Test
+    @Order(5)
+    void getProductById_WithNonExistingId_ShouldReturnNotFoundBody() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/products/" + Long.MAX_VALUE, null);
+
+        assertEquals(404, response.statusCode());
+        assertTrue(objectMapper.readTree(response.body()).has("message"));
+    }
+
+    @Test
+    @Order(6)
+    void deleteProductAndUser_ShouldReturnNoContent() throws Exception {
+        assertEquals(204, send("DELETE", "/api/products/" + productId + "?requestingUserId=" + userId, null).statusCode());
+        assertEquals(204, send("DELETE", "/api/users/" + userId, null).statusCode());
+    }
+
+    private static HttpResponse<String> send(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json");
+        request.method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
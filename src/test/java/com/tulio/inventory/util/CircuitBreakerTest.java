@@ -0,0 +1,97 @@
+package com.tulio.inventory.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    // Ventana de 10, mínimo 4 llamadas, umbral del 50 %, lenta desde 100 ms, abierto 1 s
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(10, 4, 50, 100, 1000, clock::get);
+
+    @Test
+    void failures_BelowMinimumCalls_ShouldKeepCircuitClosed() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(100, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void failureRate_ReachingThreshold_ShouldOpenCircuitAndRejectCalls() {
+        // Arrange
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onFailure();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void slowCalls_ShouldCountAsFailures() {
+        // Act
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess(TimeUnit.MILLISECONDS.toNanos(150));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void openCircuit_AfterOpenDuration_ShouldAllowSingleTrialAndCloseOnSuccess() {
+        // Arrange
+        openCircuit();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        // Act
+        boolean trial = circuitBreaker.tryAcquirePermission();
+        boolean concurrent = circuitBreaker.tryAcquirePermission();
+        boolean closed = circuitBreaker.onSuccess(FAST);
+
+        // Assert
+        assertTrue(trial);
+        assertFalse(concurrent);
+        assertTrue(closed);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void halfOpenCircuit_WhenTrialFails_ShouldReopen() {
+        // Arrange
+        openCircuit();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}